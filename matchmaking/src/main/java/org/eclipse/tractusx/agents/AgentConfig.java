@@ -55,6 +55,9 @@ public class AgentConfig {
     public static final String NEGOTIATION_POLLINTERVAL_PROPERTY = "cx.agent.negotiation.poll";
     public static final long DEFAULT_NEGOTIATION_POLLINTERVAL = 1000;
 
+    public static final String NEGOTIATION_REUSE_PROPERTY = "cx.agent.negotiation.reuse";
+    public static final long DEFAULT_NEGOTIATION_REUSE = 600000;
+
     public static final String DATASPACE_SYNCINTERVAL_PROPERTY = "cx.agent.dataspace.synchronization";
     public static final long DEFAULT_DATASPACE_SYNCINTERVAL = -1;
 
@@ -67,6 +70,50 @@ public class AgentConfig {
     public static final String FEDERATION_SERVICE_BATCH_SIZE = "cx.agent.federation.batch.max";
     public static final long DEFAULT_FEDERATION_SERVICE_BATCH_SIZE = Long.MAX_VALUE;
 
+    public static final String FEDERATION_PLANNER_PROPERTY = "cx.agent.federation.planner";
+    public static final boolean DEFAULT_FEDERATION_PLANNER = true;
+    public static final String FEDERATION_HASHJOIN_THRESHOLD_PROPERTY = "cx.agent.federation.hashjoin.min";
+    public static final long DEFAULT_FEDERATION_HASHJOIN_THRESHOLD = 10000L;
+    public static final String FEDERATION_PARALLEL_PROPERTY = "cx.agent.federation.parallel";
+    public static final boolean DEFAULT_FEDERATION_PARALLEL = true;
+    public static final String FEDERATION_FANOUT_PROPERTY = "cx.agent.federation.fanout";
+    public static final boolean DEFAULT_FEDERATION_FANOUT = true;
+    public static final String FEDERATION_PUSHDOWN_PROPERTY = "cx.agent.federation.pushdown";
+    public static final boolean DEFAULT_FEDERATION_PUSHDOWN = true;
+    public static final String FEDERATION_CACHE_PROPERTY = "cx.agent.federation.cache";
+    public static final boolean DEFAULT_FEDERATION_CACHE = false;
+    public static final String FEDERATION_CACHE_TTL_PROPERTY = "cx.agent.federation.cache.ttl";
+    public static final long DEFAULT_FEDERATION_CACHE_TTL = 60000L;
+    public static final String FEDERATION_CACHE_SIZE_PROPERTY = "cx.agent.federation.cache.size";
+    public static final long DEFAULT_FEDERATION_CACHE_SIZE = 64L * 1024 * 1024;
+    public static final String FEDERATION_CACHE_STATISTICS_INTERVAL_PROPERTY = "cx.agent.federation.cache.statistics.interval";
+    public static final long DEFAULT_FEDERATION_CACHE_STATISTICS_INTERVAL = 0L;
+    public static final String FEDERATION_BUDGET_PROPERTY = "cx.agent.federation.budget";
+    public static final long DEFAULT_FEDERATION_BUDGET = 1080000L;
+    public static final String FEDERATION_BUDGET_MARGIN_PROPERTY = "cx.agent.federation.budget.margin";
+    public static final long DEFAULT_FEDERATION_BUDGET_MARGIN = 1000L;
+    public static final String FEDERATION_HEDGE_PROPERTY = "cx.agent.federation.hedge";
+    public static final boolean DEFAULT_FEDERATION_HEDGE = true;
+    public static final String FEDERATION_HEDGE_PERCENTILE_PROPERTY = "cx.agent.federation.hedge.percentile";
+    public static final int DEFAULT_FEDERATION_HEDGE_PERCENTILE = 95;
+    public static final String FEDERATION_HEDGE_SAMPLES_PROPERTY = "cx.agent.federation.hedge.samples";
+    public static final long DEFAULT_FEDERATION_HEDGE_SAMPLES = 20L;
+    public static final String FEDERATION_HEDGE_MIN_DELAY_PROPERTY = "cx.agent.federation.hedge.min";
+    public static final long DEFAULT_FEDERATION_HEDGE_MIN_DELAY = 50L;
+    public static final String FEDERATION_BREAKER_PROPERTY = "cx.agent.federation.breaker";
+    public static final boolean DEFAULT_FEDERATION_BREAKER = true;
+    public static final String FEDERATION_BREAKER_FAILURES_PROPERTY = "cx.agent.federation.breaker.failures";
+    public static final int DEFAULT_FEDERATION_BREAKER_FAILURES = 5;
+    public static final String FEDERATION_BREAKER_OPEN_PROPERTY = "cx.agent.federation.breaker.open";
+    public static final long DEFAULT_FEDERATION_BREAKER_OPEN = 30000L;
+    public static final String FEDERATION_BREAKER_PROBE_TIMEOUT_PROPERTY = "cx.agent.federation.breaker.probe.timeout";
+    public static final long DEFAULT_FEDERATION_BREAKER_PROBE_TIMEOUT = 10000L;
+
+    public static final String FEDERATION_BINARY_RESULTS_PROPERTY = "cx.agent.federation.binary";
+    public static final boolean DEFAULT_FEDERATION_BINARY_RESULTS = true;
+    public static final String FEDERATION_BINARY_RESULTS_DENY_PROPERTY = "cx.agent.federation.binary.deny";
+    public static final String DEFAULT_FEDERATION_BINARY_RESULTS_DENY_PATTERN = "^$";
+
     public static final String THREAD_POOL_SIZE = "cx.agent.threadpool.size";
     public static final int DEFAULT_THREAD_POOL_SIZE = 4;
 
@@ -76,6 +123,36 @@ public class AgentConfig {
     public static final String READ_TIMEOUT_PROPERTY = "cx.agent.read.timeout";
     public static final int DEFAULT_READ_TIMEOUT = 1080000;
 
+    public static final String HTTP_PROTOCOLS_PROPERTY = "cx.agent.http.protocols";
+    public static final String DEFAULT_HTTP_PROTOCOLS = "h2,http/1.1";
+    public static final String HTTP_POOL_IDLE_PROPERTY = "cx.agent.http.pool.idle";
+    public static final int DEFAULT_HTTP_POOL_IDLE = 5;
+    public static final String HTTP_POOL_KEEPALIVE_PROPERTY = "cx.agent.http.pool.keepalive";
+    public static final long DEFAULT_HTTP_POOL_KEEPALIVE = 300000L;
+    public static final String HTTP_MAX_REQUESTS_PROPERTY = "cx.agent.http.requests.max";
+    public static final int DEFAULT_HTTP_MAX_REQUESTS = 64;
+    public static final String HTTP_MAX_REQUESTS_PER_HOST_PROPERTY = "cx.agent.http.requests.host";
+    public static final int DEFAULT_HTTP_MAX_REQUESTS_PER_HOST = 5;
+    public static final String HTTP_LIMIT_REQUESTS_PROPERTY = "cx.agent.http.limit.max";
+    public static final int DEFAULT_HTTP_LIMIT_REQUESTS = 0;
+    public static final String HTTP_LIMIT_REQUESTS_PER_HOST_PROPERTY = "cx.agent.http.limit.host";
+    public static final int DEFAULT_HTTP_LIMIT_REQUESTS_PER_HOST = 0;
+    public static final String HTTP_LIMIT_WAIT_PROPERTY = "cx.agent.http.limit.wait";
+    public static final long DEFAULT_HTTP_LIMIT_WAIT = 5000L;
+    public static final String HTTP_COMPRESSION_PROPERTY = "cx.agent.http.compression";
+    public static final boolean DEFAULT_HTTP_COMPRESSION = true;
+    public static final String HTTP_COMPRESSION_ENCODINGS_PROPERTY = "cx.agent.http.compression.encodings";
+    public static final String DEFAULT_HTTP_COMPRESSION_ENCODINGS = "gzip, deflate";
+    public static final String HTTP_COMPRESSION_DENY_PROPERTY = "cx.agent.http.compression.deny";
+    public static final String DEFAULT_HTTP_COMPRESSION_DENY_PATTERN = "^$";
+    public static final String HTTP_COMPRESSION_RESPONSE_PROPERTY = "cx.agent.http.compression.response";
+    public static final boolean DEFAULT_HTTP_COMPRESSION_RESPONSE = true;
+    public static final String HTTP_STATISTICS_INTERVAL_PROPERTY = "cx.agent.http.statistics.interval";
+    public static final long DEFAULT_HTTP_STATISTICS_INTERVAL = 0L;
+
+    public static final String DELEGATION_STREAMING_PROPERTY = "cx.agent.delegation.streaming";
+    public static final boolean DEFAULT_DELEGATION_STREAMING = false;
+
     public static final String CALLBACK_ENDPOINT = "cx.agent.callback";
 
     public static final String DEFAULT_SKILL_CONTRACT_PROPERTY = "cx.agent.skill.contract.default";
@@ -117,6 +194,8 @@ public class AgentConfig {
     protected final Pattern assetReferencePattern;
     protected final Pattern connectorAllowPattern;
     protected final Pattern connectorDenyPattern;
+    protected final Pattern httpCompressionDenyPattern;
+    protected final Pattern federationBinaryResultsDenyPattern;
 
     public static final Pattern PARAMETER_KEY_ALLOW = Pattern.compile("^(?<param>(?!asset$)[^&?=]+)$");
     public static final Pattern PARAMETER_VALUE_ALLOW = Pattern.compile("^(?<value>[^&]+)$");
@@ -142,6 +221,8 @@ public class AgentConfig {
         serviceAssetDenyPattern = Pattern.compile(config.getString(SERVICE_DENY_ASSET_PROPERTY, DEFAULT_SERVICE_DENY_ASSET_PATTERN));
         connectorAllowPattern = Pattern.compile(config.getString(SERVICE_ALLOW_CONNECTOR_PROPERTY, DEFAULT_SERVICE_ALLOW_CONNECTOR_PATTERN));
         connectorDenyPattern = Pattern.compile(config.getString(SERVICE_DENY_CONNECTOR_PROPERTY, DEFAULT_SERVICE_DENY_CONNECTOR_PATTERN));
+        httpCompressionDenyPattern = Pattern.compile(config.getString(HTTP_COMPRESSION_DENY_PROPERTY, DEFAULT_HTTP_COMPRESSION_DENY_PATTERN));
+        federationBinaryResultsDenyPattern = Pattern.compile(config.getString(FEDERATION_BINARY_RESULTS_DENY_PROPERTY, DEFAULT_FEDERATION_BINARY_RESULTS_DENY_PATTERN));
         assetReferencePattern = Pattern.compile("((?<url>[^#]+)#)?(?<asset>.+)");
     }
 
@@ -269,6 +350,15 @@ public class AgentConfig {
         return config.getLong(NEGOTIATION_POLLINTERVAL_PROPERTY, DEFAULT_NEGOTIATION_POLLINTERVAL);
     }
 
+    /**
+     * access
+     *
+     * @return time in milliseconds for which an agreement is reused for new transfers of the same asset, 0 if never
+     */
+    public long getNegotiationReuse() {
+        return config.getLong(NEGOTIATION_REUSE_PROPERTY, DEFAULT_NEGOTIATION_REUSE);
+    }
+
     /**
      * access
      *
@@ -345,6 +435,195 @@ public class AgentConfig {
         return config.getLong(FEDERATION_SERVICE_BATCH_SIZE, DEFAULT_FEDERATION_SERVICE_BATCH_SIZE);
     }
 
+    /**
+     * access
+     *
+     * @return whether joins with services should be planned based on statistics
+     */
+    public boolean isFederationPlanner() {
+        return config.getBoolean(FEDERATION_PLANNER_PROPERTY, DEFAULT_FEDERATION_PLANNER);
+    }
+
+    /**
+     * access
+     *
+     * @return estimated number of bindings from which on a hash join is preferred over shipping them to a service
+     */
+    public long getFederationHashJoinThreshold() {
+        return config.getLong(FEDERATION_HASHJOIN_THRESHOLD_PROPERTY, DEFAULT_FEDERATION_HASHJOIN_THRESHOLD);
+    }
+
+    /**
+     * access
+     *
+     * @return whether independent federated parts of a query should be executed concurrently
+     */
+    public boolean isFederationParallel() {
+        return config.getBoolean(FEDERATION_PARALLEL_PROPERTY, DEFAULT_FEDERATION_PARALLEL);
+    }
+
+    /**
+     * access
+     *
+     * @return whether service calls addressing several graph assets should be split per asset
+     */
+    public boolean isFederationFanOut() {
+        return config.getBoolean(FEDERATION_FANOUT_PROPERTY, DEFAULT_FEDERATION_FANOUT);
+    }
+
+    /**
+     * access
+     *
+     * @return whether filters, projections and limits should be pushed into services
+     */
+    public boolean isFederationPushDown() {
+        return config.getBoolean(FEDERATION_PUSHDOWN_PROPERTY, DEFAULT_FEDERATION_PUSHDOWN);
+    }
+
+    /**
+     * access
+     *
+     * @return whether results of federated calls should be cached
+     */
+    public boolean isFederationCache() {
+        return config.getBoolean(FEDERATION_CACHE_PROPERTY, DEFAULT_FEDERATION_CACHE);
+    }
+
+    /**
+     * access
+     *
+     * @return time to live of cached results in milliseconds
+     */
+    public long getFederationCacheTtl() {
+        return config.getLong(FEDERATION_CACHE_TTL_PROPERTY, DEFAULT_FEDERATION_CACHE_TTL);
+    }
+
+    /**
+     * access
+     *
+     * @return maximal estimated size of all cached results in bytes
+     */
+    public long getFederationCacheSize() {
+        return config.getLong(FEDERATION_CACHE_SIZE_PROPERTY, DEFAULT_FEDERATION_CACHE_SIZE);
+    }
+
+    /**
+     * access
+     *
+     * @return interval in milliseconds to log cache statistics, 0 if disabled
+     */
+    public long getFederationCacheStatisticsInterval() {
+        return config.getLong(FEDERATION_CACHE_STATISTICS_INTERVAL_PROPERTY, DEFAULT_FEDERATION_CACHE_STATISTICS_INTERVAL);
+    }
+
+    /**
+     * access
+     *
+     * @return overall time budget in milliseconds of a query which does not bring its own budget, 0 if unlimited
+     */
+    public long getFederationBudget() {
+        return config.getLong(FEDERATION_BUDGET_PROPERTY, DEFAULT_FEDERATION_BUDGET);
+    }
+
+    /**
+     * access
+     *
+     * @return time in milliseconds which a hop reserves for itself when delegating its budget
+     */
+    public long getFederationBudgetMargin() {
+        return config.getLong(FEDERATION_BUDGET_MARGIN_PROPERTY, DEFAULT_FEDERATION_BUDGET_MARGIN);
+    }
+
+    /**
+     * access
+     *
+     * @return whether calls are hedged and failed over across the alternative endpoints of an asset
+     */
+    public boolean isFederationHedge() {
+        return config.getBoolean(FEDERATION_HEDGE_PROPERTY, DEFAULT_FEDERATION_HEDGE);
+    }
+
+    /**
+     * access
+     *
+     * @return latency percentile of a target after which a call is hedged
+     */
+    public int getFederationHedgePercentile() {
+        return config.getInteger(FEDERATION_HEDGE_PERCENTILE_PROPERTY, DEFAULT_FEDERATION_HEDGE_PERCENTILE);
+    }
+
+    /**
+     * access
+     *
+     * @return number of observed calls to a target before calls are hedged
+     */
+    public long getFederationHedgeSamples() {
+        return config.getLong(FEDERATION_HEDGE_SAMPLES_PROPERTY, DEFAULT_FEDERATION_HEDGE_SAMPLES);
+    }
+
+    /**
+     * access
+     *
+     * @return minimal time in milliseconds before a call is hedged
+     */
+    public long getFederationHedgeMinDelay() {
+        return config.getLong(FEDERATION_HEDGE_MIN_DELAY_PROPERTY, DEFAULT_FEDERATION_HEDGE_MIN_DELAY);
+    }
+
+    /**
+     * access
+     *
+     * @return whether calls to failing connectors and assets are short-circuited
+     */
+    public boolean isFederationBreaker() {
+        return config.getBoolean(FEDERATION_BREAKER_PROPERTY, DEFAULT_FEDERATION_BREAKER);
+    }
+
+    /**
+     * access
+     *
+     * @return number of consecutive failures after which a circuit opens
+     */
+    public int getFederationBreakerFailures() {
+        return config.getInteger(FEDERATION_BREAKER_FAILURES_PROPERTY, DEFAULT_FEDERATION_BREAKER_FAILURES);
+    }
+
+    /**
+     * access
+     *
+     * @return time in milliseconds after which an open circuit is probed again
+     */
+    public long getFederationBreakerOpenTime() {
+        return config.getLong(FEDERATION_BREAKER_OPEN_PROPERTY, DEFAULT_FEDERATION_BREAKER_OPEN);
+    }
+
+    /**
+     * access
+     *
+     * @return time in milliseconds after which a background probe of an open circuit fails
+     */
+    public long getFederationBreakerProbeTimeout() {
+        return config.getLong(FEDERATION_BREAKER_PROBE_TIMEOUT_PROPERTY, DEFAULT_FEDERATION_BREAKER_PROBE_TIMEOUT);
+    }
+
+    /**
+     * access
+     *
+     * @return whether binary result sets should be negotiated with remote agents
+     */
+    public boolean isFederationBinaryResults() {
+        return config.getBoolean(FEDERATION_BINARY_RESULTS_PROPERTY, DEFAULT_FEDERATION_BINARY_RESULTS);
+    }
+
+    /**
+     * access
+     *
+     * @return regular expression for target urls which should not be asked for binary results
+     */
+    public Pattern getFederationBinaryResultsDenyPattern() {
+        return federationBinaryResultsDenyPattern;
+    }
+
     /**
      * access
      *
@@ -381,6 +660,132 @@ public class AgentConfig {
         return config.getInteger(CALL_TIMEOUT_PROPERTY, null);
     }
 
+    /**
+     * access
+     *
+     * @return list of http protocols to use for outgoing calls (h2_prior_knowledge for h2c)
+     */
+    public String[] getHttpProtocols() {
+        return config.getString(HTTP_PROTOCOLS_PROPERTY, DEFAULT_HTTP_PROTOCOLS).split(",");
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of idle connections kept in the pool
+     */
+    public int getHttpPoolIdle() {
+        return config.getInteger(HTTP_POOL_IDLE_PROPERTY, DEFAULT_HTTP_POOL_IDLE);
+    }
+
+    /**
+     * access
+     *
+     * @return milliseconds an idle connection is kept alive
+     */
+    public long getHttpPoolKeepAlive() {
+        return config.getLong(HTTP_POOL_KEEPALIVE_PROPERTY, DEFAULT_HTTP_POOL_KEEPALIVE);
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of concurrent asynchronous outgoing calls
+     */
+    public int getHttpMaxRequests() {
+        return config.getInteger(HTTP_MAX_REQUESTS_PROPERTY, DEFAULT_HTTP_MAX_REQUESTS);
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of concurrent asynchronous outgoing calls per target host
+     */
+    public int getHttpMaxRequestsPerHost() {
+        return config.getInteger(HTTP_MAX_REQUESTS_PER_HOST_PROPERTY, DEFAULT_HTTP_MAX_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of concurrent exchanges of all outgoing calls, 0 if unlimited
+     */
+    public int getHttpLimitRequests() {
+        return config.getInteger(HTTP_LIMIT_REQUESTS_PROPERTY, DEFAULT_HTTP_LIMIT_REQUESTS);
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of concurrent exchanges of all outgoing calls per target host, 0 if unlimited
+     */
+    public int getHttpLimitRequestsPerHost() {
+        return config.getInteger(HTTP_LIMIT_REQUESTS_PER_HOST_PROPERTY, DEFAULT_HTTP_LIMIT_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * access
+     *
+     * @return time in milliseconds a limited call waits for a free exchange before it fails
+     */
+    public long getHttpLimitWait() {
+        return config.getLong(HTTP_LIMIT_WAIT_PROPERTY, DEFAULT_HTTP_LIMIT_WAIT);
+    }
+
+    /**
+     * access
+     *
+     * @return whether outgoing calls should request compressed bodies
+     */
+    public boolean isHttpCompression() {
+        return config.getBoolean(HTTP_COMPRESSION_PROPERTY, DEFAULT_HTTP_COMPRESSION);
+    }
+
+    /**
+     * access
+     *
+     * @return content encodings to request from remote agents
+     */
+    public String getHttpCompressionEncodings() {
+        return config.getString(HTTP_COMPRESSION_ENCODINGS_PROPERTY, DEFAULT_HTTP_COMPRESSION_ENCODINGS);
+    }
+
+    /**
+     * access
+     *
+     * @return regular expression for target urls which should not be asked for compressed results
+     */
+    public Pattern getHttpCompressionDenyPattern() {
+        return httpCompressionDenyPattern;
+    }
+
+    /**
+     * access
+     *
+     * @return whether responses should be compressed for clients which accept it
+     */
+    public boolean isHttpResponseCompression() {
+        return config.getBoolean(HTTP_COMPRESSION_RESPONSE_PROPERTY, DEFAULT_HTTP_COMPRESSION_RESPONSE);
+    }
+
+    /**
+     * access
+     *
+     * @return milliseconds between logging connection pool statistics, 0 if disabled
+     */
+    public long getHttpStatisticsInterval() {
+        return config.getLong(HTTP_STATISTICS_INTERVAL_PROPERTY, DEFAULT_HTTP_STATISTICS_INTERVAL);
+    }
+
+    /**
+     * access
+     *
+     * @return whether delegated calls should be piped through instead of buffered
+     */
+    public boolean isDelegationStreaming() {
+        return config.getBoolean(DELEGATION_STREAMING_PROPERTY, DEFAULT_DELEGATION_STREAMING);
+    }
+
     /**
      * access
      *
@@ -41,4 +41,17 @@ public interface AgreementController {
      * @throws WebApplicationException in case agreement could not be made (in time)
      */
     EndpointDataReference createAgreement(String remoteUrl, String asset) throws WebApplicationException;
+
+    /**
+     * negotiates an endpoint for the given asset within a time budget
+     *
+     * @param remoteUrl the connector
+     * @param asset     id of the asset
+     * @param timeout   maximal time in milliseconds to wait for the endpoint
+     * @return endpoint data reference
+     * @throws WebApplicationException in case agreement could not be made (in time)
+     */
+    default EndpointDataReference createAgreement(String remoteUrl, String asset, long timeout) throws WebApplicationException {
+        return createAgreement(remoteUrl, asset);
+    }
 }
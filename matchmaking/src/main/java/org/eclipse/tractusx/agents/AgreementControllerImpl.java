@@ -25,6 +25,7 @@ import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -40,6 +41,7 @@ import org.eclipse.tractusx.agents.model.TransferProcess;
 import org.eclipse.tractusx.agents.model.TransferRequest;
 import org.eclipse.tractusx.agents.service.DataManagement;
 import org.eclipse.tractusx.agents.service.DataspaceSynchronizer;
+import org.eclipse.tractusx.agents.sparql.FederationCircuitBreaker;
 import org.eclipse.tractusx.agents.utils.CallbackAddress;
 import org.eclipse.tractusx.agents.utils.DataAddress;
 import org.eclipse.tractusx.agents.utils.EndpointDataReference;
@@ -69,12 +71,18 @@ public class AgreementControllerImpl implements AgreementController {
      */
     public static final String TRANSFER_TYPE = "HttpProxy";
 
+    /**
+     * transfer states which will not reach the started state anymore
+     */
+    public static final Set<String> TERMINAL_TRANSFER_STATES = Set.of("TERMINATED", "DEPROVISIONED");
+
     /**
      * EDC service references
      */
     protected final Monitor monitor;
     protected final DataManagement dataManagement;
     protected final AgentConfig config;
+    protected final FederationCircuitBreaker breaker;
 
     /**
      * memory store for links from assets to the actual transfer addresses
@@ -91,18 +99,40 @@ public class AgreementControllerImpl implements AgreementController {
     // at the end of provisioning and endpoint reference will be set
     // that fits to the current transfer process
     protected final Map<String, EndpointDataReference> endpointStore = new HashMap<>();
+    // agreements which may be reused for new transfers of the same asset
+    // from the same connector, indexed by asset
+    protected final Map<String, ReusableAgreement> reusableStore = new HashMap<>();
+
+    /**
+     * an agreement which is reused until it expires
+     */
+    protected static class ReusableAgreement {
+        protected final String remoteUrl;
+        protected final ContractAgreement agreement;
+        protected final Map<String, JsonValue> assetProperties;
+        protected final long expiry;
+
+        protected ReusableAgreement(String remoteUrl, ContractAgreement agreement, Map<String, JsonValue> assetProperties, long expiry) {
+            this.remoteUrl = remoteUrl;
+            this.agreement = agreement;
+            this.assetProperties = assetProperties;
+            this.expiry = expiry;
+        }
+    }
 
     /**
-     * creates an agreement controller
+     * creates an agreement controller which short-circuits failing connectors
      *
      * @param monitor        logger
      * @param config         typed config
      * @param dataManagement data management service wrapper
+     * @param breaker        circuit breakers of connectors
      */
-    public AgreementControllerImpl(Monitor monitor, AgentConfig config, DataManagement dataManagement) {
+    public AgreementControllerImpl(Monitor monitor, AgentConfig config, DataManagement dataManagement, FederationCircuitBreaker breaker) {
         this.monitor = monitor;
         this.dataManagement = dataManagement;
         this.config = config;
+        this.breaker = breaker;
     }
 
     /**
@@ -242,24 +272,55 @@ public class AgreementControllerImpl implements AgreementController {
     /**
      * creates a new agreement (asynchronously)
      * and waits for the result
-     * TODO make this federation aware: multiple assets, different policies
+     * TODO make this federation aware: different policies
      *
      * @param remoteUrl ids endpoint url of the remote connector
      * @param asset name of the asset to agree upon
      */
     @Override
     public EndpointDataReference createAgreement(String remoteUrl, String asset) throws WebApplicationException {
+        return createAgreement(remoteUrl, asset, config.getNegotiationTimeout());
+    }
+
+    /**
+     * creates a new agreement (asynchronously)
+     * and waits for the result at most the given time
+     *
+     * @param remoteUrl ids endpoint url of the remote connector
+     * @param asset name of the asset to agree upon
+     * @param timeout maximal time in milliseconds to wait for the endpoint
+     */
+    @Override
+    public EndpointDataReference createAgreement(String remoteUrl, String asset, long timeout) throws WebApplicationException {
+        long deadline = System.currentTimeMillis() + timeout;
         monitor.debug(String.format("About to create an agreement for asset %s at connector %s", asset, remoteUrl));
 
         activate(asset);
 
+        if (!breaker.isOpen(remoteUrl)) {
+            EndpointDataReference reused = reuseAgreement(remoteUrl, asset, deadline);
+            if (reused != null) {
+                return reused;
+            }
+        }
+
+        if (!breaker.allow(remoteUrl)) {
+            deactivate(asset);
+            throw new ServiceUnavailableException(String.format("Circuit of connector %s is open, not negotiating asset %s.", remoteUrl, asset));
+        }
+
         DcatCatalog contractOffers;
 
         try {
             contractOffers = dataManagement.findContractOffers(remoteUrl, asset);
+            breaker.recordSuccess(remoteUrl);
         } catch (IOException io) {
             deactivate(asset);
+            // probe the catalogue in the background while the circuit is open
+            breaker.recordFailure(remoteUrl, () -> dataManagement.findContractOffers(remoteUrl, asset, config.getFederationBreakerProbeTimeout()));
             throw new InternalServerErrorException(String.format("Error when resolving contract offers from %s for asset %s through data management api.", remoteUrl, asset), io);
+        } finally {
+            breaker.release(remoteUrl);
         }
 
         if (contractOffers.getDatasets().isEmpty()) {
@@ -295,6 +356,7 @@ public class AgreementControllerImpl implements AgreementController {
             negotiationId = dataManagement.initiateNegotiation(contractNegotiationRequest);
         } catch (IOException ioe) {
             deactivate(asset);
+            breaker.recordFailure(remoteUrl);
             throw new InternalServerErrorException(String.format("Error when initiating negotation for offer %s through data management api.", offerId), ioe);
         }
 
@@ -306,7 +368,7 @@ public class AgreementControllerImpl implements AgreementController {
         long startTime = System.currentTimeMillis();
 
         try {
-            while ((System.currentTimeMillis() - startTime < config.getNegotiationTimeout()) &&
+            while ((System.currentTimeMillis() - startTime < config.getNegotiationTimeout()) && System.currentTimeMillis() < deadline &&
                     (negotiation == null ||
                     (!negotiation.getState().equals("FINALIZED") && !negotiation.getState().equals("TERMINATED")))) {
                 Thread.sleep(config.getNegotiationPollInterval());
@@ -316,6 +378,8 @@ public class AgreementControllerImpl implements AgreementController {
             }
         } catch (InterruptedException e) {
             monitor.info(String.format("Negotiation thread for asset %s negotiation %s has been interrupted. Giving up.", asset, negotiationId), e);
+            // the calling query has been cancelled, keep the flag for the caller
+            Thread.currentThread().interrupt();
         } catch (IOException e) {
             monitor.warning(String.format("Negotiation thread for asset %s negotiation %s run into problem. Giving up.", asset, negotiationId), e);
         }
@@ -347,6 +411,23 @@ public class AgreementControllerImpl implements AgreementController {
             throw new InternalServerErrorException(String.format("Agreement %s does not refer to asset %s.", negotiation.getContractAgreementId(), asset));
         }
 
+        rememberAgreement(remoteUrl, asset, agreement, assetProperties);
+
+        return transfer(remoteUrl, asset, agreement, assetProperties, deadline);
+    }
+
+    /**
+     * initiates the transfer of an agreed asset and waits for the endpoint
+     *
+     * @param remoteUrl ids endpoint url of the remote connector
+     * @param asset name of the asset to transfer
+     * @param agreement the agreement covering the asset
+     * @param assetProperties properties of the asset to mark the endpoint with
+     * @param deadline absolute point in time in milliseconds until which to wait
+     * @return endpoint of the asset, null if it did not arrive in time
+     * @throws WebApplicationException if the transfer could not be provisioned
+     */
+    protected EndpointDataReference transfer(String remoteUrl, String asset, ContractAgreement agreement, Map<String, JsonValue> assetProperties, long deadline) throws WebApplicationException {
         registerAgreement(asset, agreement);
 
         DataAddress dataDestination = DataAddress.Builder.newInstance()
@@ -367,7 +448,7 @@ public class AgreementControllerImpl implements AgreementController {
                 .callbackAddresses(List.of(address))
                 .build();
 
-        monitor.debug(String.format("About to initiate transfer for agreement %s (for asset %s at connector %s)", negotiation.getContractAgreementId(), asset, remoteUrl));
+        monitor.debug(String.format("About to initiate transfer for agreement %s (for asset %s at connector %s)", agreement.getId(), asset, remoteUrl));
 
         String transferId;
         TransferProcess process;
@@ -380,19 +461,21 @@ public class AgreementControllerImpl implements AgreementController {
             }
         } catch (IOException ioe) {
             deactivate(asset);
+            breaker.recordFailure(remoteUrl);
             throw new InternalServerErrorException(String.format("HttpProxy transfer for agreement %s could not be initiated.", agreement.getId()), ioe);
         }
 
         monitor.debug(String.format("About to check transfer %s (for asset %s at connector %s)", transferId, asset, remoteUrl));
 
         // Check negotiation state
-        startTime = System.currentTimeMillis();
+        long startTime = System.currentTimeMillis();
 
         // EDC 0.5.1 has a problem with the checker configuration and wont process to COMPLETED
         String expectedTransferState = "STARTED";
 
         try {
-            while ((System.currentTimeMillis() - startTime < config.getNegotiationTimeout()) && (process == null || !process.getState().equals(expectedTransferState))) {
+            while ((System.currentTimeMillis() - startTime < config.getNegotiationTimeout()) && System.currentTimeMillis() < deadline &&
+                    (process == null || (!process.getState().equals(expectedTransferState) && !TERMINAL_TRANSFER_STATES.contains(process.getState())))) {
                 Thread.sleep(config.getNegotiationPollInterval());
                 process = dataManagement.getTransfer(
                         transferId
@@ -401,6 +484,7 @@ public class AgreementControllerImpl implements AgreementController {
             }
         } catch (InterruptedException e) {
             monitor.info(String.format("Process thread for asset %s transfer %s has been interrupted. Giving up.", asset, transferId), e);
+            Thread.currentThread().interrupt();
         } catch (IOException e) {
             monitor.warning(String.format("Process thread for asset %s transfer %s run into problem. Giving up.", asset, transferId), e);
         }
@@ -417,7 +501,7 @@ public class AgreementControllerImpl implements AgreementController {
         EndpointDataReference reference = null;
 
         try {
-            while ((System.currentTimeMillis() - startTime < config.getNegotiationTimeout()) && (reference == null)) {
+            while ((System.currentTimeMillis() - startTime < config.getNegotiationTimeout()) && System.currentTimeMillis() < deadline && (reference == null)) {
                 Thread.sleep(config.getNegotiationPollInterval());
                 synchronized (endpointStore) {
                     reference = endpointStore.get(asset);
@@ -425,6 +509,7 @@ public class AgreementControllerImpl implements AgreementController {
             }
         } catch (InterruptedException e) {
             monitor.info(String.format("Wait thread for reference to asset %s has been interrupted. Giving up.", asset), e);
+            Thread.currentThread().interrupt();
         }
 
         // mark the type in the endpoint
@@ -438,4 +523,83 @@ public class AgreementControllerImpl implements AgreementController {
         return get(asset);
     }
 
+    /**
+     * tries to reuse an unexpired agreement which was made for the same asset
+     * with the same connector
+     *
+     * @param remoteUrl ids endpoint url of the remote connector
+     * @param asset name of the (activated) asset
+     * @param deadline absolute point in time in milliseconds until which to wait
+     * @return endpoint of the asset, null if the asset needs to be negotiated
+     */
+    protected EndpointDataReference reuseAgreement(String remoteUrl, String asset, long deadline) {
+        if (config.getNegotiationReuse() <= 0) {
+            return null;
+        }
+        ReusableAgreement reusable;
+        synchronized (reusableStore) {
+            reusable = reusableStore.get(asset);
+            if (reusable == null) {
+                return null;
+            }
+            if (reusable.expiry <= System.currentTimeMillis() || !reusable.remoteUrl.equals(remoteUrl) || !covers(reusable.agreement, asset)) {
+                reusableStore.remove(asset);
+                return null;
+            }
+        }
+        ContractAgreement agreement = reusable.agreement;
+        monitor.debug(String.format("About to reuse agreement %s for asset %s at connector %s", agreement.getId(), asset, remoteUrl));
+        EndpointDataReference reference = null;
+        try {
+            reference = transfer(remoteUrl, asset, agreement, reusable.assetProperties, deadline);
+        } catch (WebApplicationException e) {
+            monitor.warning(String.format("Could not reuse agreement %s for asset %s, negotiating instead.", agreement.getId(), asset), e);
+        }
+        if (reference == null) {
+            synchronized (reusableStore) {
+                reusableStore.remove(asset, reusable);
+            }
+            activate(asset);
+        }
+        return reference;
+    }
+
+    /**
+     * checks whether an agreement covers an asset, i.e., whether the
+     * agreement and its policy refer to the asset
+     *
+     * @param agreement the agreement
+     * @param asset name of the asset
+     * @return whether a transfer of the asset may be based on the agreement
+     */
+    protected static boolean covers(ContractAgreement agreement, String asset) {
+        String agreedAsset = agreement.getProperties().containsKey("https://w3id.org/edc/v0.0.1/ns/assetId") ? agreement.getAssetId() : null;
+        if (agreedAsset == null || !agreedAsset.endsWith(asset)) {
+            return false;
+        }
+        OdrlPolicy policy = agreement.getPolicy();
+        if (policy == null) {
+            return true;
+        }
+        String target = policy.getTarget();
+        return target == null || target.endsWith(asset);
+    }
+
+    /**
+     * remembers an agreement for reuse by later transfers of the same asset
+     *
+     * @param remoteUrl ids endpoint url of the remote connector
+     * @param asset name of the agreed asset
+     * @param agreement the agreement
+     * @param assetProperties properties of the asset to mark the endpoint with
+     */
+    protected void rememberAgreement(String remoteUrl, String asset, ContractAgreement agreement, Map<String, JsonValue> assetProperties) {
+        if (config.getNegotiationReuse() <= 0) {
+            return;
+        }
+        synchronized (reusableStore) {
+            reusableStore.put(asset, new ReusableAgreement(remoteUrl, agreement, assetProperties, System.currentTimeMillis() + config.getNegotiationReuse()));
+        }
+    }
+
 }
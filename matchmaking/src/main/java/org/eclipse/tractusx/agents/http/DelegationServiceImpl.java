@@ -16,6 +16,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.agents.http;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -24,13 +25,19 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import okhttp3.Call;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpStatus;
 import org.eclipse.tractusx.agents.AgentConfig;
 import org.eclipse.tractusx.agents.AgreementController;
 import org.eclipse.tractusx.agents.sparql.CatenaxWarning;
+import org.eclipse.tractusx.agents.sparql.QueryDeadline;
 import org.eclipse.tractusx.agents.utils.EndpointDataReference;
 import org.eclipse.tractusx.agents.utils.Monitor;
 import org.eclipse.tractusx.agents.utils.TypeManager;
@@ -41,11 +48,15 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -64,6 +75,7 @@ public class DelegationServiceImpl implements DelegationService {
     protected final OkHttpClient client;
     public static final TypeReference<List<CatenaxWarning>> WARNING_TYPE_REFERENCE = new TypeReference<>() {
     };
+    public static final ByteString MULTIPART_PREFIX = ByteString.encodeUtf8("--");
     protected final TypeManager typeManager;
     protected final AgentConfig config;
 
@@ -100,10 +112,18 @@ public class DelegationServiceImpl implements DelegationService {
             return new DelegationResponse(HttpUtils.respond(monitor, headers, HttpStatus.SC_FORBIDDEN, String.format("Service %s matches the denied service pattern %s", remoteUrl, serviceDenyPattern.pattern()), null));
         }
         String asset = skill != null ? skill : graph;
+        QueryDeadline deadline = QueryDeadline.fromBudget(headers.getHeaderString(QueryDeadline.BUDGET_HEADER), config.getFederationBudget());
+        if (deadline != null && deadline.isExpired(config.getFederationBudgetMargin())) {
+            return new DelegationResponse(respondExpired(remoteUrl, asset, headers));
+        }
         EndpointDataReference endpoint = agreementController.get(asset);
         if (endpoint == null) {
             try {
-                endpoint = agreementController.createAgreement(remoteUrl, asset);
+                if (deadline == null) {
+                    endpoint = agreementController.createAgreement(remoteUrl, asset);
+                } else {
+                    endpoint = agreementController.createAgreement(remoteUrl, asset, deadline.trim(config.getNegotiationTimeout()));
+                }
             } catch (WebApplicationException e) {
                 return new DelegationResponse(HttpUtils.respond(monitor, headers, e.getResponse().getStatus(), String.format("Could not get an agreement from connector %s to asset %s", remoteUrl, asset), e.getCause()));
             }
@@ -111,15 +131,18 @@ public class DelegationServiceImpl implements DelegationService {
         if (endpoint == null) {
             return new DelegationResponse(HttpUtils.respond(monitor, headers, HttpStatus.SC_FORBIDDEN, String.format("Could not get an agreement from connector %s to asset %s", remoteUrl, asset), null));
         }
+        if (deadline != null && deadline.isExpired(config.getFederationBudgetMargin())) {
+            return new DelegationResponse(respondExpired(remoteUrl, asset, headers));
+        }
         if ("GET".equals(request.getMethod())) {
             try {
-                return sendGetRequest(endpoint, "", headers, response, uri);
+                return sendGetRequest(endpoint, "", headers, response, uri, deadline);
             } catch (IOException e) {
                 return new DelegationResponse(HttpUtils.respond(monitor, headers, HttpStatus.SC_INTERNAL_SERVER_ERROR, String.format("Could not delegate remote GET call to connector %s asset %s", remoteUrl, asset), e));
             }
         } else if ("POST".equals(request.getMethod())) {
             try {
-                return sendPostRequest(endpoint, "", headers, request, response, uri);
+                return sendPostRequest(endpoint, "", headers, request, response, uri, deadline);
             } catch (IOException e) {
                 return new DelegationResponse(HttpUtils.respond(monitor, headers, HttpStatus.SC_INTERNAL_SERVER_ERROR, String.format("Could not delegate remote POST call to connector %s asset %s", remoteUrl, asset), e));
             }
@@ -138,6 +161,20 @@ public class DelegationServiceImpl implements DelegationService {
      * @throws IOException in case something strange happens
      */
     public DelegationResponse sendGetRequest(EndpointDataReference dataReference, String subUrl, HttpHeaders headers, HttpServletResponse response, UriInfo uri) throws IOException {
+        return sendGetRequest(dataReference, subUrl, headers, response, uri,
+                QueryDeadline.fromBudget(headers.getHeaderString(QueryDeadline.BUDGET_HEADER), config.getFederationBudget()));
+    }
+
+    /**
+     * route a get request within a time budget
+     *
+     * @param dataReference the encoded call embedding
+     * @param subUrl        protocol-specific part
+     * @param deadline      deadline of the call, may be null
+     * @return a wrapped response which indicates the runMode that the execution should be done
+     * @throws IOException in case something strange happens
+     */
+    public DelegationResponse sendGetRequest(EndpointDataReference dataReference, String subUrl, HttpHeaders headers, HttpServletResponse response, UriInfo uri, QueryDeadline deadline) throws IOException {
         var url = getUrl(dataReference.getEndpoint(), subUrl, headers, uri);
 
         monitor.debug(String.format("About to delegate GET %s", url));
@@ -149,8 +186,13 @@ public class DelegationServiceImpl implements DelegationService {
             requestBuilder = requestBuilder.addHeader(dataReference.getAuthKey(), Objects.requireNonNull(dataReference.getAuthCode()));
         }
 
+        requestBuilder = addDeadline(requestBuilder, deadline);
+
         var newRequest = requestBuilder.build();
 
+        if (config.isDelegationStreaming()) {
+            return new DelegationResponse(sendStreamingRequest(newRequest, headers, response), Response.status(response.getStatus()).build());
+        }
         return new DelegationResponse(sendRequest(newRequest, response), Response.status(response.getStatus()).build());
     }
 
@@ -163,6 +205,20 @@ public class DelegationServiceImpl implements DelegationService {
      * @throws IOException in case something strange happens
      */
     public DelegationResponse sendPostRequest(EndpointDataReference dataReference, String subUrl, HttpHeaders headers, HttpServletRequest request, HttpServletResponse response, UriInfo uri) throws IOException {
+        return sendPostRequest(dataReference, subUrl, headers, request, response, uri,
+                QueryDeadline.fromBudget(headers.getHeaderString(QueryDeadline.BUDGET_HEADER), config.getFederationBudget()));
+    }
+
+    /**
+     * route a post request within a time budget
+     *
+     * @param dataReference the encoded call embedding
+     * @param subUrl        protocol-specific part
+     * @param deadline      deadline of the call, may be null
+     * @return a wrapped response which indicates the runMode that the execution should be done
+     * @throws IOException in case something strange happens
+     */
+    public DelegationResponse sendPostRequest(EndpointDataReference dataReference, String subUrl, HttpHeaders headers, HttpServletRequest request, HttpServletResponse response, UriInfo uri, QueryDeadline deadline) throws IOException {
         var url = getUrl(dataReference.getEndpoint(), subUrl, headers, uri);
 
         String contentType = request.getContentType();
@@ -178,6 +234,13 @@ public class DelegationServiceImpl implements DelegationService {
             requestBuilder = requestBuilder.addHeader(dataReference.getAuthKey(), Objects.requireNonNull(dataReference.getAuthCode()));
         }
 
+        requestBuilder = addDeadline(requestBuilder, deadline);
+
+        if (config.isDelegationStreaming()) {
+            requestBuilder.post(new InputStreamRequestBody(parsedContentType, request.getInputStream(), request.getContentLengthLong()));
+            return new DelegationResponse(sendStreamingRequest(requestBuilder.build(), headers, response), Response.status(response.getStatus()).build());
+        }
+
         requestBuilder.post(okhttp3.RequestBody.create(request.getInputStream().readAllBytes(), parsedContentType));
 
         var newRequest = requestBuilder.build();
@@ -187,6 +250,60 @@ public class DelegationServiceImpl implements DelegationService {
 
 
 
+    /**
+     * passes the remaining budget to the delegated agent
+     *
+     * @param requestBuilder request to populate
+     * @param deadline       deadline of the call, may be null
+     * @return populated request
+     */
+    protected okhttp3.Request.Builder addDeadline(okhttp3.Request.Builder requestBuilder, QueryDeadline deadline) {
+        if (deadline == null) {
+            return requestBuilder;
+        }
+        return requestBuilder.header(QueryDeadline.BUDGET_HEADER, deadline.getBudget(config.getFederationBudgetMargin()))
+                .tag(QueryDeadline.class, deadline);
+    }
+
+    /**
+     * creates a call which is limited by the deadline of the request (if any)
+     *
+     * @param request predefined request
+     * @return call to execute
+     */
+    protected Call newCall(okhttp3.Request request) {
+        Call call = client.newCall(request);
+        QueryDeadline deadline = request.tag(QueryDeadline.class);
+        if (deadline != null) {
+            call.timeout().timeout(Math.max(1, deadline.getRemaining()), TimeUnit.MILLISECONDS);
+        }
+        return call;
+    }
+
+    /**
+     * fails fast on a delegation which cannot be finished within the budget of the caller
+     *
+     * @param remoteUrl remote connector
+     * @param asset     target asset
+     * @param headers   headers of the original call
+     * @return gateway timeout response carrying a warning
+     */
+    protected Response respondExpired(String remoteUrl, String asset, HttpHeaders headers) {
+        CatenaxWarning newWarning = new CatenaxWarning();
+        newWarning.setSourceTenant(config.getControlPlaneManagementUrl());
+        newWarning.setSourceAsset(config.getDefaultAsset());
+        newWarning.setTargetTenant(remoteUrl);
+        newWarning.setTargetAsset(asset);
+        newWarning.setProblem(String.format("Time budget exhausted before delegating to asset %s: Result may be partial.", asset));
+        Response failure = HttpUtils.respond(monitor, headers, HttpStatus.SC_GATEWAY_TIMEOUT,
+                String.format("No time budget left to delegate to connector %s asset %s", remoteUrl, asset), null);
+        try {
+            return Response.fromResponse(failure).header("cx_warnings", typeManager.getMapper().writeValueAsString(List.of(newWarning))).build();
+        } catch (JsonProcessingException e) {
+            return failure;
+        }
+    }
+
     /**
      * computes the url to target the given data plane
      *
@@ -243,7 +360,7 @@ public class DelegationServiceImpl implements DelegationService {
      * @throws IOException in case something goes wrong
      */
     protected String sendRequest(okhttp3.Request request, HttpServletResponse response) throws IOException {
-        try (var myResponse = client.newCall(request).execute()) {
+        try (var myResponse = newCall(request).execute()) {
 
             if (!myResponse.isSuccessful()) {
                 monitor.warning(String.format("Data plane call was not successful: %s", myResponse.code()));
@@ -367,4 +484,154 @@ public class DelegationServiceImpl implements DelegationService {
         return null;
     }
 
+
+    /**
+     * streaming variant of sendRequest which pipes the result through to the final
+     * response. Multipart bodies are split with a small lookahead buffer
+     * (the length of the boundary delimiter) rather than line by line, only
+     * skill texts and warnings parts are materialized.
+     *
+     * @param request  predefined request
+     * @param headers  headers of the original call
+     * @param response the final response
+     * @return the text of a downloaded skill if runMode = consumer, null otherwise
+     * @throws IOException in case something goes wrong
+     */
+    protected String sendStreamingRequest(okhttp3.Request request, HttpHeaders headers, HttpServletResponse response) throws IOException {
+        try (var myResponse = newCall(request).execute()) {
+
+            if (!myResponse.isSuccessful()) {
+                monitor.warning(String.format("Data plane call was not successful: %s", myResponse.code()));
+            }
+
+            var body = myResponse.body();
+            if (body == null) {
+                return null;
+            }
+
+            List<CatenaxWarning> warnings = new ArrayList<>();
+            for (String value : myResponse.headers().values("cx_warnings")) {
+                List<CatenaxWarning> nextWarnings = typeManager.getMapper().readValue(value, WARNING_TYPE_REFERENCE);
+                if (nextWarnings != null) {
+                    warnings.addAll(nextWarnings);
+                }
+            }
+
+            okhttp3.MediaType contentType = body.contentType();
+            BufferedSource source = body.source();
+
+            if (!source.request(2) || !source.rangeEquals(0, MULTIPART_PREFIX)) {
+                if (contentType != null && contentType.toString().equals("application/sparql-query")) {
+                    return source.readString(Charset.defaultCharset());
+                }
+                String embeddedType = contentType != null ? contentType.toString() : null;
+                prepareStreamingResponse(myResponse, embeddedType, warnings, response);
+                OutputStream out = response.getOutputStream();
+                source.readAll(Okio.sink(out));
+                out.flush();
+                return null;
+            }
+
+            String boundary = "--";
+            if (contentType != null) {
+                int boundaryIndex = contentType.toString().indexOf(";boundary=");
+                if (boundaryIndex >= 0) {
+                    boundary = boundary + contentType.toString().substring(boundaryIndex + 10);
+                }
+            }
+            // position at the first part
+            String line = source.readUtf8Line();
+            if ("--".equals(boundary) && line != null) {
+                boundary = line.trim();
+            }
+            while (line != null && !boundary.equals(line.trim())) {
+                line = source.readUtf8Line();
+            }
+            ByteString delimiter = ByteString.encodeUtf8("\n" + boundary);
+            Map<String, String> trailers = null;
+            boolean resultWritten = false;
+            while (line != null) {
+                String contentLine = source.readUtf8Line();
+                String embeddedContentType = null;
+                if (contentLine != null && contentLine.startsWith("Content-Type: ")) {
+                    embeddedContentType = contentLine.substring(14).trim();
+                }
+                boolean hasNext;
+                if (!resultWritten && embeddedContentType != null &&
+                        !embeddedContentType.equals("application/cx-warnings+json") &&
+                        !embeddedContentType.equals("application/sparql-query")) {
+                    // the actual result is piped through
+                    if (headers.getHeaderString("TE") != null && headers.getHeaderString("TE").contains("trailers")) {
+                        Map<String, String> trailerFields = new HashMap<>();
+                        try {
+                            response.setTrailerFields(() -> trailerFields);
+                            trailers = trailerFields;
+                        } catch (IllegalStateException e) {
+                            monitor.debug(String.format("Trailers are not supported for this response: %s", e.getMessage()));
+                        }
+                    }
+                    prepareStreamingResponse(myResponse, embeddedContentType, warnings, response);
+                    warnings.clear();
+                    OutputStream out = response.getOutputStream();
+                    hasNext = HttpUtils.copyUntil(source, delimiter, out);
+                    out.flush();
+                    resultWritten = true;
+                } else {
+                    Buffer part = new Buffer();
+                    hasNext = HttpUtils.copyUntil(source, delimiter, part.outputStream());
+                    if ("application/sparql-query".equals(embeddedContentType)) {
+                        return part.readString(Charset.defaultCharset());
+                    } else if ("application/cx-warnings+json".equals(embeddedContentType)) {
+                        List<CatenaxWarning> nextWarnings = typeManager.getMapper().readValue(part.inputStream(), WARNING_TYPE_REFERENCE);
+                        if (nextWarnings != null) {
+                            warnings.addAll(nextWarnings);
+                        }
+                    }
+                }
+                // skip the rest of the boundary line
+                line = hasNext ? source.readUtf8Line() : null;
+            }
+
+            if (!resultWritten) {
+                prepareStreamingResponse(myResponse, null, warnings, response);
+            } else if (!warnings.isEmpty()) {
+                // trailing warnings after the result has been streamed
+                String warningsString = typeManager.writeValueAsString(warnings);
+                if (!response.isCommitted()) {
+                    response.addHeader("cx_warnings", warningsString);
+                } else if (trailers != null) {
+                    trailers.put("cx_warnings", warningsString);
+                } else {
+                    monitor.warning(String.format("Could not deliver trailing warnings %s of a committed delegation response.", warningsString));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * sets status and headers of the final response before its body is streamed
+     *
+     * @param myResponse  the intermediate response
+     * @param contentType the content type of the result, may be null
+     * @param warnings    warnings collected so far
+     * @param response    the final response
+     */
+    protected void prepareStreamingResponse(okhttp3.Response myResponse, String contentType, List<CatenaxWarning> warnings, HttpServletResponse response) {
+        response.setStatus(myResponse.code());
+        for (String header : myResponse.headers().names()) {
+            if (!header.equals("cx_warnings") && !header.equalsIgnoreCase("content-length")) {
+                for (String value : myResponse.headers().values(header)) {
+                    response.addHeader(header, value);
+                }
+            }
+        }
+        if (!warnings.isEmpty()) {
+            response.addHeader("cx_warnings", typeManager.writeValueAsString(warnings));
+        }
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+    }
+
 }
@@ -22,20 +22,25 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import org.eclipse.tractusx.agents.sparql.QueryCancellation;
+import org.eclipse.tractusx.agents.sparql.QueryDeadline;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.Authenticator;
 import java.net.CookieHandler;
 import java.net.ProxySelector;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 
@@ -45,14 +50,35 @@ import javax.net.ssl.SSLParameters;
 public class HttpClientAdapter extends HttpClient {
 
     protected final OkHttpClient delegate;
+    protected final QueryCancellation cancellation;
+    protected final QueryDeadline deadline;
 
     /**
-     * creates a new wrapper
+     * creates a new wrapper whose calls are aborted when a query is cancelled
+     * or runs out of time
      *
-     * @param delegate the real client
+     * @param delegate     the real client
+     * @param cancellation the cancellation of the calling query, may be null
+     * @param deadline     the deadline of the calling query, may be null
      */
-    public HttpClientAdapter(OkHttpClient delegate) {
+    public HttpClientAdapter(OkHttpClient delegate, QueryCancellation cancellation, QueryDeadline deadline) {
         this.delegate = delegate;
+        this.cancellation = cancellation;
+        this.deadline = deadline;
+    }
+
+    /**
+     * derive a wrapper for a particular query
+     *
+     * @param cancellation the cancellation of the calling query, may be null
+     * @param deadline     the deadline of the calling query, may be null
+     * @return wrapper sharing the real client
+     */
+    public HttpClientAdapter forQuery(QueryCancellation cancellation, QueryDeadline deadline) {
+        if (cancellation == this.cancellation && deadline == this.deadline) {
+            return this;
+        }
+        return new HttpClientAdapter(delegate, cancellation, deadline);
     }
 
 
@@ -161,8 +187,30 @@ public class HttpClientAdapter extends HttpClient {
         builder.url(request.uri().toURL());
         Request okRequest = builder.build();
         Call okCall = delegate.newCall(okRequest);
-        Response okResponse = okCall.execute();
-        return (HttpResponse<T>) new HttpResponseAdapter(okResponse, request);
+        if (deadline != null) {
+            // the whole exchange (including the body) has to fit into the budget
+            long remaining = deadline.getRemaining();
+            if (remaining <= 0) {
+                throw new HttpTimeoutException(String.format("No time left to call %s.", request.uri()));
+            }
+            okCall.timeout().timeout(remaining, TimeUnit.MILLISECONDS);
+        }
+        if (cancellation == null) {
+            return (HttpResponse<T>) new HttpResponseAdapter(okCall.execute(), request, null);
+        }
+        // the call stays registered until its body has been consumed or closed,
+        // such that a cancellation also aborts the streaming of the body
+        Runnable abort = cancellation.register(okCall::cancel);
+        try {
+            Response okResponse = okCall.execute();
+            return (HttpResponse<T>) new HttpResponseAdapter(okResponse, request, () -> cancellation.unregister(abort));
+        } catch (IOException e) {
+            cancellation.unregister(abort);
+            if (cancellation.isCancelled()) {
+                throw new InterruptedIOException(String.format("Call to %s has been cancelled.", request.uri()));
+            }
+            throw e;
+        }
     }
 
     @Override
@@ -19,6 +19,8 @@ package org.eclipse.tractusx.agents.http;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -26,6 +28,7 @@ import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.net.ssl.SSLSession;
 
 /**
@@ -36,13 +39,34 @@ public class HttpResponseAdapter implements HttpResponse<InputStream> {
     Response delegate;
     HttpHeaders headers;
     HttpRequest request;
+    InputStream body;
+    // run once when the body has been consumed or closed
+    final AtomicReference<Runnable> release;
 
-    public HttpResponseAdapter(Response delegate, HttpRequest request) {
+    /**
+     * creates a new wrapper
+     *
+     * @param delegate the real response
+     * @param request  the request
+     * @param release  action to run once the body has been read or closed, may be null
+     */
+    public HttpResponseAdapter(Response delegate, HttpRequest request, Runnable release) {
         this.delegate = delegate;
         this.request = request;
+        this.release = new AtomicReference<>(release);
         headers = HttpHeaders.of(delegate.headers().toMultimap(), (key, value) -> true);
     }
 
+    /**
+     * runs the release action (at most once)
+     */
+    protected void release() {
+        Runnable action = release.getAndSet(null);
+        if (action != null) {
+            action.run();
+        }
+    }
+
     @Override
     public int statusCode() {
         return delegate.code();
@@ -64,12 +88,43 @@ public class HttpResponseAdapter implements HttpResponse<InputStream> {
     }
 
     @Override
-    public InputStream body() {
-        ResponseBody body = delegate.body();
-        if (body != null) {
-            return body.byteStream();
+    public synchronized InputStream body() {
+        if (body == null) {
+            ResponseBody responseBody = delegate.body();
+            if (responseBody == null) {
+                release();
+                return null;
+            }
+            body = new FilterInputStream(responseBody.byteStream()) {
+                @Override
+                public int read() throws IOException {
+                    int result = super.read();
+                    if (result < 0) {
+                        release();
+                    }
+                    return result;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int result = super.read(buffer, offset, length);
+                    if (result < 0) {
+                        release();
+                    }
+                    return result;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            };
         }
-        return null;
+        return body;
     }
 
     @Override
@@ -16,6 +16,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.agents.http;
 
+import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.Protocol;
 import okhttp3.Request;
@@ -37,9 +38,12 @@ import javax.servlet.http.HttpServletResponse;
 public class HttpServletResponseAdapter implements HttpServletResponse {
 
     Response.Builder builder = new Response.Builder();
+    Headers.Builder headers = new Headers.Builder();
     ByteArrayOutputStream bos = new ByteArrayOutputStream();
     ServletOutputStream sos = new ServletOutputStreamDelegator(bos);
 
+    int status = HttpServletResponse.SC_OK;
+    String message = "OK";
     String contentType;
     long contentLength;
 
@@ -54,7 +58,7 @@ public class HttpServletResponseAdapter implements HttpServletResponse {
 
     @Override
     public boolean containsHeader(String name) {
-        return false;
+        return headers.get(name) != null;
     }
 
     @Override
@@ -94,62 +98,63 @@ public class HttpServletResponseAdapter implements HttpServletResponse {
 
     @Override
     public void setDateHeader(String name, long date) {
-        builder.header(name, String.valueOf(date));
+        headers.set(name, String.valueOf(date));
     }
 
     @Override
     public void addDateHeader(String name, long date) {
-        builder.addHeader(name, String.valueOf(date));
+        headers.add(name, String.valueOf(date));
     }
 
     @Override
     public void setHeader(String name, String value) {
-        builder.header(name, value);
+        headers.set(name, value);
     }
 
     @Override
     public void addHeader(String name, String value) {
-        builder.addHeader(name, value);
+        headers.add(name, value);
     }
 
     @Override
     public void setIntHeader(String name, int value) {
-        builder.header(name, String.valueOf(value));
+        headers.set(name, String.valueOf(value));
     }
 
     @Override
     public void addIntHeader(String name, int value) {
-        builder.addHeader(name, String.valueOf(value));
+        headers.add(name, String.valueOf(value));
     }
 
     @Override
     public void setStatus(int sc) {
-        builder.code(sc).message(String.format("Status %d", sc));
+        setStatus(sc, String.format("Status %d", sc));
     }
 
     @Override
     public void setStatus(int sc, String sm) {
-        builder.code(sc).message(sm);
+        status = sc;
+        message = sm;
     }
 
     @Override
     public int getStatus() {
-        return builder.build().code();
+        return status;
     }
 
     @Override
     public String getHeader(String name) {
-        return builder.build().header(name);
+        return headers.get(name);
     }
 
     @Override
     public Collection<String> getHeaders(String name) {
-        return builder.build().headers().values(name);
+        return headers.build().values(name);
     }
 
     @Override
     public Collection<String> getHeaderNames() {
-        return builder.build().headers().names();
+        return headers.build().names();
     }
 
     @Override
@@ -229,6 +234,7 @@ public class HttpServletResponseAdapter implements HttpServletResponse {
     }
 
     public Response toResponse() {
+        builder.code(status).message(message).headers(headers.build());
         if (contentType != null) {
             ResponseBody body = ResponseBody.create(bos.toByteArray(), MediaType.parse(contentType));
             builder.body(body);
@@ -0,0 +1,304 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.http;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import org.eclipse.tractusx.agents.AgentConfig;
+import org.eclipse.tractusx.agents.utils.Monitor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * the configurable http transport layer of the agent which
+ * owns the (single) outgoing okhttp client, its connection pool and
+ * its dispatcher and which keeps statistics about connection reuse.
+ * As the dispatcher limits only apply to asynchronous calls, the
+ * (mostly synchronous) calls of the agent may be limited by an interceptor, too (opt-in).
+ */
+public class HttpTransport {
+
+    protected final Monitor monitor;
+    protected final AgentConfig config;
+    protected final ConnectionPool connectionPool;
+    protected final OkHttpClient client;
+
+    // statistics
+    protected final AtomicLong calls = new AtomicLong();
+    protected final AtomicLong failedCalls = new AtomicLong();
+    protected final AtomicLong connectionsAcquired = new AtomicLong();
+    protected final AtomicLong connectionsEstablished = new AtomicLong();
+    protected final AtomicLong connectionsFailed = new AtomicLong();
+    protected final AtomicLong limitedCalls = new AtomicLong();
+
+    /**
+     * creates a new transport
+     *
+     * @param config  agent config
+     * @param monitor logging facility
+     */
+    public HttpTransport(AgentConfig config, Monitor monitor) {
+        this.config = config;
+        this.monitor = monitor;
+        this.connectionPool = new ConnectionPool(config.getHttpPoolIdle(), config.getHttpPoolKeepAlive(), TimeUnit.MILLISECONDS);
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getHttpMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getHttpMaxRequestsPerHost());
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .protocols(getProtocols())
+                .eventListener(new StatisticsListener());
+        if (config.getHttpLimitRequests() > 0 || config.getHttpLimitRequestsPerHost() > 0) {
+            builder.addInterceptor(new RequestLimiter(config.getHttpLimitRequests(), config.getHttpLimitRequestsPerHost(), config.getHttpLimitWait()));
+        }
+        if (config.getConnectTimeout() != null) {
+            builder.connectTimeout(config.getConnectTimeout(), TimeUnit.MILLISECONDS);
+        }
+        if (config.getReadTimeout() != null) {
+            builder.readTimeout(config.getReadTimeout(), TimeUnit.MILLISECONDS);
+        }
+        if (config.getWriteTimeout() != null) {
+            builder.writeTimeout(config.getWriteTimeout(), TimeUnit.MILLISECONDS);
+        }
+        if (config.getCallTimeout() != null) {
+            builder.callTimeout(config.getCallTimeout(), TimeUnit.MILLISECONDS);
+        }
+        if (!config.isHttpCompression()) {
+            // okhttp only applies transparent gzip if no explicit encoding has been requested
+            builder.addInterceptor(chain -> {
+                if (chain.request().header("Accept-Encoding") != null) {
+                    return chain.proceed(chain.request());
+                }
+                return chain.proceed(chain.request().newBuilder().header("Accept-Encoding", "identity").build());
+            });
+        }
+        this.client = builder.build();
+    }
+
+    /**
+     * parses the configured protocols
+     *
+     * @return list of okhttp protocols
+     */
+    protected List<Protocol> getProtocols() {
+        List<Protocol> protocols = new ArrayList<>();
+        for (String protocol : config.getHttpProtocols()) {
+            try {
+                protocols.add(Protocol.get(protocol.trim()));
+            } catch (IOException e) {
+                monitor.warning(String.format("Ignoring unknown http protocol %s", protocol));
+            }
+        }
+        if (protocols.contains(Protocol.H2_PRIOR_KNOWLEDGE)) {
+            // h2c cannot be mixed with other protocols
+            return List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+        }
+        if (!protocols.contains(Protocol.HTTP_1_1)) {
+            protocols.add(Protocol.HTTP_1_1);
+        }
+        return protocols;
+    }
+
+    /**
+     * access
+     *
+     * @return the shared outgoing client
+     */
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * access
+     *
+     * @return a snapshot of the connection pool and call statistics
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("connections", (long) connectionPool.connectionCount());
+        statistics.put("idleConnections", (long) connectionPool.idleConnectionCount());
+        statistics.put("connectionsAcquired", connectionsAcquired.get());
+        statistics.put("connectionsEstablished", connectionsEstablished.get());
+        statistics.put("connectionsFailed", connectionsFailed.get());
+        statistics.put("calls", calls.get());
+        statistics.put("failedCalls", failedCalls.get());
+        statistics.put("limitedCalls", limitedCalls.get());
+        statistics.put("runningCalls", (long) client.dispatcher().runningCallsCount());
+        statistics.put("queuedCalls", (long) client.dispatcher().queuedCallsCount());
+        return statistics;
+    }
+
+    /**
+     * schedules the logging of statistics (if configured)
+     *
+     * @param executorService scheduler to use
+     */
+    public void start(ScheduledExecutorService executorService) {
+        long interval = config.getHttpStatisticsInterval();
+        if (interval > 0) {
+            executorService.scheduleAtFixedRate(() -> monitor.info(String.format("Http transport statistics %s", getStatistics())),
+                    interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * releases pooled connections
+     */
+    public void shutdown() {
+        client.dispatcher().cancelAll();
+        connectionPool.evictAll();
+    }
+
+    /**
+     * limits the number of concurrent exchanges overall and per target host.
+     * A slot is held until the response headers have arrived, such that
+     * streamed response bodies cannot block other calls.
+     */
+    protected class RequestLimiter implements Interceptor {
+
+        /**
+         * the slots of a target host and the number of calls holding or waiting for them
+         */
+        protected class HostSlots {
+            protected final Semaphore slots = new Semaphore(maxRequestsPerHost, true);
+            protected int users = 0;
+        }
+
+        protected final Semaphore requests;
+        protected final int maxRequestsPerHost;
+        protected final long wait;
+        protected final Map<String, HostSlots> hostRequests = new ConcurrentHashMap<>();
+
+        /**
+         * creates a new limiter
+         *
+         * @param maxRequests        maximal number of concurrent exchanges, 0 if unlimited
+         * @param maxRequestsPerHost maximal number of concurrent exchanges per target host, 0 if unlimited
+         * @param wait               time in milliseconds to wait for a free slot
+         */
+        protected RequestLimiter(int maxRequests, int maxRequestsPerHost, long wait) {
+            this.requests = maxRequests > 0 ? new Semaphore(maxRequests, true) : null;
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            this.wait = wait;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            String host = chain.request().url().host();
+            HostSlots hostSlots = maxRequestsPerHost > 0 ? hostRequests.compute(host, (key, existing) -> {
+                HostSlots slots = existing != null ? existing : new HostSlots();
+                slots.users++;
+                return slots;
+            }) : null;
+            try {
+                acquire(hostSlots != null ? hostSlots.slots : null, host);
+                try {
+                    acquire(requests, host);
+                    try {
+                        return chain.proceed(chain.request());
+                    } finally {
+                        if (requests != null) {
+                            requests.release();
+                        }
+                    }
+                } finally {
+                    if (hostSlots != null) {
+                        hostSlots.slots.release();
+                    }
+                }
+            } finally {
+                if (hostSlots != null) {
+                    // forget hosts which are not called anymore
+                    hostRequests.computeIfPresent(host, (key, existing) -> --existing.users == 0 ? null : existing);
+                }
+            }
+        }
+
+        /**
+         * waits for a free slot (at most the configured wait)
+         *
+         * @param slots the slots to acquire from, may be null if unlimited
+         * @param host  target host
+         * @throws IOException if no slot became free in time
+         */
+        protected void acquire(Semaphore slots, String host) throws IOException {
+            if (slots == null || slots.tryAcquire()) {
+                return;
+            }
+            limitedCalls.incrementAndGet();
+            try {
+                if (!slots.tryAcquire(wait, TimeUnit.MILLISECONDS)) {
+                    throw new InterruptedIOException(String.format("Timed out waiting for a free request slot to host %s", host));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(String.format("Interrupted while waiting for a free request slot to host %s", host));
+            }
+        }
+    }
+
+    /**
+     * counts calls and connection churn
+     */
+    protected class StatisticsListener extends EventListener {
+
+        @Override
+        public void callStart(Call call) {
+            calls.incrementAndGet();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            failedCalls.incrementAndGet();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            connectionsEstablished.incrementAndGet();
+        }
+
+        @Override
+        public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+            connectionsFailed.incrementAndGet();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            connectionsAcquired.incrementAndGet();
+        }
+    }
+}
@@ -18,11 +18,19 @@ package org.eclipse.tractusx.agents.http;
 
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
 import org.eclipse.tractusx.agents.utils.Monitor;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Utilities to deal with Http Protocol stuff
@@ -99,6 +107,33 @@ public class HttpUtils {
                 .replace("/", "%2F");
     }
 
+    /**
+     * wraps a (compressed) response body into a decompressing stream
+     * such that the body can be consumed while it arrives
+     *
+     * @param body            raw response body
+     * @param contentEncoding value of the Content-Encoding header, may be null
+     * @return decoded response body
+     * @throws IOException in case the encoding is not supported or the body is corrupt
+     */
+    public static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (body == null || contentEncoding == null) {
+            return body;
+        }
+        switch (contentEncoding.trim().toLowerCase()) {
+            case "":
+            case "identity":
+                return body;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(body, 8192);
+            case "deflate":
+                return new InflaterInputStream(body);
+            default:
+                throw new IOException(String.format("Unsupported content encoding %s", contentEncoding));
+        }
+    }
+
     /**
      * creates a response from a given setting
      * depending on the accept type
@@ -157,4 +192,42 @@ public class HttpUtils {
         }
         return builder.build();
     }
+
+    /**
+     * copies the source into the target until the given delimiter is found. Only
+     * a lookahead of the delimiter length is kept back, everything else is passed on
+     * as soon as it arrives. As in MIME, the line break starting the delimiter belongs to the delimiter.
+     *
+     * @param source    the source to read from
+     * @param delimiter the delimiter which ends the copy (consumed)
+     * @param target    the stream to copy into
+     * @return whether the delimiter has been found (false if the source is exhausted)
+     * @throws IOException in case something goes wrong
+     */
+    public static boolean copyUntil(BufferedSource source, ByteString delimiter, OutputStream target) throws IOException {
+        Buffer buffer = source.getBuffer();
+        long lookahead = delimiter.size() - 1;
+        // an empty part directly starts with the boundary
+        if (source.rangeEquals(0, delimiter, 1, (int) lookahead)) {
+            buffer.skip(lookahead);
+            return true;
+        }
+        while (true) {
+            long index = buffer.indexOf(delimiter);
+            if (index >= 0) {
+                buffer.writeTo(target, index);
+                buffer.skip(delimiter.size());
+                return true;
+            }
+            if (buffer.size() > lookahead) {
+                buffer.writeTo(target, buffer.size() - lookahead);
+            }
+            if (!source.request(buffer.size() + 1)) {
+                if (buffer.indexOf(delimiter) < 0) {
+                    buffer.writeTo(target, buffer.size());
+                    return false;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,74 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.http;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * an okhttp request body which pipes an (inbound) input stream
+ * into the outgoing call instead of materializing it first.
+ * As the stream can only be consumed once, the body is one-shot,
+ * i.e., it will not be retried by okhttp.
+ */
+public class InputStreamRequestBody extends RequestBody {
+
+    protected final MediaType contentType;
+    protected final InputStream inputStream;
+    protected final long contentLength;
+
+    /**
+     * creates a new streaming body
+     *
+     * @param contentType   media type of the body
+     * @param inputStream   source of the body
+     * @param contentLength length of the body, -1 if unknown
+     */
+    public InputStreamRequestBody(MediaType contentType, InputStream inputStream, long contentLength) {
+        this.contentType = contentType;
+        this.inputStream = inputStream;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return true;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        try (Source source = Okio.source(inputStream)) {
+            sink.writeAll(source);
+        }
+    }
+}
@@ -56,4 +56,14 @@ public class ServletOutputStreamDelegator extends ServletOutputStream {
         delegate.write(b, off, len);
     }
 
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
 }
@@ -0,0 +1,263 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * a servlet response which streams the query result directly into
+ * the underlying (Jetty) response. As no content length is announced, the
+ * container will switch to chunked transfer encoding once its buffer is exceeded.
+ * Warnings which are only known after the result has been produced are
+ * delivered as a trailer (if the client accepts trailers) or as a trailing
+ * multipart section (if the client accepts multipart responses).
+ * For all other clients, the result is buffered such that status and
+ * warning headers can still be set after the result has been produced.
+ */
+public class StreamingHttpServletResponseAdapter extends HttpServletResponseWrapper {
+
+    public static final String WARNINGS_HEADER = "cx_warnings";
+    public static final String WARNINGS_CONTENT_TYPE = "application/cx-warnings+json";
+    public static final String MULTIPART_CONTENT_TYPE = "multipart/form-data";
+
+    protected final boolean trailers;
+    protected final boolean multipart;
+    protected final String boundary = UUID.randomUUID().toString();
+    protected final Map<String, String> trailerFields = new HashMap<>();
+
+    protected String contentType;
+    protected boolean preambleWritten = false;
+    protected final ByteArrayOutputStream buffer;
+    protected ServletOutputStream outputStream;
+    protected PrintWriter writer;
+
+    /**
+     * creates a new streaming response
+     *
+     * @param response  the underlying container response
+     * @param trailers  whether the client accepts trailers
+     * @param multipart whether the client accepts a multipart body
+     */
+    public StreamingHttpServletResponseAdapter(HttpServletResponse response, boolean trailers, boolean multipart) {
+        super(response);
+        this.multipart = multipart;
+        boolean trailersEnabled = trailers && !multipart;
+        if (trailersEnabled) {
+            try {
+                response.setTrailerFields(() -> trailerFields);
+            } catch (IllegalStateException | UnsupportedOperationException e) {
+                // e.g., HTTP/1.0 clients or an already committed response
+                trailersEnabled = false;
+            }
+        }
+        this.trailers = trailersEnabled;
+        this.buffer = trailersEnabled || multipart ? null : new ByteArrayOutputStream();
+    }
+
+    /**
+     * checks the TE header of a request
+     *
+     * @param te value of the TE header, may be null
+     * @return whether the client will process trailers
+     */
+    public static boolean acceptsTrailers(String te) {
+        return te != null && te.contains("trailers");
+    }
+
+    /**
+     * checks the Accept header of a request
+     *
+     * @param accept value of the Accept header, may be null
+     * @return whether the client will process a multipart response
+     */
+    public static boolean acceptsMultipart(String accept) {
+        return accept != null && accept.contains(MULTIPART_CONTENT_TYPE);
+    }
+
+    /**
+     * access
+     *
+     * @return whether the body is framed as multipart
+     */
+    public boolean isMultipart() {
+        return multipart;
+    }
+
+    /**
+     * access
+     *
+     * @return whether the body is buffered until finished
+     */
+    public boolean isBuffered() {
+        return buffer != null;
+    }
+
+    /**
+     * streaming responses never announce a length
+     */
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    /**
+     * streaming responses never announce a length
+     */
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    /**
+     * in the multipart case, the content type is moved into the first section
+     *
+     * @param type content type of the result
+     */
+    @Override
+    public void setContentType(String type) {
+        contentType = type;
+        if (multipart) {
+            super.setContentType(String.format("%s;boundary=%s", MULTIPART_CONTENT_TYPE, boundary));
+        } else {
+            super.setContentType(type);
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            OutputStream target = buffer != null ? buffer : super.getOutputStream();
+            outputStream = new ServletOutputStreamDelegator(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    writePreamble(target);
+                    target.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    writePreamble(target);
+                    target.write(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+            });
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), StandardCharsets.UTF_8));
+        }
+        return writer;
+    }
+
+    /**
+     * a buffered response is only flushed when finished
+     *
+     * @throws IOException in case the client is gone
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        if (buffer == null) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        super.reset();
+    }
+
+    /**
+     * opens the result section of a multipart body
+     *
+     * @param target stream to write to
+     * @throws IOException in case the client is gone
+     */
+    protected void writePreamble(OutputStream target) throws IOException {
+        if (multipart && !preambleWritten) {
+            preambleWritten = true;
+            target.write(String.format("--%s\nContent-Type: %s\n", boundary, contentType).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * completes the response with the given warnings
+     *
+     * @param warnings serialized warnings, may be null
+     * @return whether the warnings could be delivered
+     * @throws IOException in case the client is gone
+     */
+    public boolean finish(String warnings) throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        boolean delivered = true;
+        if (warnings != null) {
+            if (multipart) {
+                OutputStream target = getOutputStream();
+                writePreamble(target);
+                target.write(String.format("\n--%s\nContent-Type: %s\n%s\n", boundary, WARNINGS_CONTENT_TYPE, warnings).getBytes(StandardCharsets.UTF_8));
+            } else if (!isCommitted()) {
+                setHeader(WARNINGS_HEADER, warnings);
+                addHeader("Access-Control-Expose-Headers", "cx_warnings, content-length, content-type");
+            } else if (trailers) {
+                trailerFields.put(WARNINGS_HEADER, warnings);
+            } else {
+                delivered = false;
+            }
+        }
+        if (buffer != null && buffer.size() > 0) {
+            super.setContentLengthLong(buffer.size());
+            buffer.writeTo(super.getOutputStream());
+            buffer.reset();
+        }
+        super.flushBuffer();
+        return delivered;
+    }
+}
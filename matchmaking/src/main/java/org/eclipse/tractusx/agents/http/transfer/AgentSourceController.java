@@ -79,7 +79,7 @@ public class AgentSourceController extends HttpServlet  {
         SerializerRegistry.get().addQuerySerializer(Syntax.syntaxARQ, arqQuerySerializerFactory);
         SerializerRegistry.get().addQuerySerializer(Syntax.syntaxSPARQL_10, arqQuerySerializerFactory);
         SerializerRegistry.get().addQuerySerializer(Syntax.syntaxSPARQL_11, arqQuerySerializerFactory);
-        this.processor = new SparqlQueryProcessor(reg, monitor, config, rdfStore, typeManager);
+        this.processor = new SparqlQueryProcessor(reg, monitor, config, rdfStore, typeManager, null, null);
         OkHttpClient httpClient = new OkHttpClient();
         DataManagement catalogService = new DataManagement(monitor, typeManager, httpClient, config);
         skillStore = new EdcSkillStore(catalogService, typeManager, config);
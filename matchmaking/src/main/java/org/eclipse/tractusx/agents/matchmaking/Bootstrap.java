@@ -23,6 +23,7 @@ import io.swagger.v3.oas.annotations.info.License;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.HandlerCollection;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.tractusx.agents.AgentConfig;
@@ -81,6 +82,7 @@ public class Bootstrap {
         connector1.setPort(port1);
         connector1.setName("conn1");
         handler1.setVirtualHosts(new String[]{"@conn1"});
+        enableCompression(handler1, conf);
         handlerList.addHandler(handler1);
         server.addConnector(connector1); 
 
@@ -99,6 +101,7 @@ public class Bootstrap {
         connector2.setPort(port2);
         connector2.setName("conn2");
         handler2.setVirtualHosts(new String[]{"@conn2"});
+        enableCompression(handler2, conf);
         handlerList.addHandler(handler2);
         server.addConnector(connector2);
         
@@ -131,6 +134,22 @@ public class Bootstrap {
 
     }
 
+    /**
+     * compresses responses (and decompresses requests) of the given context
+     * for clients which ask for it
+     *
+     * @param handler context handler
+     * @param conf    agent config
+     */
+    private void enableCompression(ServletContextHandler handler, AgentConfig conf) {
+        if (conf.isHttpResponseCompression()) {
+            GzipHandler gzipHandler = new GzipHandler();
+            gzipHandler.setIncludedMethods("GET", "POST");
+            gzipHandler.setInflateBufferSize(8192);
+            handler.insertHandler(gzipHandler);
+        }
+    }
+
     /**
      * Main method.
      *
@@ -29,11 +29,16 @@ import org.eclipse.tractusx.agents.SkillStore;
 import org.eclipse.tractusx.agents.http.AgentController;
 import org.eclipse.tractusx.agents.http.DelegationServiceImpl;
 import org.eclipse.tractusx.agents.http.GraphController;
+import org.eclipse.tractusx.agents.http.HttpTransport;
 import org.eclipse.tractusx.agents.rdf.RdfStore;
 import org.eclipse.tractusx.agents.service.DataManagement;
 import org.eclipse.tractusx.agents.service.DataspaceSynchronizer;
 import org.eclipse.tractusx.agents.service.EdcSkillStore;
 import org.eclipse.tractusx.agents.sparql.DataspaceServiceExecutor;
+import org.eclipse.tractusx.agents.sparql.FederationCache;
+import org.eclipse.tractusx.agents.sparql.FederationCircuitBreaker;
+import org.eclipse.tractusx.agents.sparql.FederationHedging;
+import org.eclipse.tractusx.agents.sparql.FederationStatistics;
 import org.eclipse.tractusx.agents.sparql.SparqlQueryProcessor;
 import org.eclipse.tractusx.agents.sparql.SparqlQuerySerializerFactory;
 import org.eclipse.tractusx.agents.utils.Config;
@@ -45,8 +50,10 @@ import org.eclipse.tractusx.agents.utils.TypeManager;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SharedObjectManager {
     private static final SharedObjectManager INSTANCE = new SharedObjectManager();
@@ -63,7 +70,14 @@ public class SharedObjectManager {
     private final GraphController graphController;
     private final DelegationServiceImpl delegationService;
     private final DataspaceSynchronizer synchronizer;
+    private final HttpTransport httpTransport;
+    private final FederationStatistics federationStatistics;
+    private final FederationCache federationCache;
+    private final FederationCircuitBreaker federationCircuitBreaker;
     private final OkHttpClient httpClient;
+    private final ScheduledExecutorService executorService;
+    private final ExecutorService hedgingExecutorService;
+    private final ExecutorService probeExecutorService;
     
 
     private SharedObjectManager() {
@@ -92,19 +106,38 @@ public class SharedObjectManager {
         }
         Config emptyConfig = ConfigFactory.fromProperties(props);
         this.agentConfig = new AgentConfig(monitor, emptyConfig);
-        this.httpClient = new OkHttpClient();
+        this.httpTransport = new HttpTransport(agentConfig, monitor);
+        this.httpClient = httpTransport.getClient();
         this.catalogService = new DataManagement(monitor, typeManager, httpClient, agentConfig);
-        agreementController = new AgreementControllerImpl(monitor, agentConfig, catalogService);
+        this.executorService = Executors.newScheduledThreadPool(agentConfig.getThreadPoolSize());
+        // hedged calls block, so they must not run on the (small) scheduling pool
+        AtomicInteger hedgingThreadCount = new AtomicInteger();
+        this.hedgingExecutorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, String.format("federation-hedging-%d", hedgingThreadCount.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+        // so do the background probes of open circuits
+        AtomicInteger probeThreadCount = new AtomicInteger();
+        this.probeExecutorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, String.format("federation-probe-%d", probeThreadCount.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.federationCircuitBreaker = new FederationCircuitBreaker(agentConfig, monitor, executorService, probeExecutorService);
         this.rdfStore = new RdfStore(agentConfig, monitor);
-        ScheduledExecutorService executorService = Executors.newScheduledThreadPool(agentConfig.getThreadPoolSize());
-        synchronizer = new DataspaceSynchronizer(executorService, agentConfig, catalogService, rdfStore, monitor);
+        agreementController = new AgreementControllerImpl(monitor, agentConfig, catalogService, federationCircuitBreaker);
+        this.federationStatistics = new FederationStatistics();
+        this.federationCache = new FederationCache(agentConfig, monitor);
+        synchronizer = new DataspaceSynchronizer(executorService, agentConfig, catalogService, rdfStore, monitor, federationStatistics);
         this.reg = new ServiceExecutorRegistry();   
-        reg.addBulkLink(new DataspaceServiceExecutor(monitor, agreementController, agentConfig, httpClient, executorService, typeManager));
+        reg.addBulkLink(new DataspaceServiceExecutor(monitor, agreementController, agentConfig, httpClient, executorService, typeManager, federationStatistics, federationCache,
+                new FederationHedging(agentConfig, monitor, executorService, hedgingExecutorService), federationCircuitBreaker));
         SparqlQuerySerializerFactory arqQuerySerializerFactory = new SparqlQuerySerializerFactory();
         SerializerRegistry.get().addQuerySerializer(Syntax.syntaxARQ, arqQuerySerializerFactory);
         SerializerRegistry.get().addQuerySerializer(Syntax.syntaxSPARQL_10, arqQuerySerializerFactory);
         SerializerRegistry.get().addQuerySerializer(Syntax.syntaxSPARQL_11, arqQuerySerializerFactory);
-        this.processor = new SparqlQueryProcessor(reg, monitor, agentConfig, rdfStore, typeManager);
+        this.processor = new SparqlQueryProcessor(reg, monitor, agentConfig, rdfStore, typeManager, federationStatistics, executorService);
         this.skillStore = new EdcSkillStore(catalogService, typeManager, agentConfig);
         this.delegationService = new DelegationServiceImpl(agreementController, monitor, httpClient, typeManager, agentConfig);
         this.agentController = new AgentController(monitor, agreementController, agentConfig, processor, skillStore, delegationService);
@@ -114,10 +147,15 @@ public class SharedObjectManager {
 
     public void start() {
         synchronizer.start();
+        httpTransport.start(executorService);
+        federationCache.start(executorService);
     }
 
     public void shutdown() {
         synchronizer.shutdown();
+        httpTransport.shutdown();
+        hedgingExecutorService.shutdownNow();
+        probeExecutorService.shutdownNow();
     }
 
     public static String convertToCurl(Request request) {
@@ -194,6 +232,22 @@ public class SharedObjectManager {
         return httpClient;
     }
 
+    public HttpTransport getHttpTransport() {
+        return httpTransport;
+    }
+
+    public FederationStatistics getFederationStatistics() {
+        return federationStatistics;
+    }
+
+    public FederationCache getFederationCache() {
+        return federationCache;
+    }
+
+    public FederationCircuitBreaker getFederationCircuitBreaker() {
+        return federationCircuitBreaker;
+    }
+
     public AgentController getAgentController() {
         return agentController;
     }
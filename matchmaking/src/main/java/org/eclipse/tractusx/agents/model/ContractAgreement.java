@@ -17,6 +17,7 @@
 package org.eclipse.tractusx.agents.model;
 
 import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
 import org.eclipse.tractusx.agents.jsonld.JsonLdObject;
 
 
@@ -33,4 +34,12 @@ public class ContractAgreement extends JsonLdObject {
     public long getContractSigningDate() {
         return object.getInt("https://w3id.org/edc/v0.0.1/ns/contractSigningDate");
     }
+
+    public OdrlPolicy getPolicy() {
+        JsonValue policy = object.get("https://w3id.org/edc/v0.0.1/ns/policy");
+        if (policy == null || policy.getValueType() != JsonValue.ValueType.OBJECT) {
+            return null;
+        }
+        return new OdrlPolicy(policy.asJsonObject());
+    }
 }
\ No newline at end of file
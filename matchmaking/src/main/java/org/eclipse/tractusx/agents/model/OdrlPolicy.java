@@ -17,6 +17,7 @@
 package org.eclipse.tractusx.agents.model;
 
 import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
 import org.eclipse.tractusx.agents.jsonld.JsonLd;
 import org.eclipse.tractusx.agents.jsonld.JsonLdObject;
 
@@ -41,4 +42,15 @@ public class OdrlPolicy extends JsonLdObject {
         return JsonLd.asString(object.get("http://www.w3.org/ns/odrl/2/prohibition"));
     }
 
+    public String getTarget() {
+        JsonValue target = object.get("http://www.w3.org/ns/odrl/2/target");
+        if (target == null) {
+            return null;
+        }
+        if (target.getValueType() == JsonValue.ValueType.OBJECT && target.asJsonObject().containsKey("@id")) {
+            return target.asJsonObject().getString("@id");
+        }
+        return JsonLd.asString(target);
+    }
+
 }
@@ -45,6 +45,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
@@ -243,13 +244,26 @@ public class DataManagement {
      * @throws IOException in case that the remote call did not succeed
      */
     public DcatCatalog findContractOffers(String remoteControlPlaneIdsUrl, String assetId) throws IOException {
+        return findContractOffers(remoteControlPlaneIdsUrl, assetId, 0);
+    }
+
+    /**
+     * Search for a dedicated asset within a time limit
+     *
+     * @param remoteControlPlaneIdsUrl url of the remote control plane ids endpoint
+     * @param assetId                  (connector-unique) identifier of the asset
+     * @param timeout                  overall timeout of the call in milliseconds, 0 if the client timeouts apply
+     * @return a collection of contract options to access the given asset
+     * @throws IOException in case that the remote call did not succeed in time
+     */
+    public DcatCatalog findContractOffers(String remoteControlPlaneIdsUrl, String assetId, long timeout) throws IOException {
         QuerySpec findAsset = QuerySpec.Builder.newInstance().filter(
                 List.of(new Criterion("https://w3id.org/edc/v0.0.1/ns/id", "=", assetId))
         ).build();
         String partnerId = config.getDataspaceSynchronizationConnectors().entrySet()
                 .stream().filter(entry -> entry.getValue().equals(remoteControlPlaneIdsUrl))
                 .findFirst().map(entry -> entry.getKey()).orElse(UUID.randomUUID().toString());
-        return getCatalog(partnerId, remoteControlPlaneIdsUrl, findAsset);
+        return getCatalog(partnerId, remoteControlPlaneIdsUrl, findAsset, timeout);
     }
 
     /**
@@ -262,13 +276,32 @@ public class DataManagement {
      * @throws IOException in case something went wrong
      */
     public DcatCatalog getCatalog(String partnerId, String remoteControlPlaneIdsUrl, QuerySpec spec) throws IOException {
+        return getCatalog(partnerId, remoteControlPlaneIdsUrl, spec, 0);
+    }
+
+    /**
+     * Access the catalogue within a time limit
+     *
+     * @param partnerId                business partner id
+     * @param remoteControlPlaneIdsUrl url of the remote control plane ids endpoint
+     * @param spec                     query specification
+     * @param timeout                  overall timeout of the call in milliseconds, 0 if the client timeouts apply
+     * @return catalog object
+     * @throws IOException in case something went wrong
+     */
+    public DcatCatalog getCatalog(String partnerId, String remoteControlPlaneIdsUrl, QuerySpec spec, long timeout) throws IOException {
         var url = String.format(CATALOG_CALL, config.getControlPlaneManagementUrl());
         var catalogSpec = String.format(CATALOG_REQUEST_BODY, partnerId, String.format(DSP_PATH, remoteControlPlaneIdsUrl), objectMapper.writeValueAsString(spec));
 
         var request = new Request.Builder().url(url).post(RequestBody.create(catalogSpec, MediaType.parse("application/json")));
         config.getControlPlaneManagementHeaders().forEach(request::addHeader);
 
-        try (var response = httpClient.newCall(request.build()).execute()) {
+        var call = httpClient.newCall(request.build());
+        if (timeout > 0) {
+            call.timeout().timeout(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        try (var response = call.execute()) {
             var body = response.body();
 
             if (!response.isSuccessful() || body == null) {
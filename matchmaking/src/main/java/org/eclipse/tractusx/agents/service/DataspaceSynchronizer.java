@@ -35,6 +35,7 @@ import org.eclipse.tractusx.agents.jsonld.JsonLd;
 import org.eclipse.tractusx.agents.model.DcatCatalog;
 import org.eclipse.tractusx.agents.model.DcatDataset;
 import org.eclipse.tractusx.agents.rdf.RdfStore;
+import org.eclipse.tractusx.agents.sparql.FederationStatistics;
 import org.eclipse.tractusx.agents.utils.Criterion;
 import org.eclipse.tractusx.agents.utils.Monitor;
 import org.eclipse.tractusx.agents.utils.QuerySpec;
@@ -152,6 +153,7 @@ public class DataspaceSynchronizer implements Runnable {
     protected final RdfStore rdfStore;
     protected final Monitor monitor;
     protected final MonitorWrapper monitorWrapper;
+    protected final FederationStatistics statistics;
 
     /**
      * internal state
@@ -159,15 +161,17 @@ public class DataspaceSynchronizer implements Runnable {
     protected boolean isStarted = false;
 
     /**
-     * creates the synchronizer
+     * creates the synchronizer which also reports catalogue facts
      *
      * @param service        scheduler
      * @param config         edc config
      * @param dataManagement data management service remoting
      * @param rdfStore       a triple store for persistance
      * @param monitor        logging subsystem
+     * @param statistics     federation statistics to report to, may be null
      */
-    public DataspaceSynchronizer(ScheduledExecutorService service, AgentConfig config, DataManagement dataManagement, RdfStore rdfStore, Monitor monitor) {
+    public DataspaceSynchronizer(ScheduledExecutorService service, AgentConfig config, DataManagement dataManagement, RdfStore rdfStore, Monitor monitor, FederationStatistics statistics) {
+        this.statistics = statistics;
         this.service = service;
         this.config = config;
         this.dataManagement = dataManagement;
@@ -220,6 +224,9 @@ public class DataspaceSynchronizer implements Runnable {
                         deleteConnectorFacts(graph, connector);
                         addConnectorFacts(remote.getValue(), catalog, graph, connector);
                         rdfStore.commit();
+                        if (statistics != null && catalog.getDatasets() != null) {
+                            statistics.recordCatalogue(connector.getURI(), catalog.getDatasets().size());
+                        }
                     } catch (Throwable io) {
                         monitor.warning(String.format("Could not synchronize remote connector %s because of %s. Going ahead.", remote, io));
                         rdfStore.abort();
@@ -21,6 +21,7 @@ import org.apache.jena.sparql.util.Context;
 import org.apache.jena.sparql.util.Symbol;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -47,7 +48,8 @@ public class CatenaxWarning {
     public static List<CatenaxWarning> getOrSetWarnings(Context context) {
         List<CatenaxWarning> result = getWarnings(context);
         if (result == null) {
-            result = new ArrayList<>();
+            // warnings may be added by concurrent federated calls
+            result = Collections.synchronizedList(new ArrayList<>());
             setWarnings(context, result);
         }
         return result;
@@ -22,18 +22,24 @@ import org.apache.jena.atlas.logging.Log;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryCancelledException;
 import org.apache.jena.query.QueryExecException;
 import org.apache.jena.query.ResultSet;
+import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.ResultSetMgr;
 import org.apache.jena.riot.WebContent;
 import org.apache.jena.riot.resultset.ResultSetLang;
 import org.apache.jena.sparql.algebra.Op;
 import org.apache.jena.sparql.algebra.OpAsQuery;
+import org.apache.jena.sparql.algebra.OpVars;
 import org.apache.jena.sparql.algebra.Transformer;
+import org.apache.jena.sparql.algebra.op.OpFilter;
+import org.apache.jena.sparql.algebra.op.OpJoin;
 import org.apache.jena.sparql.algebra.op.OpProject;
 import org.apache.jena.sparql.algebra.op.OpSequence;
 import org.apache.jena.sparql.algebra.op.OpService;
 import org.apache.jena.sparql.algebra.op.OpTable;
+import org.apache.jena.sparql.algebra.op.OpUnion;
 import org.apache.jena.sparql.algebra.table.TableData;
 import org.apache.jena.sparql.core.Var;
 import org.apache.jena.sparql.engine.ExecutionContext;
@@ -44,11 +50,11 @@ import org.apache.jena.sparql.engine.http.HttpParams;
 import org.apache.jena.sparql.engine.iterator.QueryIter;
 import org.apache.jena.sparql.engine.iterator.QueryIter1;
 import org.apache.jena.sparql.engine.iterator.QueryIterPlainWrapper;
-import org.apache.jena.sparql.exec.RowSet;
 import org.apache.jena.sparql.exec.RowSetAdapter;
 import org.apache.jena.sparql.exec.http.Params;
 import org.apache.jena.sparql.exec.http.QuerySendMode;
 import org.apache.jena.sparql.exec.http.Service;
+import org.apache.jena.sparql.expr.ExprList;
 import org.apache.jena.sparql.graph.NodeTransformLib;
 import org.apache.jena.sparql.resultset.ResultSetMem;
 import org.apache.jena.sparql.service.bulk.ChainingServiceExecutorBulk;
@@ -59,14 +65,13 @@ import org.apache.jena.sparql.util.Symbol;
 import org.eclipse.tractusx.agents.AgentConfig;
 import org.eclipse.tractusx.agents.AgreementController;
 import org.eclipse.tractusx.agents.http.HttpClientAdapter;
+import org.eclipse.tractusx.agents.http.HttpUtils;
 import org.eclipse.tractusx.agents.utils.EndpointDataReference;
 import org.eclipse.tractusx.agents.utils.Monitor;
 import org.eclipse.tractusx.agents.utils.TypeManager;
 
-import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
@@ -75,12 +80,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -104,6 +114,10 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
     final HttpClient client;
     final ExecutorService executor;
     final ObjectMapper objectMapper;
+    final FederationStatistics statistics;
+    final FederationCache cache;
+    final FederationHedging hedging;
+    final FederationCircuitBreaker breaker;
 
     /**
      * some constants
@@ -115,18 +129,34 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
     public static final Symbol ASSET_SYMBOL = Symbol.create("https://w3id.org/edc/v0.0.1/ns/id");
     public static final Symbol ALLOW_SYMBOL = Symbol.create("https://w3id.org/catenax/ontology/common#allowServicePattern");
     public static final Symbol DENY_SYMBOL = Symbol.create("https://w3id.org/catenax/ontology/common#denyServicePattern");
+    public static final String BINARY_RESULTS_ACCEPT = WebContent.contentTypeResultsThrift + ", " + WebContent.contentTypeResultsJSON + ";q=0.9";
+    public static final Symbol COMPRESSION_SYMBOL = Symbol.create("https://w3id.org/catenax/ontology/common#compression");
+    public static final Symbol BINARY_RESULTS_SYMBOL = Symbol.create("https://w3id.org/catenax/ontology/common#binaryResults");
 
     /**
-     * create a new executor
+     * create a new executor which collects statistics, caches results, hedges calls and short-circuits failing partners
      *
-     * @param monitor    logging subsystem
-     * @param controller dataspace agreement
+     * @param monitor     logging subsystem
+     * @param controller  dataspace agreement
+     * @param config      agent config
+     * @param client      outgoing http client
+     * @param executor    federation executor
+     * @param typeManager json mapping
+     * @param statistics  cardinality statistics to fill
+     * @param cache       result cache
+     * @param hedging     hedging of calls across alternative endpoints
+     * @param breaker     circuit breakers of connectors and assets
      */
-    public DataspaceServiceExecutor(Monitor monitor, AgreementController controller, AgentConfig config, OkHttpClient client, ExecutorService executor, TypeManager typeManager) {
+    public DataspaceServiceExecutor(Monitor monitor, AgreementController controller, AgentConfig config, OkHttpClient client, ExecutorService executor, TypeManager typeManager, FederationStatistics statistics, FederationCache cache,
+                                    FederationHedging hedging, FederationCircuitBreaker breaker) {
+        this.statistics = statistics;
+        this.cache = cache;
+        this.hedging = hedging;
+        this.breaker = breaker;
         this.monitor = monitor;
         this.agreementController = controller;
         this.config = config;
-        this.client = new HttpClientAdapter(client);
+        this.client = new HttpClientAdapter(client, null, null);
         this.executor = executor;
         this.objectMapper = typeManager.getMapper();
     }
@@ -146,6 +176,8 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
         Node serviceNode = opService.getService();
         Set<String> boundVars = new HashSet<>();
         long batchSize = config.getFederationServiceBatchSize();
+        // all federated calls of the query are aborted together
+        QueryCancellation cancellation = QueryCancellation.getOrSet(executionContext.getContext());
 
         //
         // returns an iterator over batches
@@ -199,7 +231,7 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
                     ExecutionContext ctx = this.getExecContext();
 
                     List<Future<QueryIterator>> futureBindings = bindings.entrySet().stream().map(serviceSpec -> executor.submit(() ->
-                            createExecution(opService, serviceSpec.getKey(), boundVars, serviceSpec.getValue(), ctx))).collect(Collectors.toList());
+                            createExecution(opService, serviceSpec.getKey(), boundVars, serviceSpec.getValue(), ctx))).collect(Collectors.toCollection(CopyOnWriteArrayList::new));
 
                     batchIterator = new QueryIterFutures(config, monitor, config.getControlPlaneManagementUrl(), config.getDefaultAsset(), serviceNode, ctx.getContext(), futureBindings);
                     return hasNextBinding();
@@ -219,18 +251,26 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
             }
 
             /**
-             * no explicit sub canceling implemented, http is stateless in this respect
+             * aborts all in-flight calls of the query and the pending batch
              */
             @Override
             protected void requestSubCancel() {
-
+                cancellation.cancel();
+                QueryIterator currentBatch = batchIterator;
+                if (currentBatch != null) {
+                    currentBatch.cancel();
+                }
             }
 
             /**
-             * no explicit closing implemented, http is stateless in this respect
+             * releases the current batch
              */
             @Override
             protected void closeSubIterator() {
+                if (batchIterator != null) {
+                    batchIterator.close();
+                    batchIterator = null;
+                }
             }
 
         };
@@ -277,6 +317,17 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
      */
     public QueryIterator createExecution(OpService opOriginal, String serviceUrl, Set<String> boundVars, List<Binding> bindings, ExecutionContext execCxt) {
         Context context = execCxt.getContext();
+        String serviceTarget = serviceUrl;
+        String callTarget = serviceUrl;
+        boolean cacheable = cache.isCacheable(null);
+        List<String> endpoints = List.of(serviceUrl);
+        QueryCancellation cancellation = QueryCancellation.get(context);
+        if (cancellation != null) {
+            // do not start to negotiate or call for a cancelled query
+            cancellation.check();
+        }
+        QueryDeadline deadline = QueryDeadline.get(context);
+        long budgetMargin = config.getFederationBudgetMargin();
 
         // we have to only check outgoing URLs which have not already been checked
         String targetUrl = context.get(DataspaceServiceExecutor.TARGET_URL_SYMBOL);
@@ -296,6 +347,10 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
 
         boolean silent = opOriginal.getSilent();
 
+        if (deadline != null && deadline.isExpired(budgetMargin)) {
+            return createFailFastExecution(serviceUrl, String.format("Time budget of the query exhausted before invoking %s: Result may be partial.", serviceUrl), bindings, silent, execCxt);
+        }
+
         // derive the asset type from the service URL, if possible
         // otherwise we will get it from the endpoint address after a ngotiation
         String assetType = serviceUrl.contains("Skill") ? "cx-common:SkillAsset" : serviceUrl.contains("Graph") ? "cx-common:GraphAsset" : "cx-common:Asset";
@@ -327,7 +382,10 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
                 opOriginal = new OpService(opOriginal.getService(), transformed, opOriginal.getSilent());
                 Set<String> graphNames = gr.getGraphNames();
                 if (graphNames.size() > 1) {
-                    throw new QueryExecException("There are several graph assets (currently not supported due to negotiation strategy, please rewrite your query) under EDC-based service: " + serviceUrl);
+                    if (!config.isFederationFanOut()) {
+                        throw new QueryExecException("There are several graph assets (currently not supported due to negotiation strategy, please rewrite your query) under EDC-based service: " + serviceUrl);
+                    }
+                    return createFanOutExecution(opOriginal, serviceUrl, boundVars, bindings, execCxt);
                 } else {
                     Optional<String> graphName = graphNames.stream().findAny();
                     if (graphName.isEmpty()) {
@@ -339,30 +397,40 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
             }
             EndpointDataReference endpoint = agreementController.get(asset);
             if (endpoint == null) {
-                endpoint = agreementController.createAgreement(remoteUrl, asset);
+                if (breaker.isOpen(remoteUrl)) {
+                    return createFailFastExecution(serviceTarget, String.format("Circuit of connector %s is open, skipped negotiation of %s: Result may be partial.", remoteUrl, asset), bindings, silent, execCxt);
+                }
+                if (deadline == null) {
+                    endpoint = agreementController.createAgreement(remoteUrl, asset);
+                } else {
+                    endpoint = agreementController.createAgreement(remoteUrl, asset, deadline.trim(config.getNegotiationTimeout()));
+                }
                 if (endpoint == null) {
                     throw new QueryExecException(String.format("Could not get an endpoint calback from connector %s to asset %s - Most likely this was a recursive call and you forgot to setup two control planes.", remoteUrl, asset));
                 }
+                if (deadline != null && deadline.isExpired(budgetMargin)) {
+                    return createFailFastExecution(serviceTarget, String.format("Time budget of the query exhausted before invoking %s: Result may be partial.", serviceTarget), bindings, silent, execCxt);
+                }
             }
             // the asset type should be annotated in the rdf type property
             assetType = String.valueOf(endpoint.getProperties().getOrDefault("http://www.w3.org/1999/02/22-rdf-syntax-ns#type", assetType));
+            callTarget = serviceTarget + "|" + asset;
+            cacheable = cache.isCacheable(endpoint.getProperties());
 
             // put the endpoint information into a new service operator
-            // and cater for the EDC public api slash problem
-            serviceUrl = endpoint.getEndpoint();
-            if (!serviceUrl.endsWith("/")) {
-                serviceUrl = serviceUrl + "/";
-            }
-            if (edcMatcher.group("params") != null) {
-                serviceUrl = serviceUrl + "?" + edcMatcher.group("params");
+            // (together with the alternative data planes of the asset, if any)
+            endpoints = new ArrayList<>();
+            for (String endpointUrl : FederationHedging.getEndpoints(endpoint.getEndpoint(), endpoint.getProperties())) {
+                endpoints.add(getEndpointUrl(endpointUrl, edcMatcher.group("params")));
             }
+            serviceUrl = endpoints.get(0);
             Map<String, Map<String, List<String>>> allServiceParams = context.get(Service.serviceParams);
             if (allServiceParams == null) {
                 allServiceParams = new HashMap<>();
                 context.put(Service.serviceParams, allServiceParams);
             }
             Map<String, List<String>> serviceParams = allServiceParams.computeIfAbsent(serviceUrl, k -> new HashMap<>());
-            serviceParams.put("cx_accept", List.of("application/json"));
+            serviceParams.put("cx_accept", List.of(chooseResultsAccept(serviceUrl, context, "application/json")));
             execCxt.getContext().put(AUTH_KEY_SYMBOL, endpoint.getAuthKey());
             execCxt.getContext().put(AUTH_CODE_SYMBOL, endpoint.getAuthCode());
         } else {
@@ -381,6 +449,8 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
                 VariableDetector vd = new VariableDetector(boundVars);
                 opRemote = NodeTransformLib.transform(vd, opRemote);
                 List<Var> neededVars = vd.getVariables();
+                // pushed limits would apply before joining the shipped bindings
+                opRemote = OptimizePushDownStrategy.resolve(opRemote, true, neededVars.isEmpty());
                 Map<String, Binding> resultingBindings = new HashMap<>();
                 Map<Node, List<Binding>> newBindings = new HashMap<>();
                 for (Binding originalBinding : bindings) {
@@ -410,6 +480,8 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
                     bb2.set(idVar, keyNode);
                     newBindings.get(keyNode).add(bb2.build());
                 }
+                // calls without needed variables are unbound, whatever the number of input bindings
+                long shippedBindings = neededVars.isEmpty() ? 0 : resultingBindings.size();
                 neededVars.add(idVar);
                 TableData table = new TableData(neededVars, new ArrayList<>(resultingBindings.values()));
                 OpTable opTable = OpTable.create(table);
@@ -420,7 +492,7 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
                 if (opRemote instanceof OpProject) {
                     OpProject opRemoteProject = (OpProject) opRemote;
                     Op join = OpSequence.create(opTable, opRemoteProject.getSubOp());
-                    List<Var> resultVars = opRemoteProject.getVars();
+                    List<Var> resultVars = new ArrayList<>(opRemoteProject.getVars());
                     resultVars.add(idVar);
                     query = OpAsQuery.asQuery(new OpProject(join, resultVars));
                 } else {
@@ -430,43 +502,74 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
 
                 monitor.debug(String.format("Prepared target %s for query %s", serviceUrl, query));
 
+                FederationCache.Key cacheKey = cacheable ? new FederationCache.Key(callTarget, query.toString()) : null;
+                List<Binding> cachedResults = cache.get(cacheKey);
+                if (cachedResults != null) {
+                    monitor.debug(String.format("Using cached results for target %s", callTarget));
+                    QueryIterator queryIterator = QueryIterPlainWrapper.create(cachedResults.iterator());
+                    queryIterator = QueryIter.makeTracked(queryIterator, execCxt);
+                    return new QueryIterJoin(queryIterator, newBindings, idVar, execCxt);
+                }
+
                 // -- Setup
-                //boolean withCompression = context.isTrueOrUndef(httpQueryCompression);
-                long timeoutMillis = config.getReadTimeout();
+                String acceptEncoding = chooseAcceptEncoding(serviceUrl, context);
+                long timeoutMillis = deadline == null ? config.getReadTimeout() : deadline.trim(config.getReadTimeout());
 
                 // RegistryServiceModifier is applied by QueryExecHTTP
                 Params serviceParams = getServiceParamsFromContext(serviceUrl, context);
-                HttpClient httpClient = chooseHttpClient(serviceUrl, context);
 
                 QuerySendMode querySendMode = chooseQuerySendMode(serviceUrl, context, QuerySendMode.asGetWithLimitBody);
+                String acceptHeader = chooseResultsAccept(serviceUrl, context, null);
                 // -- End setup
 
-                // Build the execution
-                QueryExecutorBuilder queryExecutorBuilder = QueryExecutor.newBuilder()
-                        .endpoint(serviceUrl)
-                        .timeout(timeoutMillis, TimeUnit.MILLISECONDS)
-                        .query(query)
-                        .params(serviceParams)
-                        .context(context)
-                        .httpClient(httpClient)
-                        .objectMapper(objectMapper)
-                        .agentConfig(config)
-                        .sendMode(querySendMode);
-
-                if (context.isDefined(AUTH_KEY_SYMBOL)) {
-                    String authKeyProp = context.get(AUTH_KEY_SYMBOL);
-                    monitor.debug(String.format("About to use authentication header %s on http target %s", authKeyProp, serviceUrl));
-                    String authCodeProp = context.get(AUTH_CODE_SYMBOL);
-                    queryExecutorBuilder = queryExecutorBuilder.httpHeader(authKeyProp, authCodeProp);
+                if (!breaker.allow(callTarget)) {
+                    return createFailFastExecution(serviceTarget, String.format("Circuit of target %s is open: Result may be partial.", callTarget), bindings, silent, execCxt);
                 }
+                int warningCount = countWarnings(context);
+                List<Binding> results = executeHedged(callTarget, endpoints, context, (endpointUrl, attemptCancellation) -> {
+                    // Build the execution
+                    QueryExecutorBuilder queryExecutorBuilder = QueryExecutor.newBuilder()
+                            .endpoint(endpointUrl)
+                            .timeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                            .query(query)
+                            .params(serviceParams)
+                            .context(context)
+                            .httpClient(chooseHttpClient(endpointUrl, context, attemptCancellation))
+                            .objectMapper(objectMapper)
+                            .agentConfig(config)
+                            .sendMode(querySendMode)
+                            .httpHeader("Accept-Encoding", acceptEncoding);
 
-                try (QueryExecutor qExec = queryExecutorBuilder.build()) {
-                    // Detach from the network stream.
-                    RowSet rowSet = qExec.select().materialize();
-                    QueryIterator queryIterator = QueryIterPlainWrapper.create(rowSet);
-                    queryIterator = QueryIter.makeTracked(queryIterator, execCxt);
-                    return new QueryIterJoin(queryIterator, newBindings, idVar, execCxt);
+                    if (acceptHeader != null) {
+                        queryExecutorBuilder = queryExecutorBuilder.acceptHeader(acceptHeader);
+                    }
+
+                    if (deadline != null) {
+                        queryExecutorBuilder = queryExecutorBuilder.httpHeader(QueryDeadline.BUDGET_HEADER, deadline.getBudget(budgetMargin));
+                    }
+
+                    if (context.isDefined(AUTH_KEY_SYMBOL)) {
+                        String authKeyProp = context.get(AUTH_KEY_SYMBOL);
+                        monitor.debug(String.format("About to use authentication header %s on http target %s", authKeyProp, endpointUrl));
+                        String authCodeProp = context.get(AUTH_CODE_SYMBOL);
+                        queryExecutorBuilder = queryExecutorBuilder.httpHeader(authKeyProp, authCodeProp);
+                    }
+
+                    try (QueryExecutor qExec = queryExecutorBuilder.build()) {
+                        // Detach from the network stream.
+                        List<Binding> selected = new ArrayList<>();
+                        qExec.select().forEachRemaining(selected::add);
+                        return selected;
+                    }
+                });
+                statistics.recordCall(serviceTarget, FederationStatistics.getPredicates(opOriginal.getSubOp()), shippedBindings, results.size());
+                if (countWarnings(context) == warningCount) {
+                    // only complete results are cached
+                    cache.put(cacheKey, results);
                 }
+                QueryIterator queryIterator = QueryIterPlainWrapper.create(results.iterator());
+                queryIterator = QueryIter.makeTracked(queryIterator, execCxt);
+                return new QueryIterJoin(queryIterator, newBindings, idVar, execCxt);
             } catch (RuntimeException ex) {
                 if (silent) {
                     Log.warn(this, "SERVICE " + serviceUrl + " : " + ex.getMessage());
@@ -535,38 +638,79 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
                 }
                 parameterSet.getRows().addAll(resultingBindings.values());
                 parameterSet.reset();
-                long timeoutMillis = config.getReadTimeout();
-                HttpClient httpClient = chooseHttpClient(serviceUrl, context);
-
+                long shippedBindings = neededVars.values().stream().anyMatch(Node::isVariable) ? resultingBindings.size() : 0;
+                long timeoutMillis = deadline == null ? config.getReadTimeout() : deadline.trim(config.getReadTimeout());
                 String bindingSet = ResultSetMgr.asString(parameterSet, ResultSetLang.RS_JSON);
-                HttpRequest.Builder skillRequest = HttpRequest.newBuilder()
-                        .uri(new URI(serviceUrl))
-                        .header("Content-Type", WebContent.contentTypeResultsJSON)
-                        .timeout(Duration.ofMillis(timeoutMillis))
-                        .header("Accept", WebContent.contentTypeResultsJSON)
-                        .POST(HttpRequest.BodyPublishers.ofString(bindingSet));
-
-                if (context.isDefined(AUTH_KEY_SYMBOL)) {
-                    String authKeyProp = context.get(AUTH_KEY_SYMBOL);
-                    monitor.debug(String.format("About to use authentication header %s on http target %s", authKeyProp, serviceUrl));
-                    String authCodeProp = context.get(AUTH_CODE_SYMBOL);
-                    skillRequest = skillRequest.header(authKeyProp, authCodeProp);
-                }
 
-                HttpResponse<InputStream> remoteCall = httpClient.send(skillRequest.build(), HttpResponse.BodyHandlers.ofInputStream());
-                if (remoteCall.statusCode() >= 200 && remoteCall.statusCode() < 300) {
-                    ResultSet result = ResultSetMgr.read(remoteCall.body(), ResultSetLang.RS_JSON);
-                    RowSet rowSet = new RowSetAdapter(result);
-                    QueryIterator queryIterator = QueryIterPlainWrapper.create(rowSet);
+                FederationCache.Key cacheKey = cacheable ? new FederationCache.Key(callTarget, bindingSet) : null;
+                List<Binding> cachedResults = cache.get(cacheKey);
+                if (cachedResults != null) {
+                    monitor.debug(String.format("Using cached results for skill %s", callTarget));
+                    QueryIterator queryIterator = QueryIterPlainWrapper.create(cachedResults.iterator());
                     queryIterator = QueryIter.makeTracked(queryIterator, execCxt);
                     return new QueryIterJoin(queryIterator, newBindings, idVar, execCxt);
-                } else {
-                    Log.warn(this, "SERVICE " + serviceUrl + " resulted in status code " + remoteCall.statusCode());
-                    remoteCall.body().close();
-                    // Return the input
-                    return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
                 }
-            } catch (URISyntaxException | IOException | InterruptedException | RuntimeException ex) {
+
+                String resultsAccept = chooseResultsAccept(serviceUrl, context, WebContent.contentTypeResultsJSON);
+                String acceptEncoding = chooseAcceptEncoding(serviceUrl, context);
+                if (!breaker.allow(callTarget)) {
+                    return createFailFastExecution(serviceTarget, String.format("Circuit of target %s is open: Result may be partial.", callTarget), bindings, silent, execCxt);
+                }
+                int warningCount = countWarnings(context);
+                List<Binding> results = executeHedged(callTarget, endpoints, context, (endpointUrl, attemptCancellation) -> {
+                    HttpRequest.Builder skillRequest = HttpRequest.newBuilder()
+                            .uri(new URI(endpointUrl))
+                            .header("Content-Type", WebContent.contentTypeResultsJSON)
+                            .timeout(Duration.ofMillis(timeoutMillis))
+                            .header("Accept", resultsAccept)
+                            .header("Accept-Encoding", acceptEncoding)
+                            .POST(HttpRequest.BodyPublishers.ofString(bindingSet));
+
+                    if (deadline != null) {
+                        skillRequest = skillRequest.header(QueryDeadline.BUDGET_HEADER, deadline.getBudget(budgetMargin));
+                    }
+
+                    if (context.isDefined(AUTH_KEY_SYMBOL)) {
+                        String authKeyProp = context.get(AUTH_KEY_SYMBOL);
+                        monitor.debug(String.format("About to use authentication header %s on http target %s", authKeyProp, endpointUrl));
+                        String authCodeProp = context.get(AUTH_CODE_SYMBOL);
+                        skillRequest = skillRequest.header(authKeyProp, authCodeProp);
+                    }
+
+                    HttpClient httpClient = chooseHttpClient(endpointUrl, context, attemptCancellation);
+                    HttpResponse<InputStream> remoteCall = httpClient.send(skillRequest.build(), HttpResponse.BodyHandlers.ofInputStream());
+                    if (remoteCall.statusCode() >= 200 && remoteCall.statusCode() < 300) {
+                        Lang resultLang = remoteCall.headers().firstValue("Content-Type")
+                                .map(contentType -> WebContent.contentTypeToLangResultSet(contentType.split(";")[0].trim()))
+                                .orElse(ResultSetLang.RS_JSON);
+                        if (resultLang == null) {
+                            resultLang = ResultSetLang.RS_JSON;
+                        }
+                        // closing the body also releases the call from the query cancellation
+                        try (InputStream body = HttpUtils.decode(remoteCall.body(), remoteCall.headers().firstValue("Content-Encoding").orElse(null))) {
+                            ResultSet result = ResultSetMgr.read(body, resultLang);
+                            List<Binding> skillResults = new ArrayList<>();
+                            new RowSetAdapter(result).forEachRemaining(skillResults::add);
+                            return skillResults;
+                        }
+                    } else {
+                        remoteCall.body().close();
+                        throw new SkillStatusException(endpointUrl, remoteCall.statusCode());
+                    }
+                });
+                statistics.recordCall(serviceTarget, FederationStatistics.getPredicates(opOriginal.getSubOp()), shippedBindings, results.size());
+                if (countWarnings(context) == warningCount) {
+                    // only complete results are cached
+                    cache.put(cacheKey, results);
+                }
+                QueryIterator queryIterator = QueryIterPlainWrapper.create(results.iterator());
+                queryIterator = QueryIter.makeTracked(queryIterator, execCxt);
+                return new QueryIterJoin(queryIterator, newBindings, idVar, execCxt);
+            } catch (SkillStatusException ex) {
+                Log.warn(this, "SERVICE " + ex.getEndpoint() + " resulted in status code " + ex.getStatusCode());
+                // Return the input
+                return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
+            } catch (RuntimeException ex) {
                 if (silent) {
                     Log.warn(this, "SERVICE " + serviceUrl + " : " + ex.getMessage());
                     // Return the input
@@ -577,6 +721,260 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
         }
     }
 
+    /**
+     * fans out a service call which addresses several graph assets, i.e., splits the
+     * delegated operator into per-asset parts (which have to be combined by a union or
+     * by a join), negotiates and executes the parts concurrently and merges their results locally.
+     * Failing parts are reported as warnings on the respective asset.
+     *
+     * @param opOriginal the service operator (with graph names already resolved)
+     * @param serviceUrl uri of the target connector
+     * @param boundVars  a set of all bound variables
+     * @param bindings   the current bindings
+     * @param execCxt    the execution context
+     * @return merged results
+     */
+    protected QueryIterator createFanOutExecution(OpService opOriginal, String serviceUrl, Set<String> boundVars, List<Binding> bindings, ExecutionContext execCxt) {
+        // pushed operators are applied locally anyway
+        Op subOp = OptimizePushDownStrategy.resolve(opOriginal.getSubOp(), false, false);
+        ExprList filters = null;
+        if (subOp instanceof OpFilter) {
+            // filters spanning several assets are applied locally
+            filters = ((OpFilter) subOp).getExprs();
+            subOp = ((OpFilter) subOp).getSubOp();
+        }
+        boolean union = subOp instanceof OpUnion;
+        List<Op> parts = new ArrayList<>();
+        collectFanOutParts(subOp, union, parts);
+        Map<String, Op> assetOps = new LinkedHashMap<>();
+        for (Op part : parts) {
+            GraphRewriteVisitor grv = new GraphRewriteVisitor();
+            GraphRewrite gr = new GraphRewrite(monitor, bindings, grv);
+            Transformer.transform(gr, part, grv, null);
+            if (gr.getGraphNames().size() != 1) {
+                throw new QueryExecException(String.format("Could not split the graph assets under EDC-based service %s into separate calls, please rewrite your query.", serviceUrl));
+            }
+            assetOps.merge(gr.getGraphNames().iterator().next(), part, union ? OpUnion::create : OpJoin::create);
+        }
+        monitor.info(String.format("About to fan out edc target %s to assets %s", serviceUrl, assetOps.keySet()));
+
+        // tag the input bindings such that the parts can be joined per input binding
+        Var fanOutVar = Var.alloc("fanout" + Math.abs(subOp.hashCode()));
+        List<Binding> taggedBindings = new ArrayList<>();
+        for (Binding binding : bindings) {
+            taggedBindings.add(BindingBuilder.create(binding).add(fanOutVar, NodeFactory.createLiteral(String.valueOf(taggedBindings.size()))).build());
+        }
+        Set<String> taggedVars = new HashSet<>(boundVars);
+        taggedVars.add(fanOutVar.getVarName());
+
+        // each part negotiates with its own authentication but shares the warnings
+        Context context = execCxt.getContext();
+        List<CatenaxWarning> warnings = CatenaxWarning.getOrSetWarnings(context);
+        QueryCancellation cancellation = QueryCancellation.getOrSet(context);
+        List<FutureTask<List<Binding>>> tasks = new CopyOnWriteArrayList<>();
+        Runnable abort = cancellation.register(() -> tasks.forEach(task -> task.cancel(true)));
+        for (Op assetOp : assetOps.values()) {
+            OpService assetService = new OpService(opOriginal.getService(), assetOp, opOriginal.getSilent());
+            ExecutionContext partCxt = OpParallel.branchContext(execCxt);
+            FutureTask<List<Binding>> task = new FutureTask<>(() -> {
+                List<Binding> result = new ArrayList<>();
+                QueryIterator iterator = createExecution(assetService, serviceUrl, taggedVars, taggedBindings, partCxt);
+                try {
+                    iterator.forEachRemaining(result::add);
+                } finally {
+                    iterator.close();
+                }
+                return result;
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        List<List<Binding>> results = new ArrayList<>();
+        Iterator<String> assets = assetOps.keySet().iterator();
+        try {
+            for (FutureTask<List<Binding>> task : tasks) {
+                String asset = assets.next();
+                // run the part ourselves if it has not been started yet
+                task.run();
+                try {
+                    results.add(task.get());
+                } catch (CancellationException e) {
+                    cancellation.check();
+                    throw e;
+                } catch (ExecutionException e) {
+                    CatenaxWarning newWarning = new CatenaxWarning();
+                    newWarning.setSourceTenant(config.getControlPlaneManagementUrl());
+                    newWarning.setSourceAsset(config.getDefaultAsset());
+                    newWarning.setTargetTenant(serviceUrl);
+                    newWarning.setTargetAsset(asset);
+                    newWarning.setContext(String.valueOf(context.hashCode()));
+                    newWarning.setProblem(String.format("Failure invoking graph asset %s: Result may be partial.", asset));
+                    warnings.add(newWarning);
+                    monitor.warning(String.format("Produced warning %s for context %s", newWarning, context), e.getCause());
+                    results.add(List.of());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryCancelledException();
+        } finally {
+            cancellation.unregister(abort);
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        // merge the results
+        List<Binding> merged;
+        if (union) {
+            merged = OpParallel.concat(results);
+        } else {
+            merged = results.get(0);
+            Set<Var> vars = new HashSet<>(OpVars.visibleVars(assetOps.values().iterator().next()));
+            Iterator<Op> partOps = assetOps.values().iterator();
+            partOps.next();
+            for (int count = 1; count < results.size(); count++) {
+                Set<Var> partVars = OpVars.visibleVars(partOps.next());
+                List<Var> keys = new ArrayList<>(partVars);
+                keys.retainAll(vars);
+                keys.add(fanOutVar);
+                merged = OpParallel.hashJoin(merged, results.get(count), keys);
+                vars.addAll(partVars);
+            }
+        }
+        List<Binding> finalBindings = new ArrayList<>();
+        for (Binding binding : merged) {
+            if (filters == null || filters.isSatisfied(binding, execCxt)) {
+                BindingBuilder bb = BindingBuilder.create();
+                binding.forEach((var, node) -> {
+                    if (!fanOutVar.equals(var)) {
+                        bb.add(var, node);
+                    }
+                });
+                finalBindings.add(bb.build());
+            }
+        }
+        return QueryIterPlainWrapper.create(finalBindings.iterator(), execCxt);
+    }
+
+    /**
+     * cater for the EDC public api slash problem
+     *
+     * @param endpoint endpoint of a data plane
+     * @param params   query parameters of the service, may be null
+     * @return url to call
+     */
+    protected String getEndpointUrl(String endpoint, String params) {
+        String endpointUrl = endpoint;
+        if (!endpointUrl.endsWith("/")) {
+            endpointUrl = endpointUrl + "/";
+        }
+        if (params != null) {
+            endpointUrl = endpointUrl + "?" + params;
+        }
+        return endpointUrl;
+    }
+
+    /**
+     * performs a (hedged) call against the endpoints of a target
+     * and reports its outcome to the circuit breaker of the target
+     *
+     * @param target    call target
+     * @param endpoints endpoints of the target, the preferred one first
+     * @param context   query context
+     * @param attempt   the call
+     * @param <T>       type of the result
+     * @return result of the first successful call
+     */
+    protected <T> T executeHedged(String target, List<String> endpoints, Context context, FederationHedging.Attempt<T> attempt) {
+        QueryCancellation cancellation = QueryCancellation.get(context);
+        try {
+            T result = hedging.execute(target, endpoints, cancellation, attempt);
+            breaker.recordSuccess(target);
+            return result;
+        } catch (RuntimeException e) {
+            recordFailure(target, cancellation);
+            throw e;
+        } catch (Exception e) {
+            recordFailure(target, cancellation);
+            throw new QueryExecException(String.format("Could not invoke target %s", target), e);
+        } finally {
+            // a cancelled call must not keep a half-open circuit in probing state
+            breaker.release(target);
+        }
+    }
+
+    /**
+     * reports a failed call to the circuit breaker of the target
+     * (unless the call has been aborted by the query itself)
+     *
+     * @param target       call target
+     * @param cancellation cancellation of the query, may be null
+     */
+    protected void recordFailure(String target, QueryCancellation cancellation) {
+        if (cancellation == null || !cancellation.isCancelled()) {
+            breaker.recordFailure(target);
+        }
+    }
+
+    /**
+     * fails fast on a call which cannot be finished within the budget of the query
+     * or which targets a partner whose circuit is open
+     *
+     * @param serviceUrl uri of the target service
+     * @param problem    description of the warning
+     * @param bindings   the current bindings
+     * @param silent     whether the service is silent
+     * @param execCxt    the execution context
+     * @return the input bindings if silent, otherwise no results
+     */
+    protected QueryIterator createFailFastExecution(String serviceUrl, String problem, List<Binding> bindings, boolean silent, ExecutionContext execCxt) {
+        Context context = execCxt.getContext();
+        CatenaxWarning newWarning = new CatenaxWarning();
+        newWarning.setSourceTenant(config.getControlPlaneManagementUrl());
+        newWarning.setSourceAsset(config.getDefaultAsset());
+        newWarning.setTargetTenant(serviceUrl);
+        newWarning.setTargetAsset(serviceUrl);
+        newWarning.setContext(String.valueOf(context.hashCode()));
+        newWarning.setProblem(problem);
+        CatenaxWarning.getOrSetWarnings(context).add(newWarning);
+        monitor.warning(String.format("Produced warning %s for context %s", newWarning, context));
+        if (silent) {
+            return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
+        }
+        return QueryIterPlainWrapper.create(List.<Binding>of().iterator(), execCxt);
+    }
+
+    /**
+     * collects the parts of a union or join tree
+     *
+     * @param op    operator to split
+     * @param union whether a union (or a join) is split
+     * @param parts list of parts to add to
+     */
+    protected void collectFanOutParts(Op op, boolean union, List<Op> parts) {
+        if (union && op instanceof OpUnion) {
+            collectFanOutParts(((OpUnion) op).getLeft(), true, parts);
+            collectFanOutParts(((OpUnion) op).getRight(), true, parts);
+        } else if (!union && op instanceof OpJoin) {
+            collectFanOutParts(((OpJoin) op).getLeft(), false, parts);
+            collectFanOutParts(((OpJoin) op).getRight(), false, parts);
+        } else if (!union && op instanceof OpSequence) {
+            ((OpSequence) op).getElements().forEach(element -> collectFanOutParts(element, false, parts));
+        } else {
+            parts.add(op);
+        }
+    }
+
+    /**
+     * counts the warnings collected so far
+     *
+     * @param context query context
+     * @return number of warnings
+     */
+    protected static int countWarnings(Context context) {
+        List<CatenaxWarning> warnings = CatenaxWarning.getWarnings(context);
+        return warnings == null ? 0 : warnings.size();
+    }
+
     /**
      * choose an appropriate client
      *
@@ -585,12 +983,61 @@ public class DataspaceServiceExecutor implements ServiceExecutor, ChainingServic
      * @return http client
      */
     protected HttpClient chooseHttpClient(String serviceUrl, Context context) {
+        return chooseHttpClient(serviceUrl, context, QueryCancellation.get(context));
+    }
+
+    /**
+     * choose an appropriate client for a single call
+     *
+     * @param serviceUrl   target url
+     * @param context      query context
+     * @param cancellation aborts the call, may be null
+     * @return http client
+     */
+    protected HttpClient chooseHttpClient(String serviceUrl, Context context, QueryCancellation cancellation) {
         if (context == null) {
             monitor.warning(String.format("Context is null when obtaining http client for %s", serviceUrl));
         }
+        if (client instanceof HttpClientAdapter) {
+            // calls are aborted as soon as the query is cancelled or runs out of time
+            return ((HttpClientAdapter) client).forQuery(cancellation, QueryDeadline.get(context));
+        }
         return client;
     }
 
+    /**
+     * choose the result formats to accept from the target. Agents
+     * will answer in the binary format, all others fall back to json.
+     * Binary results can be disabled per target url (deny pattern) and per query (context).
+     *
+     * @param serviceUrl target url
+     * @param context    query context
+     * @param dftValue   the format to accept if binary results are disabled for the target
+     * @return value of the Accept header
+     */
+    protected String chooseResultsAccept(String serviceUrl, Context context, String dftValue) {
+        if (config.isFederationBinaryResults() && (context == null || context.isTrueOrUndef(BINARY_RESULTS_SYMBOL)) &&
+                !config.getFederationBinaryResultsDenyPattern().matcher(serviceUrl).matches()) {
+            return BINARY_RESULTS_ACCEPT;
+        }
+        return dftValue;
+    }
+
+    /**
+     * choose the content encodings to request from the target
+     *
+     * @param serviceUrl target url
+     * @param context    query context
+     * @return value of the Accept-Encoding header, identity if compression is disabled for the target
+     */
+    protected String chooseAcceptEncoding(String serviceUrl, Context context) {
+        if (config.isHttpCompression() && (context == null || context.isTrueOrUndef(COMPRESSION_SYMBOL)) &&
+                !config.getHttpCompressionDenyPattern().matcher(serviceUrl).matches()) {
+            return config.getHttpCompressionEncodings();
+        }
+        return "identity";
+    }
+
     /**
      * choose an appropriate send mode
      *
@@ -0,0 +1,219 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.eclipse.tractusx.agents.AgentConfig;
+import org.eclipse.tractusx.agents.utils.Monitor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * an (opt-in) cache for the results of federated calls. Entries are keyed by
+ * the target asset and the normalized remote request (which includes the table
+ * of input bindings), expire after a configurable time and are bounded by
+ * their estimated heap size. Assets may opt out by setting the
+ * cacheable property to false.
+ */
+public class FederationCache {
+
+    /**
+     * asset property to opt out of caching
+     */
+    public static final String CACHEABLE_PROPERTY = "https://w3id.org/catenax/ontology/common#cacheable";
+
+    /**
+     * the key of a cached result
+     */
+    public static class Key {
+        protected final String target;
+        protected final String request;
+
+        /**
+         * creates a new key
+         *
+         * @param target  target asset
+         * @param request normalized remote request including the input bindings
+         */
+        public Key(String target, String request) {
+            this.target = target;
+            this.request = request;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            return target.equals(((Key) other).target) && request.equals(((Key) other).request);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(target, request);
+        }
+    }
+
+    protected final AgentConfig config;
+    protected final Monitor monitor;
+    protected final Cache<Key, List<Binding>> cache;
+
+    /**
+     * creates a new cache
+     *
+     * @param config  agent config
+     * @param monitor logging facility
+     */
+    public FederationCache(AgentConfig config, Monitor monitor) {
+        this.config = config;
+        this.monitor = monitor;
+        if (config.isFederationCache()) {
+            this.cache = Caffeine.newBuilder()
+                    .expireAfterWrite(config.getFederationCacheTtl(), TimeUnit.MILLISECONDS)
+                    .maximumWeight(config.getFederationCacheSize())
+                    .weigher(FederationCache::weigh)
+                    .recordStats()
+                    .build();
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * estimates the heap size of a cached result
+     *
+     * @param key      key of the result
+     * @param bindings the result
+     * @return estimated size in bytes
+     */
+    protected static int weigh(Key key, List<Binding> bindings) {
+        long size = 64L + 2L * (key.target.length() + key.request.length());
+        for (Binding binding : bindings) {
+            size += 32;
+            Iterator<Var> vars = binding.vars();
+            while (vars.hasNext()) {
+                Var var = vars.next();
+                size += 48L + 2L * var.getVarName().length() + 2L * String.valueOf(binding.get(var)).length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * access
+     *
+     * @return whether caching is switched on
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * checks whether an asset allows caching
+     *
+     * @param assetProperties properties of the asset, may be null
+     * @return whether results of the asset may be cached
+     */
+    public boolean isCacheable(Map<String, Object> assetProperties) {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (assetProperties == null) {
+            return true;
+        }
+        return !"false".equalsIgnoreCase(String.valueOf(assetProperties.getOrDefault(CACHEABLE_PROPERTY, "true")));
+    }
+
+    /**
+     * lookup a result
+     *
+     * @param key key of the result, may be null
+     * @return cached result, null if not present
+     */
+    public List<Binding> get(Key key) {
+        if (key == null || cache == null) {
+            return null;
+        }
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * stores a result
+     *
+     * @param key      key of the result, may be null
+     * @param bindings the result
+     */
+    public void put(Key key, List<Binding> bindings) {
+        if (key != null && cache != null) {
+            cache.put(key, List.copyOf(bindings));
+        }
+    }
+
+    /**
+     * access
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        if (cache != null) {
+            CacheStats stats = cache.stats();
+            statistics.put("entries", cache.estimatedSize());
+            statistics.put("hits", stats.hitCount());
+            statistics.put("misses", stats.missCount());
+            statistics.put("hitRatio", stats.hitRate());
+            statistics.put("evictions", stats.evictionCount());
+            statistics.put("evictedWeight", stats.evictionWeight());
+        }
+        return statistics;
+    }
+
+    /**
+     * schedules the logging of statistics (if configured)
+     *
+     * @param executorService scheduler to use
+     */
+    public void start(ScheduledExecutorService executorService) {
+        long interval = config.getFederationCacheStatisticsInterval();
+        if (cache != null && interval > 0) {
+            executorService.scheduleAtFixedRate(() -> monitor.info(String.format("Federation cache statistics %s", getStatistics())),
+                    interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * drops all cached results
+     */
+    public void invalidate() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.eclipse.tractusx.agents.AgentConfig;
+import org.eclipse.tractusx.agents.utils.Monitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * circuit breakers for remote partners, keyed by connector url or by call target (connector and asset).
+ * A breaker opens after a number of consecutive failures such that further calls fail fast.
+ * After the open period, the breaker is either probed in the background (if a probe has been given)
+ * or lets a single call through (half-open) whose outcome closes or re-opens the breaker.
+ */
+public class FederationCircuitBreaker {
+
+    /**
+     * the states of a breaker
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * the state of a single breaker
+     */
+    protected static class Breaker {
+        protected State state = State.CLOSED;
+        protected int failures = 0;
+        protected long openUntil = 0;
+        protected boolean probing = false;
+    }
+
+    protected final AgentConfig config;
+    protected final Monitor monitor;
+    protected final ScheduledExecutorService scheduler;
+    protected final ExecutorService executor;
+    protected final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * creates a new set of circuit breakers
+     *
+     * @param config    agent config
+     * @param monitor   logging facility
+     * @param scheduler timer for background probes, may be null (no background probes)
+     * @param executor  executor to run background probes on (separate from the scheduler,
+     *                  such that blocking probes do not delay other timers), may be null (no background probes)
+     */
+    public FederationCircuitBreaker(AgentConfig config, Monitor monitor, ScheduledExecutorService scheduler, ExecutorService executor) {
+        this.config = config;
+        this.monitor = monitor;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * checks whether a call may be made. The caller must report the outcome of
+     * an allowed call by recordSuccess or recordFailure and finally release it.
+     *
+     * @param key connector url or call target
+     * @return whether the call may be made
+     */
+    public boolean allow(String key) {
+        if (!config.isFederationBreaker()) {
+            return true;
+        }
+        Breaker breaker = breakers.get(key);
+        if (breaker == null) {
+            return true;
+        }
+        synchronized (breaker) {
+            switch (breaker.state) {
+                case OPEN:
+                    if (breaker.probing || System.currentTimeMillis() < breaker.openUntil) {
+                        return false;
+                    }
+                    // let this call probe the partner
+                    breaker.state = State.HALF_OPEN;
+                    breaker.probing = true;
+                    monitor.info(String.format("Circuit for %s is half-open.", key));
+                    return true;
+                case HALF_OPEN:
+                    return !breaker.probing;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    /**
+     * checks whether calls would fail fast (without changing the state)
+     *
+     * @param key connector url or call target
+     * @return whether the breaker is open
+     */
+    public boolean isOpen(String key) {
+        if (!config.isFederationBreaker()) {
+            return false;
+        }
+        Breaker breaker = breakers.get(key);
+        if (breaker == null) {
+            return false;
+        }
+        synchronized (breaker) {
+            return breaker.state != State.CLOSED && (breaker.probing || System.currentTimeMillis() < breaker.openUntil);
+        }
+    }
+
+    /**
+     * access
+     *
+     * @param key connector url or call target
+     * @return current state of the breaker
+     */
+    public State getState(String key) {
+        Breaker breaker = breakers.get(key);
+        if (breaker == null) {
+            return State.CLOSED;
+        }
+        synchronized (breaker) {
+            return breaker.state;
+        }
+    }
+
+    /**
+     * reports a successful call
+     *
+     * @param key connector url or call target
+     */
+    public void recordSuccess(String key) {
+        Breaker breaker = breakers.get(key);
+        if (breaker != null) {
+            synchronized (breaker) {
+                if (breaker.state != State.CLOSED) {
+                    monitor.info(String.format("Circuit for %s is closed again.", key));
+                }
+                breaker.state = State.CLOSED;
+                breaker.failures = 0;
+                breaker.probing = false;
+            }
+        }
+    }
+
+    /**
+     * releases an allowed call, must be invoked after the outcome has been reported.
+     * If no outcome has been reported for a call which probes a half-open breaker
+     * (e.g., because the query has been cancelled), the breaker is opened again
+     * such that the next call after the open period probes the partner.
+     *
+     * @param key connector url or call target
+     */
+    public void release(String key) {
+        Breaker breaker = breakers.get(key);
+        if (breaker != null) {
+            synchronized (breaker) {
+                if (breaker.state == State.HALF_OPEN && breaker.probing) {
+                    breaker.state = State.OPEN;
+                    breaker.probing = false;
+                    breaker.openUntil = System.currentTimeMillis() + config.getFederationBreakerOpenTime();
+                }
+            }
+        }
+    }
+
+    /**
+     * reports a failed call
+     *
+     * @param key connector url or call target
+     */
+    public void recordFailure(String key) {
+        recordFailure(key, null);
+    }
+
+    /**
+     * reports a failed call
+     *
+     * @param key   connector url or call target
+     * @param probe a background check of the partner (which throws if it is still down and
+     *              which should not block longer than the configured probe timeout), may be null
+     */
+    public void recordFailure(String key, Callable<?> probe) {
+        if (!config.isFederationBreaker()) {
+            return;
+        }
+        Breaker breaker = breakers.computeIfAbsent(key, k -> new Breaker());
+        boolean scheduleProbe;
+        synchronized (breaker) {
+            breaker.failures++;
+            breaker.probing = false;
+            if (breaker.state != State.HALF_OPEN && breaker.failures < config.getFederationBreakerFailures()) {
+                return;
+            }
+            if (breaker.state != State.OPEN) {
+                monitor.warning(String.format("Circuit for %s is open after %d consecutive failures.", key, breaker.failures));
+            }
+            breaker.state = State.OPEN;
+            breaker.openUntil = System.currentTimeMillis() + config.getFederationBreakerOpenTime();
+            scheduleProbe = probe != null && scheduler != null && executor != null;
+            if (scheduleProbe) {
+                // the background probe takes the half-open role
+                breaker.probing = true;
+            }
+        }
+        if (scheduleProbe) {
+            // the scheduler only fires the timer, the blocking probe runs on the executor
+            scheduler.schedule(() -> executor.execute(() -> runProbe(key, probe)), config.getFederationBreakerOpenTime(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * probes an open breaker in the background
+     *
+     * @param key   connector url or call target
+     * @param probe the check of the partner
+     */
+    protected void runProbe(String key, Callable<?> probe) {
+        try {
+            probe.call();
+            recordSuccess(key);
+        } catch (Exception e) {
+            monitor.debug(String.format("Probe of circuit %s failed: %s", key, e.getMessage()));
+            recordFailure(key, probe);
+        }
+    }
+
+    /**
+     * access
+     *
+     * @return a snapshot of all breakers which are not closed
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        breakers.forEach((key, breaker) -> {
+            synchronized (breaker) {
+                if (breaker.state != State.CLOSED) {
+                    Map<String, Object> breakerStatistics = new LinkedHashMap<>();
+                    breakerStatistics.put("state", breaker.state);
+                    breakerStatistics.put("failures", breaker.failures);
+                    breakerStatistics.put("openUntil", breaker.openUntil);
+                    statistics.put(key, breakerStatistics);
+                }
+            }
+        });
+        return statistics;
+    }
+}
@@ -0,0 +1,340 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.eclipse.tractusx.agents.AgentConfig;
+import org.eclipse.tractusx.agents.utils.Monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * hedges idempotent federated calls (graph selects and skill invocations) across
+ * the alternative endpoints (data planes) which an asset advertises. If the primary
+ * endpoint has not answered after a configurable percentile of the observed latencies
+ * of the target, the call is repeated against the next endpoint and the first answer wins
+ * (the other call is aborted). Endpoints which fail are skipped in favour of the remaining ones.
+ */
+public class FederationHedging {
+
+    /**
+     * asset property listing (comma-separated) alternative endpoints
+     */
+    public static final String ALTERNATIVE_ENDPOINTS_PROPERTY = "https://w3id.org/catenax/ontology/common#alternativeEndpoints";
+
+    /**
+     * a single call to an endpoint
+     *
+     * @param <T> type of the result
+     */
+    public interface Attempt<T> {
+        /**
+         * performs the call
+         *
+         * @param endpoint     the endpoint to call
+         * @param cancellation aborts the call if the other attempt has won
+         * @return result of the call
+         * @throws Exception in case the call failed
+         */
+        T call(String endpoint, QueryCancellation cancellation) throws Exception;
+    }
+
+    /**
+     * a histogram of call latencies with logarithmic buckets
+     * (four buckets per power of two milliseconds)
+     */
+    protected static class LatencyHistogram {
+        protected static final int BUCKETS = 128;
+        protected final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        /**
+         * computes the bucket of a latency
+         *
+         * @param millis latency
+         * @return bucket index
+         */
+        protected static int getBucket(long millis) {
+            if (millis <= 1) {
+                return 0;
+            }
+            return (int) Math.min(BUCKETS - 1, Math.round(4 * Math.log(millis) / Math.log(2)));
+        }
+
+        /**
+         * computes the upper latency of a bucket
+         *
+         * @param bucket bucket index
+         * @return latency in milliseconds
+         */
+        protected static long getLatency(int bucket) {
+            return (long) Math.ceil(Math.pow(2, (bucket + 0.5) / 4));
+        }
+
+        /**
+         * records a new observation
+         *
+         * @param millis latency
+         */
+        protected void record(long millis) {
+            counts.incrementAndGet(getBucket(millis));
+        }
+
+        /**
+         * access
+         *
+         * @return number of observations
+         */
+        protected long getCount() {
+            long count = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                count += counts.get(bucket);
+            }
+            return count;
+        }
+
+        /**
+         * computes a percentile
+         *
+         * @param percentile the percentile (0-100)
+         * @return latency in milliseconds below which the given share of calls finished
+         */
+        protected long getPercentile(int percentile) {
+            long count = getCount();
+            long threshold = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += counts.get(bucket);
+                if (seen >= threshold && seen > 0) {
+                    return getLatency(bucket);
+                }
+            }
+            return getLatency(BUCKETS - 1);
+        }
+    }
+
+    protected final AgentConfig config;
+    protected final Monitor monitor;
+    protected final ScheduledExecutorService scheduler;
+    protected final ExecutorService executor;
+    protected final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * creates a new hedging facility
+     *
+     * @param config    agent config
+     * @param monitor   logging facility
+     * @param scheduler timer for starting hedged calls, may be null (only failover)
+     * @param executor  executor to run hedged calls on (separate from the scheduler,
+     *                  such that blocking calls do not delay other timers), may be null (only failover)
+     */
+    public FederationHedging(AgentConfig config, Monitor monitor, ScheduledExecutorService scheduler, ExecutorService executor) {
+        this.config = config;
+        this.monitor = monitor;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * collects the endpoints of an asset
+     *
+     * @param endpoint        the negotiated endpoint
+     * @param assetProperties properties of the asset
+     * @return list of endpoints, the negotiated one first
+     */
+    public static List<String> getEndpoints(String endpoint, Map<String, Object> assetProperties) {
+        List<String> endpoints = new ArrayList<>();
+        endpoints.add(endpoint);
+        Object alternatives = assetProperties.get(ALTERNATIVE_ENDPOINTS_PROPERTY);
+        if (alternatives != null) {
+            for (String alternative : String.valueOf(alternatives).split(",")) {
+                alternative = alternative.trim();
+                if (!alternative.isEmpty() && !endpoints.contains(alternative)) {
+                    endpoints.add(alternative);
+                }
+            }
+        }
+        return endpoints;
+    }
+
+    /**
+     * records the latency of a call
+     *
+     * @param target call target
+     * @param millis latency
+     */
+    public void record(String target, long millis) {
+        histograms.computeIfAbsent(target, key -> new LatencyHistogram()).record(millis);
+    }
+
+    /**
+     * computes the time after which a call to the target is hedged
+     *
+     * @param target call target
+     * @return delay in milliseconds, negative if there is not enough evidence
+     */
+    public long getHedgeDelay(String target) {
+        LatencyHistogram histogram = histograms.get(target);
+        if (histogram == null || histogram.getCount() < config.getFederationHedgeSamples()) {
+            return -1;
+        }
+        return Math.max(config.getFederationHedgeMinDelay(), histogram.getPercentile(config.getFederationHedgePercentile()));
+    }
+
+    /**
+     * performs a hedged call
+     *
+     * @param target       call target (the asset)
+     * @param endpoints    endpoints of the target, the preferred one first
+     * @param cancellation cancellation of the query, may be null
+     * @param attempt      the call
+     * @param <T>          type of the result
+     * @return result of the first successful call
+     * @throws Exception the failure of the last endpoint
+     */
+    public <T> T execute(String target, List<String> endpoints, QueryCancellation cancellation, Attempt<T> attempt) throws Exception {
+        if (!config.isFederationHedge() || endpoints.size() == 1) {
+            return timed(target, endpoints.get(0), cancellation, attempt);
+        }
+        Exception failure = null;
+        int next = 0;
+        while (next < endpoints.size()) {
+            if (cancellation != null) {
+                cancellation.check();
+            }
+            String primary = endpoints.get(next++);
+            if (next == endpoints.size()) {
+                return timed(target, primary, cancellation, attempt);
+            }
+            String secondary = endpoints.get(next++);
+            try {
+                return hedge(target, primary, secondary, cancellation, attempt);
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                monitor.warning(String.format("Endpoints %s and %s of target %s failed, trying the next alternative.", primary, secondary, target), failure);
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * calls a primary endpoint and, if it is slow or fails, a secondary endpoint
+     *
+     * @param target       call target
+     * @param primary      preferred endpoint
+     * @param secondary    alternative endpoint
+     * @param cancellation cancellation of the query, may be null
+     * @param attempt      the call
+     * @param <T>          type of the result
+     * @return result of the first successful call
+     * @throws ExecutionException if both calls failed
+     */
+    protected <T> T hedge(String target, String primary, String secondary, QueryCancellation cancellation, Attempt<T> attempt) throws ExecutionException {
+        QueryCancellation primaryCancellation = new QueryCancellation();
+        QueryCancellation secondaryCancellation = new QueryCancellation();
+        List<Runnable> aborts = new ArrayList<>();
+        if (cancellation != null) {
+            aborts.add(cancellation.register(primaryCancellation::cancel));
+            aborts.add(cancellation.register(secondaryCancellation::cancel));
+        }
+        FutureTask<T> primaryTask = new FutureTask<>(() -> timed(target, primary, primaryCancellation, attempt));
+        FutureTask<T> secondaryTask = new FutureTask<>(() -> timed(target, secondary, secondaryCancellation, attempt));
+        ScheduledFuture<?> hedgeTimer = null;
+        long delay = getHedgeDelay(target);
+        if (scheduler != null && executor != null && delay >= 0) {
+            // the scheduler only fires the timer, the blocking call runs on the executor
+            hedgeTimer = scheduler.schedule(() -> executor.execute(() -> {
+                monitor.debug(String.format("Hedging call to %s after %d ms at %s", target, delay, secondary));
+                secondaryTask.run();
+                if (succeeded(secondaryTask)) {
+                    primaryCancellation.cancel();
+                }
+            }), delay, TimeUnit.MILLISECONDS);
+        }
+        try {
+            primaryTask.run();
+            if (succeeded(primaryTask)) {
+                secondaryCancellation.cancel();
+                secondaryTask.cancel(true);
+                return primaryTask.get();
+            }
+            if (cancellation != null) {
+                cancellation.check();
+            }
+            // failover (or wait for the hedged call which has already won)
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+            }
+            secondaryTask.run();
+            return secondaryTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        } finally {
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+            }
+            if (cancellation != null) {
+                aborts.forEach(cancellation::unregister);
+            }
+        }
+    }
+
+    /**
+     * performs a call and records its latency if it succeeds
+     *
+     * @param target       call target
+     * @param endpoint     endpoint to call
+     * @param cancellation cancellation of the call, may be null
+     * @param attempt      the call
+     * @param <T>          type of the result
+     * @return result of the call
+     * @throws Exception in case the call failed
+     */
+    protected <T> T timed(String target, String endpoint, QueryCancellation cancellation, Attempt<T> attempt) throws Exception {
+        long startTime = System.currentTimeMillis();
+        T result = attempt.call(endpoint, cancellation);
+        record(target, System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * checks whether a task has completed normally
+     *
+     * @param task the task
+     * @return whether a result is available
+     */
+    protected static boolean succeeded(FutureTask<?> task) {
+        if (!task.isDone() || task.isCancelled()) {
+            return false;
+        }
+        try {
+            task.get();
+            return true;
+        } catch (ExecutionException | InterruptedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.OpVisitorBase;
+import org.apache.jena.sparql.algebra.OpWalker;
+import org.apache.jena.sparql.algebra.op.OpBGP;
+import org.apache.jena.sparql.algebra.op.OpQuadPattern;
+import org.apache.jena.sparql.algebra.op.OpService;
+import org.apache.jena.sparql.algebra.op.OpTriple;
+import org.apache.jena.sparql.core.Quad;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * collects cardinality statistics about federated calls, i.e.,
+ * observed result counts per service target and per predicate as well as
+ * catalogue facts (number of offered assets per connector) from the dataspace
+ * synchronization. Used by the join planner to estimate service cardinalities.
+ * Unbound calls (which did not ship any bindings) yield the cardinality of a service,
+ * bound calls only yield the number of results per shipped binding.
+ */
+public class FederationStatistics {
+
+    /**
+     * weight of a new observation in the moving averages
+     */
+    public static final double SMOOTHING = 0.3;
+
+    /**
+     * moving averages of the results of unbound calls and
+     * of the results per binding of bound calls
+     */
+    protected static class Estimate {
+        protected long unboundCalls = 0;
+        protected double results = 0;
+        protected long boundCalls = 0;
+        protected double resultsPerBinding = 0;
+
+        /**
+         * records a new observation
+         *
+         * @param inputSize  number of distinct input bindings shipped, 0 if the call was unbound
+         * @param resultSize number of results obtained
+         */
+        protected synchronized void record(long inputSize, long resultSize) {
+            if (inputSize <= 0) {
+                results = unboundCalls == 0 ? resultSize : results * (1 - SMOOTHING) + resultSize * SMOOTHING;
+                unboundCalls++;
+            } else {
+                double perBinding = (double) resultSize / inputSize;
+                resultsPerBinding = boundCalls == 0 ? perBinding : resultsPerBinding * (1 - SMOOTHING) + perBinding * SMOOTHING;
+                boundCalls++;
+            }
+        }
+
+        /**
+         * access
+         *
+         * @return averaged number of results of unbound calls, empty if there was no such call
+         */
+        protected synchronized OptionalDouble getResults() {
+            return unboundCalls == 0 ? OptionalDouble.empty() : OptionalDouble.of(results);
+        }
+
+        /**
+         * access
+         *
+         * @return averaged number of results per binding of bound calls, empty if there was no such call
+         */
+        protected synchronized OptionalDouble getResultsPerBinding() {
+            return boundCalls == 0 ? OptionalDouble.empty() : OptionalDouble.of(resultsPerBinding);
+        }
+    }
+
+    protected final Map<String, Estimate> serviceEstimates = new ConcurrentHashMap<>();
+    protected final Map<String, Estimate> predicateEstimates = new ConcurrentHashMap<>();
+    protected final Map<String, Integer> catalogueAssets = new ConcurrentHashMap<>();
+
+    /**
+     * strips the asset part of a service target
+     *
+     * @param service target url (maybe including an asset)
+     * @return connector part of the url
+     */
+    public static String getConnector(String service) {
+        int hashIndex = service.indexOf('#');
+        if (hashIndex >= 0) {
+            return service.substring(0, hashIndex);
+        }
+        return service;
+    }
+
+    /**
+     * collects the constant predicates used in an operator
+     *
+     * @param op operator
+     * @return set of predicate uris
+     */
+    public static Set<String> getPredicates(Op op) {
+        Set<String> predicates = new HashSet<>();
+        OpWalker.walk(op, new OpVisitorBase() {
+            @Override
+            public void visit(OpBGP opBgp) {
+                opBgp.getPattern().forEach(this::addPredicate);
+            }
+
+            @Override
+            public void visit(OpTriple opTriple) {
+                addPredicate(opTriple.getTriple());
+            }
+
+            @Override
+            public void visit(OpQuadPattern quadPattern) {
+                for (Quad quad : quadPattern.getPattern()) {
+                    addPredicate(quad.asTriple());
+                }
+            }
+
+            protected void addPredicate(Triple triple) {
+                Node predicate = triple.getPredicate();
+                if (predicate.isURI()) {
+                    predicates.add(predicate.getURI());
+                }
+            }
+        });
+        return predicates;
+    }
+
+    /**
+     * records the outcome of a federated call
+     *
+     * @param service    target url
+     * @param predicates predicates of the delegated pattern
+     * @param inputSize  number of distinct input bindings shipped, 0 if the call was unbound
+     * @param resultSize number of results obtained
+     */
+    public void recordCall(String service, Collection<String> predicates, long inputSize, long resultSize) {
+        serviceEstimates.computeIfAbsent(service, key -> new Estimate()).record(inputSize, resultSize);
+        String connector = getConnector(service);
+        if (!connector.equals(service)) {
+            serviceEstimates.computeIfAbsent(connector, key -> new Estimate()).record(inputSize, resultSize);
+        }
+        for (String predicate : predicates) {
+            predicateEstimates.computeIfAbsent(predicate, key -> new Estimate()).record(inputSize, resultSize);
+        }
+    }
+
+    /**
+     * records catalogue facts of a synchronized connector
+     *
+     * @param connector connector url
+     * @param assets    number of offered assets
+     */
+    public void recordCatalogue(String connector, int assets) {
+        catalogueAssets.put(connector, assets);
+    }
+
+    /**
+     * estimate the cardinality of an unbound service operator
+     *
+     * @param opService service operator
+     * @return estimated number of results, empty if there is no evidence from unbound calls
+     */
+    public OptionalDouble estimate(OpService opService) {
+        Node serviceNode = opService.getService();
+        String service = serviceNode.isURI() ? serviceNode.getURI() : null;
+        return estimate(service, getPredicates(opService.getSubOp()));
+    }
+
+    /**
+     * estimate the cardinality of an unbound call
+     *
+     * @param service    target url, may be null if the target is only known at runtime
+     * @param predicates predicates of the delegated pattern
+     * @return estimated number of results, empty if there is no evidence from unbound calls
+     */
+    public OptionalDouble estimate(String service, Collection<String> predicates) {
+        if (service != null) {
+            Estimate estimate = serviceEstimates.get(service);
+            if (estimate == null) {
+                estimate = serviceEstimates.get(getConnector(service));
+            }
+            if (estimate != null && estimate.getResults().isPresent()) {
+                return estimate.getResults();
+            }
+        }
+        OptionalDouble predicateEstimate = predicates.stream()
+                .map(predicateEstimates::get)
+                .filter(estimate -> estimate != null && estimate.getResults().isPresent())
+                .mapToDouble(estimate -> estimate.getResults().getAsDouble())
+                .min();
+        if (predicateEstimate.isPresent() && service != null && service.indexOf('#') < 0) {
+            // a connector without an explicit asset will fan out to all its assets
+            int assets = catalogueAssets.getOrDefault(service, 1);
+            return OptionalDouble.of(predicateEstimate.getAsDouble() * Math.max(1, assets));
+        }
+        return predicateEstimate;
+    }
+
+    /**
+     * estimate the number of results per shipped binding of a service operator
+     *
+     * @param opService service operator
+     * @return estimated number of results per binding, empty if there is no evidence from bound calls
+     */
+    public OptionalDouble estimatePerBinding(OpService opService) {
+        Node serviceNode = opService.getService();
+        if (!serviceNode.isURI()) {
+            return OptionalDouble.empty();
+        }
+        Estimate estimate = serviceEstimates.get(serviceNode.getURI());
+        if (estimate == null) {
+            estimate = serviceEstimates.get(getConnector(serviceNode.getURI()));
+        }
+        return estimate != null ? estimate.getResultsPerBinding() : OptionalDouble.empty();
+    }
+}
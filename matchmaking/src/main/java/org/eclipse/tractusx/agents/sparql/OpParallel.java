@@ -0,0 +1,387 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.apache.jena.atlas.io.IndentedWriter;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.QueryCancelledException;
+import org.apache.jena.query.QueryExecException;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.OpVars;
+import org.apache.jena.sparql.algebra.Transform;
+import org.apache.jena.sparql.algebra.Transformer;
+import org.apache.jena.sparql.algebra.op.OpExt;
+import org.apache.jena.sparql.algebra.op.OpJoin;
+import org.apache.jena.sparql.algebra.op.OpUnion;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.ExecutionContext;
+import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.iterator.QueryIterPlainWrapper;
+import org.apache.jena.sparql.engine.iterator.QueryIterRepeatApply;
+import org.apache.jena.sparql.engine.main.QC;
+import org.apache.jena.sparql.exec.http.Service;
+import org.apache.jena.sparql.serializer.SerializationContext;
+import org.apache.jena.sparql.util.Context;
+import org.apache.jena.sparql.util.NodeIsomorphismMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+
+/**
+ * an operator which evaluates independent (federated) branches concurrently
+ * on the federation executor and combines their materialized results locally,
+ * either by a hash join or by a union.
+ * The first branch is always evaluated by the calling thread and branches which have
+ * not been picked up by the executor when they are needed are evaluated by the
+ * calling thread, too, so that a busy executor will never block the query.
+ */
+public class OpParallel extends OpExt {
+
+    public static final String TAG = "parallel";
+
+    protected final boolean union;
+    protected final List<Op> branches;
+    protected final ExecutorService executor;
+
+    /**
+     * creates a new parallel operator
+     *
+     * @param union    whether the branches are combined by a union (otherwise by a join)
+     * @param branches the independent branches
+     * @param executor the federation executor
+     */
+    public OpParallel(boolean union, List<Op> branches, ExecutorService executor) {
+        super(TAG);
+        this.union = union;
+        this.branches = branches;
+        this.executor = executor;
+    }
+
+    /**
+     * access
+     *
+     * @return whether the branches are combined by a union
+     */
+    public boolean isUnion() {
+        return union;
+    }
+
+    /**
+     * access
+     *
+     * @return the independent branches
+     */
+    public List<Op> getBranches() {
+        return branches;
+    }
+
+    /**
+     * access
+     *
+     * @return the federation executor
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * the sequential equivalent of this operator
+     *
+     * @return join or union of the branches
+     */
+    @Override
+    public Op effectiveOp() {
+        Op result = null;
+        for (Op branch : branches) {
+            if (result == null) {
+                result = branch;
+            } else if (union) {
+                result = OpUnion.create(result, branch);
+            } else {
+                result = OpJoin.create(result, branch);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * transformations are applied to the branches
+     *
+     * @param transform the transformation
+     * @return parallel operator over the transformed branches
+     */
+    @Override
+    public Op apply(Transform transform) {
+        List<Op> transformed = new ArrayList<>();
+        branches.forEach(branch -> transformed.add(Transformer.transform(transform, branch)));
+        return new OpParallel(union, transformed, executor);
+    }
+
+    @Override
+    public QueryIterator eval(QueryIterator input, ExecutionContext execCxt) {
+        // make sure that the private contexts of all branches share the same warnings
+        CatenaxWarning.getOrSetWarnings(execCxt.getContext());
+        return new QueryIterRepeatApply(input, execCxt) {
+            @Override
+            protected QueryIterator nextStage(Binding binding) {
+                List<List<Binding>> results = evalBranches(binding, getExecContext());
+                List<Binding> combined = union ? concat(results) : join(results);
+                return QueryIterPlainWrapper.create(combined.iterator(), getExecContext());
+            }
+
+            /**
+             * branches do not belong to the iterator tree, so they are aborted through the query
+             */
+            @Override
+            protected void requestSubCancel() {
+                QueryCancellation.getOrSet(getExecContext().getContext()).cancel();
+                super.requestSubCancel();
+            }
+        };
+    }
+
+    /**
+     * evaluates all branches under a given binding
+     *
+     * @param binding input binding
+     * @param execCxt execution context
+     * @return list of materialized branch results
+     */
+    protected List<List<Binding>> evalBranches(Binding binding, ExecutionContext execCxt) {
+        QueryCancellation cancellation = QueryCancellation.getOrSet(execCxt.getContext());
+        cancellation.check();
+        List<FutureTask<List<Binding>>> tasks = new CopyOnWriteArrayList<>();
+        Runnable abort = cancellation.register(() -> tasks.forEach(task -> task.cancel(true)));
+        for (Op branch : branches.subList(1, branches.size())) {
+            FutureTask<List<Binding>> task = new FutureTask<>(() -> materialize(branch, binding, execCxt));
+            tasks.add(task);
+            executor.execute(task);
+        }
+        List<List<Binding>> results = new ArrayList<>();
+        try {
+            results.add(materialize(branches.get(0), binding, execCxt));
+            for (FutureTask<List<Binding>> task : tasks) {
+                // run the branch ourselves if it has not been started yet, otherwise this is a no-op
+                task.run();
+                results.add(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryCancelledException();
+        } catch (CancellationException e) {
+            throw new QueryCancelledException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new QueryExecException("Failed to evaluate a parallel branch.", e.getCause());
+        } finally {
+            cancellation.unregister(abort);
+            tasks.forEach(task -> task.cancel(true));
+        }
+        return results;
+    }
+
+    /**
+     * creates a private execution context for a concurrently evaluated branch.
+     * Service calls store the negotiated endpoint credentials and their service parameters
+     * in the context, so these must not be visible to other branches. Warnings,
+     * cancellation and deadline are shared with the query.
+     *
+     * @param execCxt execution context of the query
+     * @return execution context of the branch
+     */
+    @SuppressWarnings("unchecked")
+    public static ExecutionContext branchContext(ExecutionContext execCxt) {
+        Context context = execCxt.getContext();
+        CatenaxWarning.getOrSetWarnings(context);
+        QueryCancellation.getOrSet(context);
+        Context branchContext = context.copy();
+        Object serviceParams = branchContext.get(Service.serviceParams);
+        if (serviceParams instanceof Map) {
+            Map<String, Map<String, List<String>>> branchParams = new HashMap<>();
+            ((Map<String, Map<String, List<String>>>) serviceParams).forEach((url, params) -> branchParams.put(url, new HashMap<>(params)));
+            branchContext.put(Service.serviceParams, branchParams);
+        }
+        return new ExecutionContext(branchContext, execCxt.getActiveGraph(), execCxt.getDataset(), execCxt.getExecutor());
+    }
+
+    /**
+     * evaluates a single branch in its own execution context
+     *
+     * @param branch  the branch operator
+     * @param binding input binding
+     * @param execCxt execution context of the query
+     * @return materialized bindings
+     */
+    protected static List<Binding> materialize(Op branch, Binding binding, ExecutionContext execCxt) {
+        List<Binding> result = new ArrayList<>();
+        QueryIterator iterator = QC.execute(branch, binding, branchContext(execCxt));
+        try {
+            iterator.forEachRemaining(result::add);
+        } finally {
+            iterator.close();
+        }
+        return result;
+    }
+
+    /**
+     * combine branch results by a union
+     *
+     * @param results materialized branch results
+     * @return concatenated bindings
+     */
+    protected static List<Binding> concat(List<List<Binding>> results) {
+        List<Binding> combined = new ArrayList<>();
+        results.forEach(combined::addAll);
+        return combined;
+    }
+
+    /**
+     * combine branch results by a sequence of hash joins
+     *
+     * @param results materialized branch results
+     * @return joined bindings
+     */
+    protected List<Binding> join(List<List<Binding>> results) {
+        List<Binding> combined = results.get(0);
+        Set<Var> vars = new HashSet<>(OpVars.visibleVars(branches.get(0)));
+        for (int count = 1; count < results.size(); count++) {
+            Set<Var> branchVars = OpVars.visibleVars(branches.get(count));
+            List<Var> keys = new ArrayList<>(branchVars);
+            keys.retainAll(vars);
+            combined = hashJoin(combined, results.get(count), keys);
+            vars.addAll(branchVars);
+        }
+        return combined;
+    }
+
+    /**
+     * a local hash join
+     *
+     * @param left  left bindings
+     * @param right right bindings (will be hashed)
+     * @param keys  join variables
+     * @return joined bindings
+     */
+    protected static List<Binding> hashJoin(List<Binding> left, List<Binding> right, List<Var> keys) {
+        List<Binding> result = new ArrayList<>();
+        if (left.isEmpty() || right.isEmpty()) {
+            return result;
+        }
+        Map<List<Node>, List<Binding>> table = new HashMap<>();
+        // bindings with unbound keys must be checked against all partners
+        List<Binding> partial = new ArrayList<>();
+        for (Binding binding : right) {
+            List<Node> key = getKey(binding, keys);
+            if (key == null) {
+                partial.add(binding);
+            } else {
+                table.computeIfAbsent(key, k -> new ArrayList<>()).add(binding);
+            }
+        }
+        for (Binding binding : left) {
+            List<Node> key = getKey(binding, keys);
+            if (key == null) {
+                addCompatible(binding, right, result);
+            } else {
+                addCompatible(binding, table.getOrDefault(key, List.of()), result);
+                addCompatible(binding, partial, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * computes the hash key of a binding
+     *
+     * @param binding the binding
+     * @param keys    join variables
+     * @return list of key values, null if some key is unbound
+     */
+    protected static List<Node> getKey(Binding binding, List<Var> keys) {
+        List<Node> key = new ArrayList<>(keys.size());
+        for (Var var : keys) {
+            Node value = binding.get(var);
+            if (value == null) {
+                return null;
+            }
+            key.add(value);
+        }
+        return key;
+    }
+
+    /**
+     * merges a binding with all compatible candidates
+     *
+     * @param binding    the binding
+     * @param candidates possible partners
+     * @param result     list to add merged bindings to
+     */
+    protected static void addCompatible(Binding binding, List<Binding> candidates, List<Binding> result) {
+        for (Binding candidate : candidates) {
+            if (Algebra.compatible(binding, candidate)) {
+                result.add(Algebra.merge(binding, candidate));
+            }
+        }
+    }
+
+    @Override
+    public void outputArgs(IndentedWriter out, SerializationContext serializationContext) {
+        out.println(union ? "union" : "join");
+        out.incIndent();
+        for (Op branch : branches) {
+            out.ensureStartOfLine();
+            branch.output(out, serializationContext);
+        }
+        out.decIndent();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(TAG, union, branches);
+    }
+
+    @Override
+    public boolean equalTo(Op other, NodeIsomorphismMap labelMap) {
+        if (!(other instanceof OpParallel)) {
+            return false;
+        }
+        OpParallel otherParallel = (OpParallel) other;
+        if (otherParallel.union != union || otherParallel.branches.size() != branches.size()) {
+            return false;
+        }
+        for (int count = 0; count < branches.size(); count++) {
+            if (!branches.get(count).equalTo(otherParallel.branches.get(count), labelMap)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
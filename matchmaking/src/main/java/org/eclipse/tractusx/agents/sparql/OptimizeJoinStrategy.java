@@ -16,23 +16,49 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.agents.sparql;
 
+import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.OpVars;
 import org.apache.jena.sparql.algebra.op.OpGraph;
 import org.apache.jena.sparql.algebra.op.OpJoin;
 import org.apache.jena.sparql.algebra.op.OpSequence;
 import org.apache.jena.sparql.algebra.op.OpService;
 import org.apache.jena.sparql.algebra.op.OpUnion;
 import org.apache.jena.sparql.algebra.optimize.TransformJoinStrategy;
+import org.apache.jena.sparql.core.Var;
 import org.apache.jena.sparql.engine.main.JoinClassifier;
 
+import java.util.HashSet;
+import java.util.OptionalDouble;
+import java.util.Set;
+
 /**
  * a modified default join strategy which will always linearize right-hand
  * service and union calls in order to obtain bindings from the
  * left part.
- * TODO improve to find independent/asynchronous calls which should be parallelized (cross-join case)
+ * If there are statistics of unbound calls for both parts of a join involving services,
+ * the strategy is cost-based: independent parts are joined (and hence evaluated separately),
+ * the more selective part is used to bind the other one and if that
+ * is not possible, a huge left part is hash-joined with a more selective service.
+ * Skill services, services with a variable target and parts which depend on the bindings
+ * of the other part are never evaluated without them.
  */
 public class OptimizeJoinStrategy extends TransformJoinStrategy {
 
+    protected final FederationStatistics statistics;
+    protected final long hashJoinThreshold;
+
+    /**
+     * creates a cost-based strategy
+     *
+     * @param statistics        cardinality statistics, may be null
+     * @param hashJoinThreshold estimated number of bindings from which on a hash join is preferred over shipping the bindings
+     */
+    public OptimizeJoinStrategy(FederationStatistics statistics, long hashJoinThreshold) {
+        this.statistics = statistics;
+        this.hashJoinThreshold = hashJoinThreshold;
+    }
+
     /**
      * implement the federated join strategy
      *
@@ -43,6 +69,10 @@ public class OptimizeJoinStrategy extends TransformJoinStrategy {
      */
     @Override
     public Op transform(OpJoin opJoin, Op left, Op right) {
+        Op planned = plan(left, right);
+        if (planned != null) {
+            return planned;
+        }
         boolean canDoLinear = JoinClassifier.isLinear(opJoin);
         if (!canDoLinear) {
             if (right instanceof OpService || right instanceof OpUnion) {
@@ -61,4 +91,120 @@ public class OptimizeJoinStrategy extends TransformJoinStrategy {
         // default transform
         return super.transform(opJoin, left, right);
     }
+
+    /**
+     * cost-based planning of a join
+     *
+     * @param left  left-part of join
+     * @param right right-part of join
+     * @return planned operator, null if there is not enough evidence
+     */
+    protected Op plan(Op left, Op right) {
+        if (statistics == null || !(left instanceof OpService || right instanceof OpService)) {
+            return null;
+        }
+        if (!isMovable(left) || !isMovable(right)) {
+            // skills and services with a runtime target keep the original order
+            return null;
+        }
+        OptionalDouble leftEstimate = estimate(left);
+        OptionalDouble rightEstimate = estimate(right);
+        if (leftEstimate.isEmpty() || rightEstimate.isEmpty()) {
+            return null;
+        }
+        boolean leftNeedsRight = needs(left, right);
+        boolean rightNeedsLeft = needs(right, left);
+        Set<Var> shared = new HashSet<>(getVars(left));
+        shared.retainAll(getVars(right));
+        if (shared.isEmpty() && !leftNeedsRight && !rightNeedsLeft) {
+            // independent calls, no need to ship any bindings
+            return OpJoin.create(left, right);
+        }
+        if (rightNeedsLeft) {
+            // the right part cannot be evaluated first or separately
+            return null;
+        }
+        double leftCardinality = leftEstimate.getAsDouble();
+        double rightCardinality = rightEstimate.getAsDouble();
+        if (rightCardinality < leftCardinality && JoinClassifier.isLinear(right, left)) {
+            // bind with the more selective part first
+            return OpSequence.create(right, left);
+        }
+        if (leftCardinality >= hashJoinThreshold && right instanceof OpService
+                && rightCardinality < leftCardinality * statistics.estimatePerBinding((OpService) right).orElse(1)) {
+            // rather fetch the selective service once than shipping the huge binding set
+            return OpJoin.create(left, right);
+        }
+        return null;
+    }
+
+    /**
+     * checks whether the planner may evaluate an operator without
+     * the bindings of its join partner, i.e., whether it is a service
+     * (or a union of services) with a constant target which is not a skill
+     *
+     * @param op operator
+     * @return whether the operator may be evaluated unbound
+     */
+    protected boolean isMovable(Op op) {
+        if (op instanceof OpService) {
+            Node service = ((OpService) op).getService();
+            return service.isURI() && !service.getURI().contains("Skill");
+        }
+        if (op instanceof OpUnion) {
+            return isMovable(((OpUnion) op).getLeft()) && isMovable(((OpUnion) op).getRight());
+        }
+        return false;
+    }
+
+    /**
+     * checks whether an operator depends on the bindings of another operator, i.e.,
+     * whether it mentions variables of the other operator which it does not bind itself
+     * (such as in filters or optional parts)
+     *
+     * @param op    operator
+     * @param other the other operator
+     * @return whether op needs the bindings of other
+     */
+    protected boolean needs(Op op, Op other) {
+        Set<Var> needed = new HashSet<>(OpVars.mentionedVars(op));
+        needed.retainAll(getVars(other));
+        needed.removeAll(OpVars.fixedVars(op));
+        return !needed.isEmpty();
+    }
+
+    /**
+     * estimates the cardinality of an operator which is evaluated unbound
+     *
+     * @param op operator
+     * @return estimation, empty if there is no evidence from unbound calls
+     */
+    protected OptionalDouble estimate(Op op) {
+        if (op instanceof OpService) {
+            return statistics.estimate((OpService) op);
+        }
+        if (op instanceof OpUnion) {
+            OptionalDouble leftEstimate = estimate(((OpUnion) op).getLeft());
+            OptionalDouble rightEstimate = estimate(((OpUnion) op).getRight());
+            if (leftEstimate.isPresent() && rightEstimate.isPresent()) {
+                return OptionalDouble.of(leftEstimate.getAsDouble() + rightEstimate.getAsDouble());
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * computes the variables of an operator including variable service targets
+     *
+     * @param op operator
+     * @return set of variables
+     */
+    protected Set<Var> getVars(Op op) {
+        Set<Var> vars = new HashSet<>(OpVars.visibleVars(op));
+        if (op instanceof OpService && ((OpService) op).getService().isVariable()) {
+            vars.add(Var.alloc(((OpService) op).getService()));
+        }
+        return vars;
+    }
+
 }
@@ -0,0 +1,189 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.OpVars;
+import org.apache.jena.sparql.algebra.OpVisitorBase;
+import org.apache.jena.sparql.algebra.OpWalker;
+import org.apache.jena.sparql.algebra.TransformCopy;
+import org.apache.jena.sparql.algebra.op.OpJoin;
+import org.apache.jena.sparql.algebra.op.OpSequence;
+import org.apache.jena.sparql.algebra.op.OpService;
+import org.apache.jena.sparql.algebra.op.OpUnion;
+import org.apache.jena.sparql.core.Var;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * detects independent federated subtrees, i.e., both sides of a (non-linear) join,
+ * all branches of a union and variable-disjoint parts of a sequence
+ * which each contain service calls, and replaces them by a parallel operator
+ * such that their network latencies overlap instead of adding up.
+ * Should be applied after all other (join) optimizations.
+ */
+public class OptimizeParallelStrategy extends TransformCopy {
+
+    protected final ExecutorService executor;
+
+    /**
+     * creates a new parallel strategy
+     *
+     * @param executor the federation executor to run branches on
+     */
+    public OptimizeParallelStrategy(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * both sides of a join are evaluated independently anyway
+     *
+     * @param opJoin operator to optimize
+     * @param left   left-part of join
+     * @param right  right-part of join
+     * @return parallel join if both sides call services
+     */
+    @Override
+    public Op transform(OpJoin opJoin, Op left, Op right) {
+        if (hasService(left) && hasService(right)) {
+            return createParallel(false, List.of(left, right));
+        }
+        return super.transform(opJoin, left, right);
+    }
+
+    /**
+     * all branches of a union are evaluated independently anyway
+     *
+     * @param opUnion operator to optimize
+     * @param left    left-part of union
+     * @param right   right-part of union
+     * @return parallel union if both sides call services
+     */
+    @Override
+    public Op transform(OpUnion opUnion, Op left, Op right) {
+        if (hasService(left) && hasService(right)) {
+            return createParallel(true, List.of(left, right));
+        }
+        return super.transform(opUnion, left, right);
+    }
+
+    /**
+     * a sequence falls apart into components which do not share any variables
+     *
+     * @param opSequence operator to optimize
+     * @param elements   parts of the sequence
+     * @return parallel join of the components if at least two of them call services
+     */
+    @Override
+    public Op transform(OpSequence opSequence, List<Op> elements) {
+        List<List<Op>> components = new ArrayList<>();
+        List<Set<Var>> componentVars = new ArrayList<>();
+        for (Op element : elements) {
+            Set<Var> vars = getVars(element);
+            List<Op> component = new ArrayList<>();
+            Set<Var> mergedVars = new HashSet<>(vars);
+            // merge all components which share a variable with the element (keeping the original order)
+            for (int count = components.size() - 1; count >= 0; count--) {
+                if (!Collections.disjoint(componentVars.get(count), vars)) {
+                    component.addAll(0, components.remove(count));
+                    mergedVars.addAll(componentVars.remove(count));
+                }
+            }
+            component.add(element);
+            components.add(component);
+            componentVars.add(mergedVars);
+        }
+        if (components.size() > 1 && components.stream().filter(component -> component.stream().anyMatch(OptimizeParallelStrategy::hasService)).count() > 1) {
+            List<Op> branches = new ArrayList<>();
+            for (List<Op> component : components) {
+                if (component.size() == 1) {
+                    branches.add(component.get(0));
+                } else {
+                    OpSequence sequence = OpSequence.create();
+                    component.forEach(sequence::add);
+                    branches.add(sequence);
+                }
+            }
+            return createParallel(false, branches);
+        }
+        return super.transform(opSequence, elements);
+    }
+
+    /**
+     * creates a parallel operator and flattens nested parallel operators of the same kind
+     *
+     * @param union    whether this is a union
+     * @param branches the branches
+     * @return parallel operator
+     */
+    protected Op createParallel(boolean union, List<Op> branches) {
+        List<Op> flattened = new ArrayList<>();
+        for (Op branch : branches) {
+            if (branch instanceof OpParallel && ((OpParallel) branch).isUnion() == union) {
+                flattened.addAll(((OpParallel) branch).getBranches());
+            } else {
+                flattened.add(branch);
+            }
+        }
+        return new OpParallel(union, flattened, executor);
+    }
+
+    /**
+     * checks whether an operator calls a service
+     *
+     * @param op operator
+     * @return whether there is a service or parallel operator inside
+     */
+    protected static boolean hasService(Op op) {
+        if (op instanceof OpService || op instanceof OpParallel) {
+            return true;
+        }
+        boolean[] found = {false};
+        OpWalker.walk(op, new OpVisitorBase() {
+            @Override
+            public void visit(OpService opService) {
+                found[0] = true;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * computes all variables mentioned by an operator (including variable service targets),
+     * as sequences substitute bindings into filters, too
+     *
+     * @param op operator
+     * @return set of variables
+     */
+    protected static Set<Var> getVars(Op op) {
+        Set<Var> vars = new HashSet<>(OpVars.mentionedVars(op));
+        OpWalker.walk(op, new OpVisitorBase() {
+            @Override
+            public void visit(OpService opService) {
+                if (opService.getService().isVariable()) {
+                    vars.add(Var.alloc(opService.getService()));
+                }
+            }
+        });
+        return vars;
+    }
+}
@@ -0,0 +1,293 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.apache.jena.query.Query;
+import org.apache.jena.query.SortCondition;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.OpVars;
+import org.apache.jena.sparql.algebra.TransformCopy;
+import org.apache.jena.sparql.algebra.Transformer;
+import org.apache.jena.sparql.algebra.op.OpFilter;
+import org.apache.jena.sparql.algebra.op.OpJoin;
+import org.apache.jena.sparql.algebra.op.OpLabel;
+import org.apache.jena.sparql.algebra.op.OpOrder;
+import org.apache.jena.sparql.algebra.op.OpProject;
+import org.apache.jena.sparql.algebra.op.OpSequence;
+import org.apache.jena.sparql.algebra.op.OpService;
+import org.apache.jena.sparql.algebra.op.OpSlice;
+import org.apache.jena.sparql.algebra.op.OpTopN;
+import org.apache.jena.sparql.algebra.walker.Walker;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.expr.Expr;
+import org.apache.jena.sparql.expr.ExprFunctionOp;
+import org.apache.jena.sparql.expr.ExprList;
+import org.apache.jena.sparql.expr.ExprVisitorBase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * pushes filters, projections and limits (including an ordering) which sit
+ * directly on top of a (non-silent) service into the delegated part.
+ * As the target may be a skill which does not evaluate the delegated part,
+ * the original operators are kept, so the pushed copies only reduce the
+ * transferred results. Pushed operators are labelled such that the
+ * service executor can revert them if they are not applicable, e.g.,
+ * a limit if input bindings have to be shipped.
+ */
+public class OptimizePushDownStrategy extends TransformCopy {
+
+    /**
+     * label of pushed operators
+     */
+    public static final String PUSHDOWN_LABEL = "cx:pushdown";
+
+    /**
+     * push filters whose variables are all certainly bound by the service
+     * (a variable which is only optional in the service may be bound by the input bindings)
+     *
+     * @param opFilter filter operator
+     * @param subOp    filtered operator
+     * @return filter with a filtered service
+     */
+    @Override
+    public Op transform(OpFilter opFilter, Op subOp) {
+        if (subOp instanceof OpService && !((OpService) subOp).getSilent()) {
+            OpService opService = (OpService) subOp;
+            Set<Var> serviceVars = OpVars.fixedVars(opService.getSubOp());
+            ExprList pushed = new ExprList();
+            for (Expr expr : opFilter.getExprs()) {
+                if (serviceVars.containsAll(expr.getVarsMentioned()) && !hasSubPattern(expr)) {
+                    pushed.add(expr);
+                }
+            }
+            if (!pushed.isEmpty()) {
+                Op pushedOp = pushDown(OpFilter.filterBy(pushed, opService.getSubOp()));
+                return OpFilter.filterBy(opFilter.getExprs(), new OpService(opService.getService(), pushedOp, false));
+            }
+        }
+        return super.transform(opFilter, subOp);
+    }
+
+    /**
+     * restrict services to those variables which are needed by the projection
+     *
+     * @param opProject projection
+     * @param subOp     projected operator
+     * @return projection with restricted services
+     */
+    @Override
+    public Op transform(OpProject opProject, Op subOp) {
+        Op projected = pushProjection(subOp, new HashSet<>(opProject.getVars()));
+        if (projected != subOp) {
+            return new OpProject(projected, opProject.getVars());
+        }
+        return super.transform(opProject, subOp);
+    }
+
+    /**
+     * push limits (and orderings) into the service
+     *
+     * @param opSlice slice operator
+     * @param subOp   sliced operator
+     * @return slice with a sliced service
+     */
+    @Override
+    public Op transform(OpSlice opSlice, Op subOp) {
+        if (opSlice.getLength() >= 0) {
+            Op pushed = pushSlice(subOp, Math.max(0, opSlice.getStart()) + opSlice.getLength(), null);
+            if (pushed != null) {
+                return opSlice.copy(pushed);
+            }
+        }
+        return super.transform(opSlice, subOp);
+    }
+
+    /**
+     * push limits and orderings into the service
+     *
+     * @param opTop top n operator
+     * @param subOp sorted operator
+     * @return top n with a sliced and sorted service
+     */
+    @Override
+    public Op transform(OpTopN opTop, Op subOp) {
+        Op pushed = pushSlice(subOp, opTop.getLimit(), opTop.getConditions());
+        if (pushed != null) {
+            return opTop.copy(pushed);
+        }
+        return super.transform(opTop, subOp);
+    }
+
+    /**
+     * restrict the services inside an operator
+     *
+     * @param op     operator
+     * @param needed variables which are needed outside of the operator
+     * @return the operator with restricted services (or the original operator)
+     */
+    protected Op pushProjection(Op op, Set<Var> needed) {
+        if (op instanceof OpService) {
+            OpService opService = (OpService) op;
+            Set<Var> serviceVars = OpVars.visibleVars(opService.getSubOp());
+            Set<Var> fixedVars = OpVars.fixedVars(opService.getSubOp());
+            List<Var> projected = new ArrayList<>(serviceVars);
+            // optional variables may be bound by the input bindings and are kept
+            projected.removeIf(var -> fixedVars.contains(var) && !needed.contains(var));
+            if (opService.getSilent() || projected.isEmpty() || projected.size() == serviceVars.size()) {
+                return op;
+            }
+            return new OpService(opService.getService(), pushDown(new OpProject(opService.getSubOp(), projected)), false);
+        }
+        if (op instanceof OpFilter) {
+            Set<Var> filterNeeded = new HashSet<>(needed);
+            filterNeeded.addAll(((OpFilter) op).getExprs().getVarsMentioned());
+            Op subOp = pushProjection(((OpFilter) op).getSubOp(), filterNeeded);
+            return subOp == ((OpFilter) op).getSubOp() ? op : OpFilter.filterDirect(((OpFilter) op).getExprs(), subOp);
+        }
+        List<Op> elements;
+        if (op instanceof OpSequence) {
+            elements = ((OpSequence) op).getElements();
+        } else if (op instanceof OpJoin) {
+            elements = List.of(((OpJoin) op).getLeft(), ((OpJoin) op).getRight());
+        } else {
+            return op;
+        }
+        List<Op> projectedElements = new ArrayList<>();
+        boolean changed = false;
+        for (Op element : elements) {
+            Set<Var> elementNeeded = new HashSet<>(needed);
+            for (Op other : elements) {
+                if (other != element) {
+                    elementNeeded.addAll(OptimizeParallelStrategy.getVars(other));
+                }
+            }
+            Op projectedElement = pushProjection(element, elementNeeded);
+            changed = changed || projectedElement != element;
+            projectedElements.add(projectedElement);
+        }
+        if (!changed) {
+            return op;
+        }
+        if (op instanceof OpJoin) {
+            return OpJoin.create(projectedElements.get(0), projectedElements.get(1));
+        }
+        OpSequence sequence = OpSequence.create();
+        projectedElements.forEach(sequence::add);
+        return sequence;
+    }
+
+    /**
+     * push a limit into a service (looking through projections)
+     *
+     * @param op         operator
+     * @param limit      maximal number of results needed
+     * @param conditions ordering to push, may be null
+     * @return the operator with a sliced service, null if not applicable
+     */
+    protected Op pushSlice(Op op, long limit, List<SortCondition> conditions) {
+        if (op instanceof OpProject) {
+            Op subOp = pushSlice(((OpProject) op).getSubOp(), limit, conditions);
+            return subOp == null ? null : ((OpProject) op).copy(subOp);
+        }
+        if (conditions == null && op instanceof OpOrder) {
+            Op subOp = pushSlice(((OpOrder) op).getSubOp(), limit, ((OpOrder) op).getConditions());
+            return subOp == null ? null : ((OpOrder) op).copy(subOp);
+        }
+        if (!(op instanceof OpService) || ((OpService) op).getSilent()) {
+            return null;
+        }
+        OpService opService = (OpService) op;
+        Op serviceOp = opService.getSubOp();
+        if (conditions != null) {
+            Set<Var> serviceVars = OpVars.fixedVars(serviceOp);
+            for (SortCondition condition : conditions) {
+                if (!serviceVars.containsAll(condition.getExpression().getVarsMentioned()) || hasSubPattern(condition.getExpression())) {
+                    return null;
+                }
+            }
+            serviceOp = new OpOrder(serviceOp, conditions);
+        }
+        return new OpService(opService.getService(), pushDown(new OpSlice(serviceOp, Query.NOLIMIT, limit)), false);
+    }
+
+    /**
+     * marks a pushed operator
+     *
+     * @param op pushed operator
+     * @return labelled operator
+     */
+    protected static Op pushDown(Op op) {
+        return OpLabel.create(PUSHDOWN_LABEL, op);
+    }
+
+    /**
+     * checks whether an expression contains (not) exists
+     *
+     * @param expr expression
+     * @return whether there is a sub pattern inside
+     */
+    protected static boolean hasSubPattern(Expr expr) {
+        boolean[] found = {false};
+        Walker.walk(expr, new ExprVisitorBase() {
+            @Override
+            public void visit(ExprFunctionOp funcOp) {
+                found[0] = true;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * reverts or resolves the pushed operators in a delegated part
+     *
+     * @param op          the delegated part
+     * @param keepFilters whether pushed filters and projections should be kept
+     * @param keepSlices  whether pushed limits and orderings should be kept
+     * @return operator without push-down labels
+     */
+    public static Op resolve(Op op, boolean keepFilters, boolean keepSlices) {
+        return Transformer.transform(new TransformCopy() {
+            @Override
+            public Op transform(OpLabel opLabel, Op subOp) {
+                if (!PUSHDOWN_LABEL.equals(opLabel.getObject())) {
+                    return super.transform(opLabel, subOp);
+                }
+                if (subOp instanceof OpSlice) {
+                    if (keepSlices) {
+                        return subOp;
+                    }
+                    Op slicedOp = ((OpSlice) subOp).getSubOp();
+                    return slicedOp instanceof OpOrder ? ((OpOrder) slicedOp).getSubOp() : slicedOp;
+                }
+                if (keepFilters) {
+                    return subOp;
+                }
+                if (subOp instanceof OpFilter) {
+                    return ((OpFilter) subOp).getSubOp();
+                }
+                if (subOp instanceof OpProject) {
+                    return ((OpProject) subOp).getSubOp();
+                }
+                return subOp;
+            }
+        }, op);
+    }
+}
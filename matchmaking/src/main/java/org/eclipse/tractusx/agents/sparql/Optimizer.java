@@ -17,21 +17,58 @@
 package org.eclipse.tractusx.agents.sparql;
 
 import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.Transformer;
 import org.apache.jena.sparql.algebra.optimize.OptimizerStd;
 import org.apache.jena.sparql.util.Context;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * an modified standard optimization strategy which deals with federation and binding
  * of federation-important sparql constructs better at the level of joins
  */
 public class Optimizer extends OptimizerStd {
+
+    protected final FederationStatistics statistics;
+    protected final long hashJoinThreshold;
+    protected final ExecutorService parallelExecutor;
+    protected final boolean pushDown;
+
     /**
-     * Create a new optimizer
+     * Create a new cost-based optimizer which parallelizes independent federated parts
+     * and pushes filters, projections and limits into services
      *
-     * @param context query context
+     * @param context           query context
+     * @param statistics        cardinality statistics, may be null
+     * @param hashJoinThreshold estimated number of bindings from which on a hash join is preferred
+     * @param parallelExecutor  executor for independent federated parts, may be null
+     * @param pushDown          whether to push operators into services
      */
-    public Optimizer(Context context) {
+    public Optimizer(Context context, FederationStatistics statistics, long hashJoinThreshold, ExecutorService parallelExecutor, boolean pushDown) {
         super(context);
+        this.pushDown = pushDown;
+        this.statistics = statistics;
+        this.hashJoinThreshold = hashJoinThreshold;
+        this.parallelExecutor = parallelExecutor;
+    }
+
+    /**
+     * override to finally push operators into services and parallelize independent federated parts
+     *
+     * @param op operator to optimize
+     * @return optimized operator
+     */
+    @Override
+    public Op rewrite(Op op) {
+        op = super.rewrite(op);
+        if (pushDown) {
+            op = Transformer.transformSkipService(new OptimizePushDownStrategy(), op);
+        }
+        if (parallelExecutor != null) {
+            // do not parallelize inside of the delegated parts
+            op = Transformer.transformSkipService(new OptimizeParallelStrategy(parallelExecutor), op);
+        }
+        return op;
     }
 
     /**
@@ -42,7 +79,7 @@ public class Optimizer extends OptimizerStd {
      */
     @Override
     protected Op transformJoinStrategy(Op op) {
-        return apply("Federated Index Join strategy", new OptimizeJoinStrategy(), op);
+        return apply("Federated Index Join strategy", new OptimizeJoinStrategy(statistics, hashJoinThreshold), op);
     }
 
 }
@@ -20,12 +20,36 @@ import org.apache.jena.sparql.algebra.optimize.Rewrite;
 import org.apache.jena.sparql.algebra.optimize.RewriteFactory;
 import org.apache.jena.sparql.util.Context;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * a factory for a federation-improved optimization strategy
  */
 public class OptimizerFactory implements RewriteFactory {
+
+    protected final FederationStatistics statistics;
+    protected final long hashJoinThreshold;
+    protected final ExecutorService parallelExecutor;
+    protected final boolean pushDown;
+
+    /**
+     * creates a factory for cost-based optimizers which parallelize independent federated parts
+     * and push filters, projections and limits into services
+     *
+     * @param statistics        cardinality statistics, may be null
+     * @param hashJoinThreshold estimated number of bindings from which on a hash join is preferred
+     * @param parallelExecutor  executor for independent federated parts, may be null
+     * @param pushDown          whether to push operators into services
+     */
+    public OptimizerFactory(FederationStatistics statistics, long hashJoinThreshold, ExecutorService parallelExecutor, boolean pushDown) {
+        this.pushDown = pushDown;
+        this.statistics = statistics;
+        this.hashJoinThreshold = hashJoinThreshold;
+        this.parallelExecutor = parallelExecutor;
+    }
+
     @Override
     public Rewrite create(Context context) {
-        return new Optimizer(context);
+        return new Optimizer(context, statistics, hashJoinThreshold, parallelExecutor, pushDown);
     }
 }
@@ -0,0 +1,124 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.apache.jena.query.QueryCancelledException;
+import org.apache.jena.sparql.util.Context;
+import org.apache.jena.sparql.util.Symbol;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * the cancellation state of a (top-level) query which is shared by all
+ * federated calls of the query (also across threads). In-flight work, such
+ * as http exchanges or pending branches, registers an abort action which
+ * is run as soon as the query is cancelled.
+ */
+public class QueryCancellation {
+
+    public static final Symbol CANCELLATION_SYMBOL = Symbol.create("https://w3id.org/catenax/ontology/common#cancellation");
+
+    protected final Set<Runnable> aborts = ConcurrentHashMap.newKeySet();
+    protected volatile boolean cancelled = false;
+
+    /**
+     * obtain the cancellation of a query (or install a new one)
+     *
+     * @param context query context
+     * @return the cancellation shared by the query
+     */
+    public static QueryCancellation getOrSet(Context context) {
+        synchronized (context) {
+            QueryCancellation cancellation = context.get(CANCELLATION_SYMBOL);
+            if (cancellation == null) {
+                cancellation = new QueryCancellation();
+                context.set(CANCELLATION_SYMBOL, cancellation);
+            }
+            return cancellation;
+        }
+    }
+
+    /**
+     * obtain the cancellation of a query
+     *
+     * @param context query context, may be null
+     * @return the cancellation shared by the query, null if not present
+     */
+    public static QueryCancellation get(Context context) {
+        if (context == null) {
+            return null;
+        }
+        return context.get(CANCELLATION_SYMBOL);
+    }
+
+    /**
+     * registers an abort action for some in-flight work. If the query
+     * has already been cancelled, the action is run immediately.
+     *
+     * @param abort action to run on cancellation
+     * @return the registered action (for unregistering)
+     */
+    public Runnable register(Runnable abort) {
+        aborts.add(abort);
+        if (cancelled && aborts.remove(abort)) {
+            abort.run();
+        }
+        return abort;
+    }
+
+    /**
+     * unregisters a finished piece of work
+     *
+     * @param abort previously registered action
+     */
+    public void unregister(Runnable abort) {
+        aborts.remove(abort);
+    }
+
+    /**
+     * cancels the query and runs all registered abort actions
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Runnable abort : aborts) {
+            if (aborts.remove(abort)) {
+                abort.run();
+            }
+        }
+    }
+
+    /**
+     * access
+     *
+     * @return whether the query has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * fail fast if the query has been cancelled
+     *
+     * @throws QueryCancelledException if the query has been cancelled
+     */
+    public void check() throws QueryCancelledException {
+        if (cancelled) {
+            throw new QueryCancelledException();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.apache.jena.sparql.util.Context;
+import org.apache.jena.sparql.util.Symbol;
+
+/**
+ * the deadline of a (top-level) query. The consumer agent derives it from its configured
+ * budget and each hop passes the remaining time (minus a margin for itself) as a relative
+ * budget header to the agents it delegates to, such that nested hops trim their timeouts
+ * and negotiation waits to what is left instead of starting over.
+ */
+public class QueryDeadline {
+
+    /**
+     * header carrying the remaining budget in milliseconds
+     */
+    public static final String BUDGET_HEADER = "cx_budget";
+    public static final Symbol DEADLINE_SYMBOL = Symbol.create("https://w3id.org/catenax/ontology/common#deadline");
+
+    protected final long deadline;
+
+    /**
+     * creates a new deadline
+     *
+     * @param deadline absolute point in time in milliseconds
+     */
+    public QueryDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * derives the deadline of an incoming request
+     *
+     * @param budget        value of the budget header, may be null
+     * @param defaultBudget own budget in milliseconds, 0 if unlimited
+     * @return deadline, null if the query is unlimited
+     */
+    public static QueryDeadline fromBudget(String budget, long defaultBudget) {
+        long remaining = defaultBudget > 0 ? defaultBudget : Long.MAX_VALUE;
+        if (budget != null) {
+            try {
+                remaining = Math.min(remaining, Math.max(0, Long.parseLong(budget.trim())));
+            } catch (NumberFormatException e) {
+                // ignore an invalid budget
+            }
+        }
+        if (remaining == Long.MAX_VALUE) {
+            return null;
+        }
+        return new QueryDeadline(System.currentTimeMillis() + remaining);
+    }
+
+    /**
+     * obtain the deadline of a query
+     *
+     * @param context query context, may be null
+     * @return deadline, null if the query is unlimited
+     */
+    public static QueryDeadline get(Context context) {
+        if (context == null) {
+            return null;
+        }
+        return context.get(DEADLINE_SYMBOL);
+    }
+
+    /**
+     * sets the deadline of a query
+     *
+     * @param context  query context
+     * @param deadline deadline, null if the query is unlimited
+     */
+    public static void set(Context context, QueryDeadline deadline) {
+        if (deadline == null) {
+            context.remove(DEADLINE_SYMBOL);
+        } else {
+            context.set(DEADLINE_SYMBOL, deadline);
+        }
+    }
+
+    /**
+     * access
+     *
+     * @return absolute point in time in milliseconds
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * access
+     *
+     * @return remaining time in milliseconds
+     */
+    public long getRemaining() {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    /**
+     * checks whether there is enough time left
+     *
+     * @param margin time in milliseconds which is needed at least
+     * @return whether less than the margin is left
+     */
+    public boolean isExpired(long margin) {
+        return getRemaining() <= margin;
+    }
+
+    /**
+     * trims a timeout to the remaining time
+     *
+     * @param timeout timeout in milliseconds
+     * @return the smaller of the timeout and the remaining time
+     */
+    public long trim(long timeout) {
+        return Math.min(timeout, getRemaining());
+    }
+
+    /**
+     * computes the budget to delegate
+     *
+     * @param margin time in milliseconds reserved for the delegating hop
+     * @return value of the budget header
+     */
+    public String getBudget(long margin) {
+        return String.valueOf(Math.max(0, getRemaining() - margin));
+    }
+}
@@ -20,6 +20,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.util.IOUtils;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
 import org.apache.jena.atlas.RuntimeIOException;
 import org.apache.jena.atlas.iterator.Iter;
 import org.apache.jena.atlas.json.JSON;
@@ -61,13 +65,11 @@ import org.apache.jena.sparql.exec.http.Params;
 import org.apache.jena.sparql.exec.http.QuerySendMode;
 import org.apache.jena.sparql.util.Context;
 import org.eclipse.tractusx.agents.AgentConfig;
+import org.eclipse.tractusx.agents.http.HttpUtils;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
@@ -516,7 +518,7 @@ public class QueryExecutor implements QueryExec {
         try {
             HttpResponse<InputStream> response = execute(httpClient, request);
             String contentType = responseHeader(response, HttpNames.hContentType);
-            InputStream inputStream = new BufferedInputStream(HttpLib.getInputStream(response));
+            InputStream inputStream = new BufferedInputStream(HttpUtils.decode(response.body(), responseHeader(response, HttpNames.hContentEncoding)));
             inputStream.mark(2);
             byte[] boundaryBytes = new byte[2];
             int all = inputStream.read(boundaryBytes);
@@ -528,39 +530,30 @@ public class QueryExecutor implements QueryExec {
                 if (boundaryIndex >= 0) {
                     boundary = boundary + contentType.substring(boundaryIndex + 10);
                 }
-                StringBuilder nextPart = null;
-                String embeddedContentType = null;
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-                        if (boundary.equals(line)) {
-                            if (nextPart != null && embeddedContentType != null) {
-                                if (embeddedContentType.equals("application/cx-warnings+json")) {
-                                    warnings = Optional.of(nextPart.toString());
-                                } else {
-                                    inputStream = new ByteArrayInputStream(nextPart.toString().getBytes());
-                                    contentType = embeddedContentType;
-                                }
-                            }
-                            nextPart = new StringBuilder();
-                            String contentLine = reader.readLine();
-                            if (contentLine != null && contentLine.startsWith("Content-Type: ")) {
-                                embeddedContentType = contentLine.substring(14);
-                            } else {
-                                embeddedContentType = null;
-                            }
-                        } else if (nextPart != null) {
-                            nextPart.append(line);
-                            nextPart.append("\n");
-                        }
-                    }
+                // split the parts byte-exact such that binary results survive
+                BufferedSource source = Okio.buffer(Okio.source(inputStream));
+                String line = source.readUtf8Line();
+                while (line != null && !boundary.equals(line)) {
+                    line = source.readUtf8Line();
                 }
-                if (nextPart != null && embeddedContentType != null) {
-                    if (embeddedContentType.equals("application/cx-warnings+json")) {
-                        warnings = Optional.of(nextPart.toString());
-                    } else {
-                        inputStream = new ByteArrayInputStream(nextPart.toString().getBytes());
-                        contentType = embeddedContentType;
+                ByteString delimiter = ByteString.encodeUtf8("\n" + boundary);
+                while (line != null) {
+                    String contentLine = source.readUtf8Line();
+                    String embeddedContentType = null;
+                    if (contentLine != null && contentLine.startsWith("Content-Type: ")) {
+                        embeddedContentType = contentLine.substring(14);
+                    }
+                    Buffer nextPart = new Buffer();
+                    boolean hasNext = HttpUtils.copyUntil(source, delimiter, nextPart.outputStream());
+                    if (embeddedContentType != null) {
+                        if (embeddedContentType.equals("application/cx-warnings+json")) {
+                            warnings = Optional.of(nextPart.readUtf8());
+                        } else {
+                            inputStream = nextPart.inputStream();
+                            contentType = embeddedContentType;
+                        }
                     }
+                    line = hasNext ? source.readUtf8Line() : null;
                 }
             }
             if (warnings.isPresent()) {
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RunnableFuture;
 
 /**
  * A query iterator sitting on a set of future query iterators
@@ -119,7 +120,7 @@ public class QueryIterFutures extends QueryIteratorBase {
                     Future<QueryIterator> currentFuture = boundFuture.get();
                     futures.remove(currentFuture);
                     current = currentFuture.get();
-                } else {
+                } else if (!helpWithPendingFuture()) {
                     Thread.sleep(config.getNegotiationPollInterval());
                 }
             } catch (InterruptedException e) {
@@ -150,6 +151,25 @@ public class QueryIterFutures extends QueryIteratorBase {
         return false;
     }
 
+    /**
+     * runs a future which has not been picked up by the executor, yet, in the
+     * current thread, such that (nested) federated calls cannot starve the executor
+     *
+     * @return whether a pending future has been run
+     */
+    boolean helpWithPendingFuture() {
+        for (Future<QueryIterator> future : futures) {
+            if (future instanceof RunnableFuture && !future.isDone()) {
+                // a no-op if the future has already been started by some other thread
+                ((RunnableFuture<QueryIterator>) future).run();
+                if (future.isDone()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     protected Binding moveToNextBinding() {
         lastBinding = current.next();
@@ -169,6 +189,10 @@ public class QueryIterFutures extends QueryIteratorBase {
     protected void requestCancel() {
         futures.forEach(future -> future.cancel(true));
         futures.clear();
+        QueryIterator currentIterator = current;
+        if (currentIterator != null) {
+            currentIterator.cancel();
+        }
     }
 
     @Override
@@ -46,12 +46,21 @@ public class QueryIterJoin extends QueryIter1 {
         this.idVar = idVar;
     }
 
+    /**
+     * releases the input bindings
+     */
     @Override
     protected void closeSubIterator() {
+        joinBindings.clear();
+        leftBindings = null;
     }
 
+    /**
+     * releases the input bindings (the remaining results are dropped anyway)
+     */
     @Override
     protected void requestSubCancel() {
+        joinBindings.clear();
     }
 
     @Override
@@ -0,0 +1,59 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.sparql;
+
+import org.apache.jena.query.QueryExecException;
+
+/**
+ * signals that a skill endpoint answered with a non-successful status code,
+ * such that the call counts as failed (for failover and circuit breaking)
+ */
+public class SkillStatusException extends QueryExecException {
+
+    protected final String endpoint;
+    protected final int statusCode;
+
+    /**
+     * creates a new exception
+     *
+     * @param endpoint   the called endpoint
+     * @param statusCode the status code of the answer
+     */
+    public SkillStatusException(String endpoint, int statusCode) {
+        super(String.format("SERVICE %s resulted in status code %d", endpoint, statusCode));
+        this.endpoint = endpoint;
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * access
+     *
+     * @return the called endpoint
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * access
+     *
+     * @return the status code of the answer
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
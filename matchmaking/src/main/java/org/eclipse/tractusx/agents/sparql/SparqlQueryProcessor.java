@@ -49,10 +49,12 @@ import org.eclipse.tractusx.agents.http.HttpServletRequestAdapter;
 import org.eclipse.tractusx.agents.http.HttpServletResponseAdapter;
 import org.eclipse.tractusx.agents.http.HttpUtils;
 import org.eclipse.tractusx.agents.http.JakartaAdapter;
+import org.eclipse.tractusx.agents.http.StreamingHttpServletResponseAdapter;
 import org.eclipse.tractusx.agents.rdf.RdfStore;
 import org.eclipse.tractusx.agents.utils.Monitor;
 import org.eclipse.tractusx.agents.utils.TypeManager;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -60,6 +62,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -83,7 +86,7 @@ public class SparqlQueryProcessor extends SPARQL_QueryGeneral.SPARQL_QueryProc {
      */
     protected final OperationRegistry operationRegistry = OperationRegistry.createEmpty();
     protected final DataAccessPointRegistry dataAccessPointRegistry = new DataAccessPointRegistry();
-    protected final RewriteFactory optimizerFactory = new OptimizerFactory();
+    protected final RewriteFactory optimizerFactory;
 
     // map EDC monitor to SLF4J (better than the builtin MonitorProvider)
     private final MonitorWrapper monitorWrapper;
@@ -98,12 +101,22 @@ public class SparqlQueryProcessor extends SPARQL_QueryGeneral.SPARQL_QueryProc {
     public static final Pattern PARAMS = Pattern.compile(String.format("(\\?|&)(?<%s>[^=&]+)=(?<%s>[^=&]*)", PARAM_GROUP, VALUE_GROUP));
 
     /**
-     * create a new sparql processor
+     * create a new sparql processor with a cost-based join planner and parallel federation
      *
-     * @param registry service execution registry
-     * @param monitor  EDC logging
+     * @param registry         service execution registry
+     * @param monitor          EDC logging
+     * @param statistics       federation statistics, may be null
+     * @param parallelExecutor federation executor for independent parts, may be null
      */
-    public SparqlQueryProcessor(ServiceExecutorRegistry registry, Monitor monitor, AgentConfig config, RdfStore rdfStore, TypeManager typeManager) {
+    public SparqlQueryProcessor(ServiceExecutorRegistry registry, Monitor monitor, AgentConfig config, RdfStore rdfStore, TypeManager typeManager, FederationStatistics statistics, ExecutorService parallelExecutor) {
+        if (!config.isFederationParallel()) {
+            parallelExecutor = null;
+        }
+        if (config.isFederationPlanner()) {
+            this.optimizerFactory = new OptimizerFactory(statistics, config.getFederationHashJoinThreshold(), parallelExecutor, config.isFederationPushDown());
+        } else {
+            this.optimizerFactory = new OptimizerFactory(null, Long.MAX_VALUE, parallelExecutor, config.isFederationPushDown());
+        }
         this.monitor = monitor;
         this.registry = registry;
         this.config = config;
@@ -163,26 +176,33 @@ public class SparqlQueryProcessor extends SPARQL_QueryGeneral.SPARQL_QueryProc {
         request.getServletContext().setAttribute(Fuseki.attrVerbose, config.isSparqlVerbose());
         request.getServletContext().setAttribute(Fuseki.attrOperationRegistry, operationRegistry);
         request.getServletContext().setAttribute(Fuseki.attrNameRegistry, dataAccessPointRegistry);
-        AgentHttpAction action = new AgentHttpAction(++count, monitorWrapper, getJavaxRequest(request), getJavaxResponse(response), skill, graph);
+        StreamingHttpServletResponseAdapter streamingResponse = new StreamingHttpServletResponseAdapter(getJavaxResponse(response),
+                StreamingHttpServletResponseAdapter.acceptsTrailers(request.getHeader("TE")),
+                StreamingHttpServletResponseAdapter.acceptsMultipart(request.getHeader("Accept")));
+        AgentHttpAction action = new AgentHttpAction(++count, monitorWrapper, getJavaxRequest(request), streamingResponse, skill, graph);
         // Should we check whether this already has been done? the context should be quite static
         action.setRequest(rdfStore.getDataAccessPoint(), rdfStore.getDataService());
         ServiceExecutorRegistry.set(action.getContext(), registry);
         action.getContext().set(ARQConstants.sysOptimizerFactory, optimizerFactory);
+        setDeadline(action, request.getHeader(QueryDeadline.BUDGET_HEADER));
         List<CatenaxWarning> previous = CatenaxWarning.getWarnings(action.getContext());
         CatenaxWarning.setWarnings(action.getContext(), null);
         try {
             executeAction(action);
             List<CatenaxWarning> newWarnings = CatenaxWarning.getWarnings(action.getContext());
+            String warnings = null;
             if (newWarnings != null) {
-                response.addHeader("cx_warnings", objectMapper.writeValueAsString(newWarnings));
-                response.addHeader("Access-Control-Expose-Headers", "cx_warnings, content-length, content-type");
-                if (response.getStatus() == 200) {
-                    response.setStatus(203);
+                warnings = objectMapper.writeValueAsString(newWarnings);
+                if (!streamingResponse.isCommitted() && streamingResponse.getStatus() == 200) {
+                    streamingResponse.setStatus(203);
                 }
             }
+            if (!streamingResponse.finish(warnings)) {
+                monitor.warning(String.format("Could not deliver warnings %s of an already committed response.", warnings));
+            }
         } catch (ActionErrorException e) {
             throw new BadRequestException(e.getMessage(), e.getCause());
-        } catch (QueryExecException | JsonProcessingException e) {
+        } catch (QueryExecException | IOException e) {
             throw new InternalServerErrorException(e.getMessage(), e.getCause());
         } finally {
             CatenaxWarning.setWarnings(action.getContext(), previous);
@@ -205,10 +225,28 @@ public class SparqlQueryProcessor extends SPARQL_QueryGeneral.SPARQL_QueryProc {
         request.setAttribute(Fuseki.attrNameRegistry, dataAccessPointRegistry);
         
         // build and populate a SPARQL action from the wrappers
-        AgentHttpAction action = new AgentHttpAction(++count, monitorWrapper, getJavaxRequest(request), getJavaxResponse(response), skill, graph);
+        StreamingHttpServletResponseAdapter streamingResponse = new StreamingHttpServletResponseAdapter(getJavaxResponse(response),
+                StreamingHttpServletResponseAdapter.acceptsTrailers(request.getHeader("TE")),
+                StreamingHttpServletResponseAdapter.acceptsMultipart(request.getHeader("Accept")));
+        AgentHttpAction action = new AgentHttpAction(++count, monitorWrapper, getJavaxRequest(request), streamingResponse, skill, graph);
         action.setRequest(rdfStore.getDataAccessPoint(), rdfStore.getDataService());
         ServiceExecutorRegistry.set(action.getContext(), registry);
         action.getContext().set(DataspaceServiceExecutor.TARGET_URL_SYMBOL, targetProperties.getOrDefault(DataspaceServiceExecutor.TARGET_URL_SYMBOL.getSymbol(), null));
+        setTargetProperties(action, graph, targetProperties);
+        setDeadline(action, request.getHeader(QueryDeadline.BUDGET_HEADER));
+
+        // and finally execute the SPARQL action
+        executeStreaming(action, streamingResponse);
+    }
+
+    /**
+     * populates the context of an action with the address properties of the target asset
+     *
+     * @param action           the action to populate
+     * @param graph            graph ref
+     * @param targetProperties a set of address properties of the asset to invoke
+     */
+    protected void setTargetProperties(AgentHttpAction action, String graph, Map<String, Object> targetProperties) {
         action.getContext().set(DataspaceServiceExecutor.AUTH_KEY_SYMBOL, targetProperties.getOrDefault(DataspaceServiceExecutor.AUTH_KEY_SYMBOL.getSymbol(), null));
         action.getContext().set(DataspaceServiceExecutor.AUTH_CODE_SYMBOL, targetProperties.getOrDefault(DataspaceServiceExecutor.AUTH_CODE_SYMBOL.getSymbol(), null));
         action.getContext().set(ARQConstants.sysOptimizerFactory, optimizerFactory);
@@ -227,36 +265,69 @@ public class SparqlQueryProcessor extends SPARQL_QueryGeneral.SPARQL_QueryProc {
         if (graph != null) {
             action.getContext().set(DataspaceServiceExecutor.ASSET_SYMBOL, graph);
         }
+    }
+
+    /**
+     * derives the deadline of the query from the budget of the calling hop (if any)
+     * and the own budget
+     *
+     * @param action the action to populate
+     * @param budget value of the budget header, may be null
+     */
+    protected void setDeadline(AgentHttpAction action, String budget) {
+        QueryDeadline.set(action.getContext(), QueryDeadline.fromBudget(budget, config.getFederationBudget()));
+    }
+
+    /**
+     * executes the given action while streaming the result into the
+     * given response. Warnings which appear after the response has been committed
+     * are delivered as a trailer or a multipart tail. Responses to clients which
+     * accept neither are buffered, so that warnings and status go into the header.
+     *
+     * @param action            the populated action
+     * @param streamingResponse the response which has been handed to the action
+     */
+    protected void executeStreaming(AgentHttpAction action, StreamingHttpServletResponseAdapter streamingResponse) {
         List<CatenaxWarning> previous = CatenaxWarning.getWarnings(action.getContext());
         CatenaxWarning.setWarnings(action.getContext(), null);
-
-        // and finally execute the SPARQL action
         try {
             executeAction(action);
             List<CatenaxWarning> newWarnings = CatenaxWarning.getWarnings(action.getContext());
-            if (newWarnings != null) {
-                response.addHeader("cx_warnings", objectMapper.writeValueAsString(newWarnings));
-                response.addHeader("Access-Control-Expose-Headers", "cx_warnings, content-length, content-type");
+            String warnings = newWarnings != null ? objectMapper.writeValueAsString(newWarnings) : null;
+            if (!streamingResponse.isCommitted() && streamingResponse.getStatus() == 200) {
+                streamingResponse.setStatus(203);
             }
-            if (response.getStatus() == 200) {
-                response.setStatus(203);
+            if (!streamingResponse.finish(warnings)) {
+                monitor.warning(String.format("Could not deliver warnings %s of an already committed response.", warnings));
             }
         } catch (ActionErrorException e) {
-            try {
-                response.sendError(HttpStatus.SC_BAD_REQUEST, e.getMessage());
-            } catch (Exception e1) {
-                monitor.debug(e1.getMessage());
-            }
+            sendStreamingError(streamingResponse, HttpStatus.SC_BAD_REQUEST, e.getMessage());
         } catch (QueryExecException | JsonProcessingException | QueryExceptionHTTP e) {
-            try {
-                response.sendError(HttpStatus.SC_INTERNAL_SERVER_ERROR, e.getMessage());
-            } catch (Exception e1) {
-                monitor.debug(e1.getMessage());
-            }
+            sendStreamingError(streamingResponse, HttpStatus.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+        } catch (IOException e) {
+            monitor.warning(String.format("Could not complete streaming response because of %s", e.getMessage()), e);
         } finally {
             CatenaxWarning.setWarnings(action.getContext(), previous);
         }
-        return;
+    }
+
+    /**
+     * signals an error on a streaming response (if not already committed)
+     *
+     * @param streamingResponse the response
+     * @param status            error code
+     * @param message           error message
+     */
+    protected void sendStreamingError(StreamingHttpServletResponseAdapter streamingResponse, int status, String message) {
+        if (streamingResponse.isCommitted()) {
+            monitor.warning(String.format("Could not signal error %d (%s) on an already committed response.", status, message));
+            return;
+        }
+        try {
+            streamingResponse.sendError(status, message);
+        } catch (Exception e1) {
+            monitor.debug(e1.getMessage());
+        }
     }
 
 
@@ -287,36 +358,9 @@ public class SparqlQueryProcessor extends SPARQL_QueryGeneral.SPARQL_QueryProc {
     public Response execute(Request request, String skill, String graph, Map<String, Object> targetProperties) {
 
         // wrap jakarta into java.servlet
-        HttpServletContextAdapter contextAdapter = new HttpServletContextAdapter(request);
-        HttpServletRequestAdapter requestAdapter = new HttpServletRequestAdapter(request, contextAdapter);
         HttpServletResponseAdapter responseAdapter = new HttpServletResponseAdapter(request);
-        contextAdapter.setAttribute(Fuseki.attrVerbose, config.isSparqlVerbose());
-        contextAdapter.setAttribute(Fuseki.attrOperationRegistry, operationRegistry);
-        contextAdapter.setAttribute(Fuseki.attrNameRegistry, dataAccessPointRegistry);
+        AgentHttpAction action = createAction(request, responseAdapter, skill, graph, targetProperties);
 
-        // build and populate a SPARQL action from the wrappers
-        AgentHttpAction action = new AgentHttpAction(++count, monitorWrapper, requestAdapter, responseAdapter, skill, graph);
-        action.setRequest(rdfStore.getDataAccessPoint(), rdfStore.getDataService());
-        ServiceExecutorRegistry.set(action.getContext(), registry);
-        action.getContext().set(DataspaceServiceExecutor.TARGET_URL_SYMBOL, request.header(DataspaceServiceExecutor.TARGET_URL_SYMBOL.getSymbol()));
-        action.getContext().set(DataspaceServiceExecutor.AUTH_KEY_SYMBOL, targetProperties.getOrDefault(DataspaceServiceExecutor.AUTH_KEY_SYMBOL.getSymbol(), null));
-        action.getContext().set(DataspaceServiceExecutor.AUTH_CODE_SYMBOL, targetProperties.getOrDefault(DataspaceServiceExecutor.AUTH_CODE_SYMBOL.getSymbol(), null));
-        action.getContext().set(ARQConstants.sysOptimizerFactory, optimizerFactory);
-        if (targetProperties.containsKey(DataspaceServiceExecutor.ALLOW_SYMBOL.getSymbol())) {
-            action.getContext().set(DataspaceServiceExecutor.ALLOW_SYMBOL,
-                    Pattern.compile(String.valueOf(targetProperties.get(DataspaceServiceExecutor.ALLOW_SYMBOL.getSymbol()))));
-        } else {
-            action.getContext().set(DataspaceServiceExecutor.ALLOW_SYMBOL, config.getServiceAssetAllowPattern());
-        }
-        if (targetProperties.containsKey(DataspaceServiceExecutor.DENY_SYMBOL.getSymbol())) {
-            action.getContext().set(DataspaceServiceExecutor.DENY_SYMBOL,
-                    Pattern.compile(String.valueOf(targetProperties.get(DataspaceServiceExecutor.DENY_SYMBOL.getSymbol()))));
-        } else {
-            action.getContext().set(DataspaceServiceExecutor.DENY_SYMBOL, config.getServiceAssetDenyPattern());
-        }
-        if (graph != null) {
-            action.getContext().set(DataspaceServiceExecutor.ASSET_SYMBOL, graph);
-        }
         List<CatenaxWarning> previous = CatenaxWarning.getWarnings(action.getContext());
         CatenaxWarning.setWarnings(action.getContext(), null);
 
@@ -341,6 +385,32 @@ public class SparqlQueryProcessor extends SPARQL_QueryGeneral.SPARQL_QueryProc {
         return responseAdapter.toResponse();
     }
 
+    /**
+     * builds and populates a SPARQL action from an internal okhttp request
+     *
+     * @param request          ok request
+     * @param response         javax response to write into
+     * @param skill            skill ref
+     * @param graph            graph ref
+     * @param targetProperties a set of address properties of the asset to invoke
+     * @return populated action
+     */
+    protected AgentHttpAction createAction(Request request, javax.servlet.http.HttpServletResponse response, String skill, String graph, Map<String, Object> targetProperties) {
+        HttpServletContextAdapter contextAdapter = new HttpServletContextAdapter(request);
+        HttpServletRequestAdapter requestAdapter = new HttpServletRequestAdapter(request, contextAdapter);
+        contextAdapter.setAttribute(Fuseki.attrVerbose, config.isSparqlVerbose());
+        contextAdapter.setAttribute(Fuseki.attrOperationRegistry, operationRegistry);
+        contextAdapter.setAttribute(Fuseki.attrNameRegistry, dataAccessPointRegistry);
+
+        AgentHttpAction action = new AgentHttpAction(++count, monitorWrapper, requestAdapter, response, skill, graph);
+        action.setRequest(rdfStore.getDataAccessPoint(), rdfStore.getDataService());
+        ServiceExecutorRegistry.set(action.getContext(), registry);
+        action.getContext().set(DataspaceServiceExecutor.TARGET_URL_SYMBOL, request.header(DataspaceServiceExecutor.TARGET_URL_SYMBOL.getSymbol()));
+        setTargetProperties(action, graph, targetProperties);
+        setDeadline(action, request.header(QueryDeadline.BUDGET_HEADER));
+        return action;
+    }
+
     /**
      * execute GET-style with possibility of asset=local skill
      *
@@ -0,0 +1,398 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting;
+
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.tractusx.agents.remoting.config.ArgumentConfig;
+import org.eclipse.tractusx.agents.remoting.config.ServiceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the resolved java target of a class-based service: the method handle
+ * to invoke, the argument feeding each parameter and the converters for them.
+ * It is resolved once per service such that invocations do not need any reflection.
+ * A method whose parameters are all arrays or lists follows the batch calling convention:
+ * it is called once per batch with the arguments of all bindings and returns an array
+ * or list with one result per binding.
+ */
+public class ClassTarget {
+
+    protected static Logger logger = LoggerFactory.getLogger(ClassTarget.class);
+
+    /**
+     * converts a bound value into a parameter object
+     */
+    @FunctionalInterface
+    public interface ArgumentConverter {
+        Object convert(Value value) throws SailException;
+    }
+
+    /**
+     * the class of the target
+     */
+    protected final Class<?> targetClass;
+
+    /**
+     * the resolved method
+     */
+    protected final Method method;
+
+    /**
+     * the method taking an object array of (receiver and) parameters
+     */
+    protected final MethodHandle invoker;
+
+    /**
+     * the no-arg constructor, null for static methods or singletons
+     */
+    protected final MethodHandle constructor;
+
+    /**
+     * the instance shared by all invocations, null if none
+     */
+    protected final Object singleton;
+
+    /**
+     * the argument keys per parameter
+     */
+    protected final String[] arguments;
+
+    /**
+     * the converters per parameter (for batch methods: per element)
+     */
+    protected final ArgumentConverter[] converters;
+
+    /**
+     * the array or list type per parameter, only for batch methods
+     */
+    protected final Class<?>[] batchTypes;
+
+    /**
+     * the element type per parameter, only for batch methods
+     */
+    protected final Class<?>[] elementTypes;
+
+    /**
+     * creates a resolved target
+     */
+    protected ClassTarget(Class<?> targetClass, Method method, MethodHandle invoker, MethodHandle constructor, Object singleton,
+                          String[] arguments, ArgumentConverter[] converters, Class<?>[] batchTypes, Class<?>[] elementTypes) {
+        this.targetClass = targetClass;
+        this.method = method;
+        this.invoker = invoker;
+        this.constructor = constructor;
+        this.singleton = singleton;
+        this.arguments = arguments;
+        this.converters = converters;
+        this.batchTypes = batchTypes;
+        this.elementTypes = elementTypes;
+    }
+
+    /**
+     * resolves the target of a class-based service
+     *
+     * @param service config of the service
+     * @return resolved target
+     * @throws SailException if the class or a suitable method cannot be found
+     */
+    public static ClassTarget resolve(ServiceConfig service) throws SailException {
+        Class<?> targetClass;
+        try {
+            targetClass = ClassTarget.class.getClassLoader().loadClass(service.getMatcher().group("class"));
+        } catch (ClassNotFoundException e) {
+            throw new SailException(e);
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace(String.format("Found class %s ", targetClass));
+        }
+        String methodName = service.getMatcher().group("method");
+        Method scalarMethod = null;
+        String[] scalarArguments = null;
+        Method batchMethod = null;
+        String[] batchArguments = null;
+        for (Method meth : targetClass.getMethods()) {
+            if (meth.getName().equals(methodName)) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace(String.format("Found method %s ", meth));
+                }
+                String[] methodArguments = matchArguments(service, meth);
+                if (methodArguments != null) {
+                    if (isBatchMethod(meth)) {
+                        if (batchMethod == null) {
+                            batchMethod = meth;
+                            batchArguments = methodArguments;
+                        }
+                    } else if (scalarMethod == null) {
+                        scalarMethod = meth;
+                        scalarArguments = methodArguments;
+                    }
+                }
+            }
+        }
+        // batch methods are preferred when the service is batched
+        boolean isBatch = batchMethod != null && (service.getBatch() > 1 || scalarMethod == null);
+        Method method = isBatch ? batchMethod : scalarMethod;
+        if (method == null) {
+            throw new SailException(
+                    String.format("Target method %s with suitable arguments could not be found in class %s.",
+                            methodName, targetClass));
+        }
+        String[] arguments = isBatch ? batchArguments : scalarArguments;
+        Parameter[] parameters = method.getParameters();
+        ArgumentConverter[] converters = new ArgumentConverter[parameters.length];
+        Class<?>[] batchTypes = isBatch ? new Class<?>[parameters.length] : null;
+        Class<?>[] elementTypes = isBatch ? new Class<?>[parameters.length] : null;
+        for (int count = 0; count < parameters.length; count++) {
+            Class<?> type = parameters[count].getType();
+            if (isBatch) {
+                batchTypes[count] = type;
+                type = getElementType(parameters[count]);
+                elementTypes[count] = type;
+            }
+            converters[count] = createConverter(type, service.getArguments().get(arguments[count]).getStrip());
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle handle = lookup.unreflect(method);
+            MethodHandle invoker = handle.asType(handle.type().generic()).asSpreader(Object[].class, handle.type().parameterCount());
+            MethodHandle constructor = null;
+            Object singleton = null;
+            if (!Modifier.isStatic(method.getModifiers())) {
+                constructor = lookup.findConstructor(targetClass, MethodType.methodType(void.class));
+                constructor = constructor.asType(constructor.type().generic());
+                if (service.isSingleton()) {
+                    singleton = constructor.invoke();
+                    constructor = null;
+                }
+            }
+            return new ClassTarget(targetClass, method, invoker, constructor, singleton, arguments, converters, batchTypes, elementTypes);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new SailException(e);
+        } catch (Throwable e) {
+            throw new SailException(String.format("Could not instantiate class %s.", targetClass), e);
+        }
+    }
+
+    /**
+     * finds the arguments for all parameters of a method
+     *
+     * @param service config of the service
+     * @param method  candidate method
+     * @return argument keys per parameter, null if some parameter has no argument
+     */
+    protected static String[] matchArguments(ServiceConfig service, Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] arguments = new String[parameters.length];
+        for (int count = 0; count < parameters.length; count++) {
+            if (logger.isTraceEnabled()) {
+                logger.trace(String.format("Checking parameter %s", parameters[count]));
+            }
+            for (Map.Entry<String, ArgumentConfig> argument : service.getArguments().entrySet()) {
+                if (argument.getValue().getArgumentName().contains(parameters[count].getName())) {
+                    arguments[count] = argument.getKey();
+                    break;
+                }
+            }
+            if (logger.isTraceEnabled()) {
+                logger.trace(String.format("Parameter %s resulted to argument %s ", parameters[count], arguments[count]));
+            }
+            if (arguments[count] == null) {
+                return null;
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * checks the batch calling convention
+     *
+     * @param method candidate method
+     * @return whether all parameters are arrays or (exactly) lists
+     */
+    protected static boolean isBatchMethod(Method method) {
+        if (method.getParameterCount() == 0) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!type.isArray() && type != List.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * determines the element type of a batch parameter
+     *
+     * @param parameter an array or list parameter
+     * @return type of the elements
+     */
+    protected static Class<?> getElementType(Parameter parameter) {
+        if (parameter.getType().isArray()) {
+            return parameter.getType().getComponentType();
+        }
+        Type type = parameter.getParameterizedType();
+        if (type instanceof ParameterizedType) {
+            Type element = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (element instanceof Class) {
+                // boxed elements are converted like primitives
+                return MethodType.methodType((Class<?>) element).unwrap().returnType();
+            }
+        }
+        return Object.class;
+    }
+
+    /**
+     * creates the converter for a parameter type
+     *
+     * @param type  of the parameter
+     * @param strip an optional suffix to strip
+     * @return converter
+     */
+    protected static ArgumentConverter createConverter(Class<?> type, String strip) {
+        if (strip == null && type.isAssignableFrom(String.class)) {
+            return Value::stringValue;
+        }
+        return value -> Invocation.convertToObject(value, type, strip);
+    }
+
+    /**
+     * access
+     *
+     * @return whether the batch calling convention is used
+     */
+    public boolean isBatch() {
+        return batchTypes != null;
+    }
+
+    /**
+     * access
+     *
+     * @return argument keys per parameter
+     */
+    public String[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * access
+     *
+     * @return the resolved method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * provides the receiver for a number of calls
+     *
+     * @return target instance, null for static methods
+     * @throws SailException if the class cannot be instantiated
+     */
+    public Object getInstance() throws SailException {
+        if (constructor == null) {
+            return singleton;
+        }
+        try {
+            return constructor.invoke();
+        } catch (Throwable e) {
+            throw new SailException(String.format("Could not instantiate class %s.", targetClass), e);
+        }
+    }
+
+    /**
+     * converts the values of a single binding into parameters
+     *
+     * @param values values per parameter
+     * @return parameter objects
+     * @throws SailException if a conversion fails
+     */
+    public Object[] convert(Value[] values) throws SailException {
+        Object[] params = new Object[converters.length];
+        for (int count = 0; count < converters.length; count++) {
+            params[count] = converters[count].convert(values[count]);
+        }
+        return params;
+    }
+
+    /**
+     * converts the values of a batch of bindings into array or list parameters
+     *
+     * @param batch values per binding and parameter
+     * @return parameter objects
+     * @throws SailException if a conversion fails
+     */
+    public Object[] convert(Collection<Value[]> batch) throws SailException {
+        Object[] params = new Object[converters.length];
+        for (int count = 0; count < converters.length; count++) {
+            if (batchTypes[count].isArray()) {
+                Object array = Array.newInstance(elementTypes[count], batch.size());
+                int index = 0;
+                for (Value[] values : batch) {
+                    Array.set(array, index++, converters[count].convert(values[count]));
+                }
+                params[count] = array;
+            } else {
+                List<Object> list = new ArrayList<>(batch.size());
+                for (Value[] values : batch) {
+                    list.add(converters[count].convert(values[count]));
+                }
+                params[count] = list;
+            }
+        }
+        return params;
+    }
+
+    /**
+     * invokes the method
+     *
+     * @param instance receiver, null for static methods
+     * @param params   parameter objects
+     * @return result of the method
+     * @throws Throwable whatever the method throws
+     */
+    public Object invoke(Object instance, Object[] params) throws Throwable {
+        if (instance == null) {
+            return (Object) invoker.invokeExact(params);
+        }
+        Object[] receiverParams = new Object[params.length + 1];
+        receiverParams[0] = instance;
+        System.arraycopy(params, 0, receiverParams, 1, params.length);
+        return (Object) invoker.invokeExact(receiverParams);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "/" + method;
+    }
+}
@@ -32,7 +32,6 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
@@ -43,11 +42,12 @@ import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.tractusx.agents.remoting.callback.CallbackController;
 import org.eclipse.tractusx.agents.remoting.callback.CallbackToken;
-import org.eclipse.tractusx.agents.remoting.config.ArgumentComparator;
 import org.eclipse.tractusx.agents.remoting.config.ArgumentConfig;
+import org.eclipse.tractusx.agents.remoting.config.OutputConverter;
 import org.eclipse.tractusx.agents.remoting.config.ReturnValueConfig;
 import org.eclipse.tractusx.agents.remoting.config.ServiceConfig;
 import org.eclipse.tractusx.agents.remoting.util.BatchKey;
+import org.eclipse.tractusx.agents.remoting.util.DateConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Element;
@@ -55,22 +55,26 @@ import org.w3c.dom.NodeList;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.xml.parsers.DocumentBuilder;
@@ -130,12 +134,13 @@ public class Invocation {
     public static ObjectMapper objectMapper = new ObjectMapper();
 
     static {
-        objectMapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.sssX"));
+        // jackson clones the format for each use, conversions of literals use DateConverter
+        SimpleDateFormat jsonDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX");
+        jsonDateFormat.setTimeZone(TimeZone.getTimeZone(ZoneOffset.UTC));
+        objectMapper.setDateFormat(jsonDateFormat);
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
 
-    public static SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
     /**
      * creates a new invocaiton
      *
@@ -220,14 +225,14 @@ public class Invocation {
                         }
                     case "http://www.w3.org/2001/XMLSchema#dateTime":
                         try {
-                            return (TARGET) objectMapper.getNodeFactory().textNode(objectMapper.getDateFormat().format(objectMapper.getDateFormat().parse(renderString)));
-                        } catch (ParseException pe) {
+                            return (TARGET) objectMapper.getNodeFactory().textNode(DateConverter.convertDateTime(renderString));
+                        } catch (DateTimeParseException pe) {
                             throw new SailException(String.format("Could not convert %s to json date.", renderString), pe);
                         }
                     case "http://www.w3.org/2001/XMLSchema#date":
                         try {
-                            return (TARGET) objectMapper.getNodeFactory().textNode(dateFormat.format(dateFormat.parse(renderString)));
-                        } catch (ParseException pe) {
+                            return (TARGET) objectMapper.getNodeFactory().textNode(DateConverter.convertDate(renderString));
+                        } catch (DateTimeParseException pe) {
                             throw new SailException(String.format("Could not convert %s to json date.", renderString), pe);
                         }
                     case "https://json-schema.org/draft/2020-12/schema#Object":
@@ -341,14 +346,14 @@ public class Invocation {
      * @throws SailException in case the conversion cannot be done
      */
     public Value convertOutputToValue(Object target, String resultKey, IRI output) throws SailException {
-        if (service.getResult().getOutputProperty() != null) {
-            String[] resultPath = service.getResult().getOutputProperty().split("\\.");
-            target = traversePath(target, resultPath);
+        if (target instanceof ResultExtractor.ResultIndex) {
+            return convertResultToValue(((ResultExtractor.ResultIndex) target).get(resultKey), output);
         }
+        target = traversePath(target, service.getResult().getOutputPath());
         if (resultKey != null) {
             if (target.getClass().isArray()) {
                 if (service.getResult().getResultIdProperty() != null) {
-                    String[] resultPath = service.getResult().getResultIdProperty().split("\\.");
+                    String[] resultPath = service.getResult().getResultIdPath();
                     target = Arrays.stream(((Object[]) target)).filter(tt -> resultKey.equals(convertObjectToString(traversePath(tt, resultPath))))
                             .findFirst().get();
                 } else {
@@ -360,7 +365,7 @@ public class Invocation {
                 }
             } else if (target instanceof ArrayNode) {
                 if (service.getResult().getResultIdProperty() != null) {
-                    String[] resultPath = service.getResult().getResultIdProperty().split("\\.");
+                    String[] resultPath = service.getResult().getResultIdPath();
                     ArrayNode array = (ArrayNode) target;
                     boolean found = false;
                     for (int count = 0; count < array.size(); count++) {
@@ -382,7 +387,7 @@ public class Invocation {
                 }
             } else if (target instanceof Element) {
                 if (service.getResult().getResultIdProperty() != null) {
-                    String[] resultPath = service.getResult().getResultIdProperty().split("\\.");
+                    String[] resultPath = service.getResult().getResultIdPath();
                     NodeList nl = ((Element) target).getChildNodes();
                     boolean found = false;
                     for (int count = 0; count < nl.getLength(); count++) {
@@ -404,21 +409,28 @@ public class Invocation {
                 }
             }
         }
+        return convertResultToValue(target, output);
+    }
+
+    /**
+     * converter from a single (selected) result to a literal
+     *
+     * @param target the result
+     * @param output config name to use for mapping
+     * @return mapped value
+     * @throws SailException in case the conversion cannot be done
+     */
+    protected Value convertResultToValue(Object target, IRI output) throws SailException {
         // support nested output as json object for complex result types
-        String outputString = output.stringValue();
-        String path = null;
-        String dataType = "https://json-schema.org/draft/2020-12/schema#Object";
         boolean isCollectiveResult = service.getResultName().equals(output.stringValue());
-        if (!isCollectiveResult) {
-            ReturnValueConfig cf = null;
-            cf = service.getResult().getOutputs().get(output.stringValue());
-            if (cf == null) {
-                throw new SailException(String.format("No output specification for %s", output));
-            }
-            path = cf.getPath();
-            dataType = cf.getDataType();
+        if (isCollectiveResult) {
+            return OutputConverter.OBJECT.convert(target, connection.remotingSail.getValueFactory());
+        }
+        ReturnValueConfig cf = service.getResult().getOutputs().get(output.stringValue());
+        if (cf == null) {
+            throw new SailException(String.format("No output specification for %s", output));
         }
-        return convertOutputToValue(target, connection.remotingSail.getValueFactory(), path, dataType);
+        return cf.getConverter().convert(traversePath(target, cf.getCompiledPath()), connection.remotingSail.getValueFactory());
     }
 
     /**
@@ -435,43 +447,7 @@ public class Invocation {
         if (cfPath != null) {
             path = cfPath.split("\\.");
         }
-        Object pathObj = traversePath(target, path);
-        switch (dataType) {
-            case "https://json-schema.org/draft/2020-12/schema#Object":
-                return vf.createLiteral(convertObjectToString(pathObj), vf.createIRI("https://json-schema.org/draft/2020-12/schema#Object"));
-            case "http://www.w3.org/2001/XMLSchema#dateTime":
-                return vf.createLiteral(convertObjectToString(pathObj), vf.createIRI("http://www.w3.org/2001/XMLSchema#dateTime"));
-            case "http://www.w3.org/2001/XMLSchema#int":
-                try {
-                    return vf.createLiteral(Integer.parseInt(convertObjectToString(pathObj)));
-                } catch (NumberFormatException nfwe) {
-                    throw new SailException(String.format("Could not convert %s to integer.", String.valueOf(pathObj)));
-                }
-            case "http://www.w3.org/2001/XMLSchema#long":
-                try {
-                    return vf.createLiteral(Long.parseLong(convertObjectToString(pathObj)));
-                } catch (NumberFormatException nfwe) {
-                    throw new SailException(String.format("Could not convert %s to integer.", String.valueOf(pathObj)));
-                }
-            case "http://www.w3.org/2001/XMLSchema#double":
-                try {
-                    return vf.createLiteral(Double.parseDouble(convertObjectToString(pathObj)));
-                } catch (NumberFormatException nfwe) {
-                    throw new SailException(String.format("Could not convert %s to integer.", String.valueOf(pathObj)));
-                }
-            case "http://www.w3.org/2001/XMLSchema#float":
-                try {
-                    return vf.createLiteral(Float.parseFloat(convertObjectToString(pathObj)));
-                } catch (NumberFormatException nfwe) {
-                    throw new SailException(String.format("Could not convert %s to float.", String.valueOf(pathObj)));
-                }
-            case "http://www.w3.org/2001/XMLSchema#string":
-                return vf.createLiteral(convertObjectToString(pathObj));
-            case "http://www.w3.org/2001/XMLSchema#Element":
-                return vf.createLiteral(convertObjectToString(pathObj), vf.createIRI("http://www.w3.org/2001/XMLSchema#Element")); // xml rendering?
-            default:
-                throw new SailException(String.format("Data Type %s is not supported.", dataType));
-        }
+        return OutputConverter.forDataType(dataType).convert(traversePath(target, path), vf);
     }
 
     /**
@@ -514,229 +490,343 @@ public class Invocation {
         if (logger.isTraceEnabled()) {
             logger.trace(String.format("About to invoke REST call to connection %s at host %s", connection, host));
         }
-        try (CloseableHttpClient httpclient = HttpClients.createDefault()) {
-            String ourl = service.getMatcher().group("restType") + "://" + service.getMatcher().group("url");
-            if (logger.isTraceEnabled()) {
-                logger.trace(String.format("About to invoke REST call to %s ", ourl));
-            }
-            CloseableHttpResponse response = null;
-            CallbackToken asyncToken = null;
-            Iterator<Collection<MutableBindingSet>> batches;
-            batches = produceBatches(host);
-            for (int batchCount = 0; batches.hasNext(); batchCount++) {
-                Collection<MutableBindingSet> batch = batches.next();
-                final String[] url = { ourl };
-                switch (service.getMethod()) {
-                    case "GET":
-                        boolean isFirst = true;
-                        for (MutableBindingSet binding : batch) {
-                            if (logger.isTraceEnabled()) {
-                                logger.trace(String.format("About to process binding set %s", binding));
-                            }
-                            if (batch.size() > 1) {
-                                if (isFirst) {
-                                    url[0] = url[0] + "?(";
-                                } else {
-                                    url[0] = url[0] + "&(";
-                                }
-                            } else {
-                                if (isFirst) {
-                                    url[0] = url[0] + "?";
-                                } else {
-                                    url[0] = url[0] + "&";
-                                }
-                            }
-                            isFirst = false;
-                            final boolean[] isFirstArg = { true };
-                            service.getArguments().entrySet().stream().sorted(new ArgumentComparator()).forEach(argument -> {
-                                if (logger.isTraceEnabled()) {
-                                    logger.trace(String.format("About to process argument %s %s", argument.getKey(), argument.getValue()));
-                                }
-                                Var mapping = inputs.get(argument.getKey());
-                                Value value;
-                                if (mapping.hasValue()) {
-                                    value = mapping.getValue();
-                                } else {
-                                    value = binding.getValue(mapping.getName());
-                                }
-                                Object render = convertToObject(value, String.class, argument.getValue().getStrip());
-                                if (isFirstArg[0]) {
-                                    url[0] = url[0] + argument.getValue().getArgumentName();
-                                } else {
-                                    url[0] = url[0] + "&" + argument.getValue().getArgumentName();
-                                }
-                                isFirstArg[0] = false;
-                                url[0] = url[0] + "=" + render;
-                            });
-                            if (batch.size() > 1) {
-                                url[0] = url[0] + ")";
-                            }
-                        }
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(String.format("Instantiated REST call target with parameters to %s ", url[0]));
-                        }
-                        final HttpGet httpget = new HttpGet(url[0]);
-                        if (service.getAuthentication() != null) {
-                            httpget.addHeader(service.getAuthentication().getAuthKey(), service.getAuthentication().getAuthCode());
-                        }
+        // the pooled client is owned by the sail
+        CloseableHttpClient httpclient = connection.remotingSail.getHttpClient();
+        String ourl = service.getMatcher().group("restType") + "://" + service.getMatcher().group("url");
+        if (logger.isTraceEnabled()) {
+            logger.trace(String.format("About to invoke REST call to %s ", ourl));
+        }
+        // batches touch disjoint bindings, so they may be sent in parallel (up to the limit of the service)
+        List<Callable<Boolean>> calls = new ArrayList<>();
+        List<CompletableFuture<Void>> pending = Collections.synchronizedList(new ArrayList<>());
+        ResultCache cache = connection.remotingSail.getResultCache(service);
+        Collection<MutableBindingSet> misses = lookupCache(cache, host.getBindings());
+        Iterator<Collection<MutableBindingSet>> batches = produceBatches(misses);
+        for (int batchCount = 0; batches.hasNext(); batchCount++) {
+            Collection<MutableBindingSet> batch = batches.next();
+            int batchIndex = batchCount;
+            calls.add(() -> pending.add(executeBatch(connection, httpclient, ourl, batch, batchIndex)));
+        }
+        connection.remotingSail.executeAllLimited(service, calls);
+        // only the calling thread waits for asynchronous callbacks
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SailException(e);
+        } catch (ExecutionException e) {
+            throw new SailException(e.getCause());
+        }
+        storeCache(cache, misses);
+    }
 
-                        if (logger.isDebugEnabled()) {
-                            logger.debug(String.format("Performing %s ", httpget));
+    /**
+     * perform a single REST call for a batch of bindings
+     *
+     * @param connection sail connection in which to perform the invocation
+     * @param httpclient the http client to use
+     * @param ourl       url of the service
+     * @param batch      the bindings to process
+     * @param batchCount index of the batch
+     * @return completion of the batch (which is pending while waiting for an asynchronous callback)
+     */
+    protected CompletableFuture<Void> executeBatch(RemotingSailConnection connection, CloseableHttpClient httpclient, String ourl, Collection<MutableBindingSet> batch, int batchCount) throws SailException {
+        CallbackToken asyncToken = null;
+        CompletableFuture<Void> pending = null;
+        CloseableHttpResponse response = null;
+        try {
+            final String[] url = { ourl };
+            switch (service.getMethod()) {
+                case "GET":
+                    boolean isFirst = true;
+                    for (MutableBindingSet binding : batch) {
+                        if (logger.isTraceEnabled()) {
+                            logger.trace(String.format("About to process binding set %s", binding));
                         }
-                        response = httpclient.execute(httpget);
-                        break;
-
-                    case "POST-JSON":
-                    case "POST-JSON-MF":
-                        ObjectMapper objectMapper = new ObjectMapper();
-
-                        ObjectNode body = objectMapper.createObjectNode();
-                        ObjectNode message = body;
-                        ObjectNode input = body;
-                        ArrayNode array = objectMapper.createArrayNode();
-
-                        if (service.getInputProperty() != null) {
-                            String[] path = service.getInputProperty().split("\\.");
-                            for (int count = 0; count < path.length; count++) {
-                                message = input;
-                                input = objectMapper.createObjectNode();
-                                message.set(path[count], input);
-                            }
-                            if (service.getBatch() > 1) {
-                                message.set(path[path.length - 1], array);
+                        if (batch.size() > 1) {
+                            if (isFirst) {
+                                url[0] = url[0] + "?(";
+                            } else {
+                                url[0] = url[0] + "&(";
                             }
                         } else {
-                            if (service.getBatch() > 1) {
-                                throw new SailException(String.format("Cannot use batch mode without inputProperty."));
+                            if (isFirst) {
+                                url[0] = url[0] + "?";
+                            } else {
+                                url[0] = url[0] + "&";
                             }
                         }
-
-                        final ObjectNode finalinput = input;
-                        for (MutableBindingSet binding : batch) {
-                            AtomicBoolean isCorrect = new AtomicBoolean(true);
-                            service.getArguments().entrySet().stream().sorted(new ArgumentComparator()).forEach(argument -> {
-                                if (logger.isTraceEnabled()) {
-                                    logger.trace(String.format("About to process argument %s %s", argument.getKey(), argument.getValue()));
-                                }
-                                processArgument(objectMapper, finalinput, binding, isCorrect, argument.getKey(), argument.getValue());
-                            });
-                            if (isCorrect.get()) {
-                                array.add(input);
+                        isFirst = false;
+                        final boolean[] isFirstArg = { true };
+                        service.getSortedArguments().forEach(argument -> {
+                            if (logger.isTraceEnabled()) {
+                                logger.trace(String.format("About to process argument %s %s", argument.getKey(), argument.getValue()));
                             }
-                        }
-
-                        String invocationId = key.stringValue() + String.format("&batch=%d", batchCount);
-                        if (service.getInvocationIdProperty() != null) {
-                            if (!message.isObject()) {
-                                throw new SailException(String.format("Cannot use invocationIdProperty in batch mode without inputProperty."));
+                            Var mapping = inputs.get(argument.getKey());
+                            Value value;
+                            if (mapping.hasValue()) {
+                                value = mapping.getValue();
                             } else {
-                                setNode(objectMapper, ((ObjectNode) message), service.getInvocationIdProperty(), objectMapper.getNodeFactory().textNode(invocationId));
+                                value = getValue(binding, mapping.getName());
                             }
-                        }
-
-                        if (service.getCallbackProperty() != null) {
-                            setNode(objectMapper, ((ObjectNode) message), service.getCallbackProperty(), objectMapper.getNodeFactory().textNode(connection.remotingSail.config.getCallbackAddress()));
-                            if (service.getResult().getCallbackProperty() != null) {
-                                asyncToken = CallbackController.register(service.getResult().getCallbackProperty(), invocationId);
+                            Object render = convertToObject(value, String.class, argument.getValue().getStrip());
+                            if (isFirstArg[0]) {
+                                url[0] = url[0] + argument.getValue().getArgumentName();
+                            } else {
+                                url[0] = url[0] + "&" + argument.getValue().getArgumentName();
                             }
+                            isFirstArg[0] = false;
+                            url[0] = url[0] + "=" + render;
+                        });
+                        if (batch.size() > 1) {
+                            url[0] = url[0] + ")";
                         }
+                    }
+                    if (logger.isTraceEnabled()) {
+                        logger.trace(String.format("Instantiated REST call target with parameters to %s ", url[0]));
+                    }
+                    final HttpGet httpget = new HttpGet(url[0]);
+                    httpget.setConfig(connection.remotingSail.getRequestConfig(service));
+                    if (service.getAuthentication() != null) {
+                        httpget.addHeader(service.getAuthentication().getAuthKey(), service.getAuthentication().getAuthCode());
+                    }
 
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(String.format("Derived body %s", body));
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(String.format("Performing %s ", httpget));
+                    }
+                    response = httpclient.execute(httpget);
+                    break;
+
+                case "POST-JSON":
+                case "POST-JSON-MF":
+                    ObjectNode body = objectMapper.createObjectNode();
+                    ObjectNode message = body;
+                    ObjectNode input = body;
+                    ArrayNode array = objectMapper.createArrayNode();
+
+                    if (service.getInputProperty() != null) {
+                        String[] path = service.getInputPath();
+                        for (int count = 0; count < path.length; count++) {
+                            message = input;
+                            input = objectMapper.createObjectNode();
+                            message.set(path[count], input);
+                        }
+                        if (service.getBatch() > 1) {
+                            message.set(path[path.length - 1], array);
+                        }
+                    } else {
+                        if (service.getBatch() > 1) {
+                            throw new SailException(String.format("Cannot use batch mode without inputProperty."));
                         }
+                    }
 
-                        final HttpPost httppost = new HttpPost(url[0]);
-                        httppost.addHeader("accept", "application/json");
-                        if (service.getAuthentication() != null) {
-                            httppost.addHeader(service.getAuthentication().getAuthKey(), service.getAuthentication().getAuthCode());
+                    final ObjectNode finalinput = input;
+                    for (MutableBindingSet binding : batch) {
+                        AtomicBoolean isCorrect = new AtomicBoolean(true);
+                        service.getSortedArguments().forEach(argument -> {
+                            if (logger.isTraceEnabled()) {
+                                logger.trace(String.format("About to process argument %s %s", argument.getKey(), argument.getValue()));
+                            }
+                            processArgument(objectMapper, finalinput, binding, isCorrect, argument.getKey(), argument.getValue());
+                        });
+                        if (isCorrect.get()) {
+                            array.add(input);
                         }
+                    }
 
-                        if (service.getMethod().equals("POST-JSON")) {
-                            httppost.addHeader("Content-Type", "application/json");
-                            httppost.setEntity(new StringEntity(objectMapper.writeValueAsString(body)));
+                    String invocationId = key.stringValue() + String.format("&batch=%d", batchCount);
+                    if (service.getInvocationIdProperty() != null) {
+                        if (!message.isObject()) {
+                            throw new SailException(String.format("Cannot use invocationIdProperty in batch mode without inputProperty."));
                         } else {
-                            MultipartEntityBuilder mpeb = MultipartEntityBuilder.create();
-                            mpeb.setBoundary("XXX");
-                            Iterator<String> fields = body.fieldNames();
-                            while (fields.hasNext()) {
-                                String field = fields.next();
-                                JsonNode node = body.get(field);
-                                String content = objectMapper.writeValueAsString(node);
-                                mpeb.addBinaryBody(field, content.getBytes(), ContentType.APPLICATION_JSON, field + ".json");
-                            }
-                            httppost.setEntity(mpeb.build());
+                            setNode(objectMapper, ((ObjectNode) message), service.getInvocationIdProperty(), objectMapper.getNodeFactory().textNode(invocationId));
                         }
-                        if (logger.isDebugEnabled()) {
-                            logger.debug(String.format("Performing %s ", httppost));
+                    }
+
+                    if (service.getCallbackProperty() != null) {
+                        setNode(objectMapper, ((ObjectNode) message), service.getCallbackProperty(), objectMapper.getNodeFactory().textNode(connection.remotingSail.config.getCallbackAddress()));
+                        if (service.getResult().getCallbackProperty() != null) {
+                            asyncToken = CallbackController.register(service.getResult().getCallbackProperty(), invocationId);
                         }
-                        response = httpclient.execute(httppost);
-                        break;
+                    }
 
-                    default:
-                        throw new SailException(String.format("Cannot invoke method %s", service.getMethod()));
-                }
+                    if (logger.isTraceEnabled()) {
+                        logger.trace(String.format("Derived body %s", body));
+                    }
 
-                int lsuccess = response.getStatusLine().getStatusCode();
-                if (lsuccess >= 200 && lsuccess < 300) {
-                    try {
-                        Object result;
+                    final HttpPost httppost = new HttpPost(url[0]);
+                    httppost.setConfig(connection.remotingSail.getRequestConfig(service));
+                    httppost.addHeader("accept", "application/json");
+                    if (service.getAuthentication() != null) {
+                        httppost.addHeader(service.getAuthentication().getAuthKey(), service.getAuthentication().getAuthCode());
+                    }
 
-                        final HttpEntity entity = response.getEntity();
-                        boolean isJson = false;
-                        boolean isXml = false;
-                        for (Header contentType : response.getHeaders("Content-Type")) {
-                            if (contentType.getValue().contains("json")) {
-                                isJson = true;
-                            } else if (contentType.getValue().contains("xml")) {
-                                isXml = true;
-                            }
+                    if (service.getMethod().equals("POST-JSON")) {
+                        httppost.addHeader("Content-Type", "application/json");
+                        httppost.setEntity(new StringEntity(objectMapper.writeValueAsString(body)));
+                    } else {
+                        MultipartEntityBuilder mpeb = MultipartEntityBuilder.create();
+                        mpeb.setBoundary("XXX");
+                        Iterator<String> fields = body.fieldNames();
+                        while (fields.hasNext()) {
+                            String field = fields.next();
+                            JsonNode node = body.get(field);
+                            String content = objectMapper.writeValueAsString(node);
+                            mpeb.addBinaryBody(field, content.getBytes(), ContentType.APPLICATION_JSON, field + ".json");
                         }
+                        httppost.setEntity(mpeb.build());
+                    }
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(String.format("Performing %s ", httppost));
+                    }
+                    response = httpclient.execute(httppost);
+                    break;
 
-                        if (isXml) {
-                            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-                            DocumentBuilder builder = factory.newDocumentBuilder();
-                            ByteArrayInputStream in = new ByteArrayInputStream(EntityUtils.toByteArray(entity));
-                            result = builder.parse(in).getDocumentElement();
-                        } else if (isJson) {
-                            ObjectMapper mapper = new ObjectMapper();
-                            ByteArrayInputStream in = new ByteArrayInputStream(EntityUtils.toByteArray(entity));
-                            result = mapper.readTree(in);
-                        } else {
-                            result = EntityUtils.toString(entity);
-                        }
+                default:
+                    throw new SailException(String.format("Cannot invoke method %s", service.getMethod()));
+            }
 
-                        if (asyncToken != null) {
-                            result = CallbackController.synchronize(asyncToken);
+            int lsuccess = response.getStatusLine().getStatusCode();
+            if (lsuccess >= 200 && lsuccess < 300) {
+                try {
+                    Object result = null;
+
+                    final HttpEntity entity = response.getEntity();
+                    boolean isJson = false;
+                    boolean isXml = false;
+                    for (Header contentType : response.getHeaders("Content-Type")) {
+                        if (contentType.getValue().contains("json")) {
+                            isJson = true;
+                        } else if (contentType.getValue().contains("xml")) {
+                            isXml = true;
                         }
+                    }
 
-                        if (result == null) {
-                            logger.warn(String.format("Did not get any response."));
-                            success = Math.max(success, 500);
-                        } else {
-                            for (MutableBindingSet binding : batch) {
-                                String key = null;
-                                if (service.getResult().getCorrelationInput() != null) {
-                                    key = resolve(binding, service.getResult().getCorrelationInput(), null, String.class, null);
-                                } else if (service.getBatch() > 1) {
-                                    key = "0";
-                                }
-                                for (Map.Entry<Var, IRI> output : outputs.entrySet()) {
-                                    binding.addBinding(output.getKey().getName(), convertOutputToValue(result, key, output.getValue()));
-                                }
-                            }
+                    ResultExtractor extractor = connection.remotingSail.getResultExtractor(service);
+                    if (asyncToken != null) {
+                        // the result arrives through the callback, so neither the connection
+                        // nor this thread (and its concurrency permit) is held while waiting
+                        EntityUtils.consumeQuietly(entity);
+                        pending = CallbackController.await(asyncToken, service.getCallbackTimeout())
+                                .thenAccept(callback -> processResult(extractor, ourl, batch, callback));
+                        asyncToken = null;
+                    } else if (extractor.canStream(isJson, isXml)) {
+                        // batch responses are indexed while streaming instead of building the full tree
+                        try (InputStream in = entity.getContent()) {
+                            result = extractor.extract(in, isJson);
                         }
-                    } catch (Exception e) {
-                        logger.warn(String.format("Got an exception %s when processing invocation results of %s. Ignoring.", e, ourl));
-                        success = Math.max(success, 500);
+                    } else if (isXml) {
+                        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                        DocumentBuilder builder = factory.newDocumentBuilder();
+                        ByteArrayInputStream in = new ByteArrayInputStream(EntityUtils.toByteArray(entity));
+                        result = builder.parse(in).getDocumentElement();
+                    } else if (isJson) {
+                        ByteArrayInputStream in = new ByteArrayInputStream(EntityUtils.toByteArray(entity));
+                        result = objectMapper.readTree(in);
+                    } else {
+                        result = EntityUtils.toString(entity);
                     }
-                } else {
-                    logger.warn(String.format("Got an unsuccessful status %d from invoking %s. Ignoring.", lsuccess, ourl));
-                    success = Math.max(lsuccess, success);
+
+                    if (pending == null) {
+                        processResult(extractor, ourl, batch, result);
+                    }
+                } catch (Exception e) {
+                    logger.warn(String.format("Got an exception %s when processing invocation results of %s. Ignoring.", e, ourl));
+                    recordStatus(500);
                 }
+            } else {
+                logger.warn(String.format("Got an unsuccessful status %d from invoking %s. Ignoring.", lsuccess, ourl));
+                recordStatus(lsuccess);
             }
         } catch (IOException ioe) {
             logger.warn(String.format("Got an exception %s when processing invocation. Ignoring.", ioe));
-            success = Math.max(500, success);
+            recordStatus(500);
+        } finally {
+            if (response != null) {
+                // give the connection back to the pool
+                EntityUtils.consumeQuietly(response.getEntity());
+                try {
+                    response.close();
+                } catch (IOException ioe) {
+                    logger.debug(String.format("Could not close response of %s: %s", ourl, ioe));
+                }
+            }
+            if (asyncToken != null) {
+                // drop calls which have been rejected
+                CallbackController.unregister(asyncToken);
+            }
+        }
+        return pending != null ? pending : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * correlates the (synchronous or asynchronous) result of a batch with its bindings
+     *
+     * @param extractor  the result extractor of the service
+     * @param ourl       url of the service
+     * @param batch      the bindings to process
+     * @param result     the response, null if there was none
+     */
+    protected void processResult(ResultExtractor extractor, String ourl, Collection<MutableBindingSet> batch, Object result) {
+        try {
+            if (result == null) {
+                logger.warn(String.format("Did not get any response."));
+                recordStatus(500);
+            } else {
+                if (extractor.isBatched() && !(result instanceof ResultExtractor.ResultIndex)) {
+                    // correlate once per response instead of once per binding and output
+                    result = extractor.index(result);
+                }
+                for (MutableBindingSet binding : batch) {
+                    String key = null;
+                    if (service.getResult().getCorrelationInput() != null) {
+                        key = resolve(binding, service.getResult().getCorrelationInput(), null, String.class, null);
+                    } else if (service.getBatch() > 1) {
+                        key = "0";
+                    }
+                    for (Map.Entry<Var, IRI> output : outputs.entrySet()) {
+                        addBinding(binding, output.getKey().getName(), convertOutputToValue(result, key, output.getValue()));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn(String.format("Got an exception %s when processing invocation results of %s. Ignoring.", e, ourl));
+            recordStatus(500);
+        }
+    }
+
+    /**
+     * records the status of a (partial) invocation
+     *
+     * @param status http-like status code
+     */
+    protected synchronized void recordStatus(int status) {
+        success = Math.max(success, status);
+    }
+
+    /**
+     * reads a binding which may be shared with parallel invocations
+     *
+     * @param binding the binding set
+     * @param name    variable name
+     * @return bound value, null if unbound
+     */
+    protected static Value getValue(MutableBindingSet binding, String name) {
+        synchronized (binding) {
+            return binding.getValue(name);
+        }
+    }
+
+    /**
+     * adds to a binding which may be shared with parallel invocations
+     *
+     * @param binding the binding set
+     * @param name    variable name
+     * @param value   value to bind
+     */
+    protected static void addBinding(MutableBindingSet binding, String name, Value value) {
+        synchronized (binding) {
+            binding.addBinding(name, value);
         }
     }
 
@@ -753,20 +843,20 @@ public class Invocation {
     protected void processArgument(ObjectMapper objectMapper, ObjectNode finalinput, MutableBindingSet binding, AtomicBoolean isCorrect, String argumentKey, ArgumentConfig argumentConfig) {
         JsonNode render = resolve(binding, argumentKey, (JsonNode) argumentConfig.getDefaultValue(), JsonNode.class, argumentConfig.getStrip());
         if (render != null) {
-            String paths = argumentConfig.getArgumentName();
-            Matcher matcher = ARGUMENT_PATTERN.matcher(paths);
-            StringBuilder resultPaths = new StringBuilder();
-            int end = 0;
-            while (matcher.find()) {
-                resultPaths.append(paths.substring(end, matcher.start()));
-                String toResolve = matcher.group("arg");
-                ArgumentConfig targetArg = service.getArguments().get(toResolve);
-                String result = resolve(binding, toResolve, (String) targetArg.getDefaultValue(), String.class, targetArg.getStrip());
-                resultPaths.append(result);
-                end = matcher.end();
+            String[][] paths = argumentConfig.getPaths();
+            if (paths == null) {
+                // the target path depends on other arguments
+                String[] parts = argumentConfig.getNameParts();
+                String[] references = argumentConfig.getNameReferences();
+                StringBuilder resultPaths = new StringBuilder(parts[0]);
+                for (int count = 0; count < references.length; count++) {
+                    ArgumentConfig targetArg = service.getArguments().get(references[count]);
+                    resultPaths.append(resolve(binding, references[count], (String) targetArg.getDefaultValue(), String.class, targetArg.getStrip()));
+                    resultPaths.append(parts[count + 1]);
+                }
+                paths = ArgumentConfig.compilePaths(resultPaths.toString());
             }
-            resultPaths.append(paths.substring(end));
-            setNode(objectMapper, finalinput, resultPaths.toString(), render);
+            setNode(objectMapper, finalinput, paths, render);
         } else {
             if (argumentConfig.isMandatory()) {
                 // TODO optional arguments
@@ -794,7 +884,7 @@ public class Invocation {
             if (variable.hasValue()) {
                 value = variable.getValue();
             } else {
-                value = binding.getValue(variable.getName());
+                value = getValue(binding, variable.getName());
             }
         }
 
@@ -816,18 +906,72 @@ public class Invocation {
         return null;
     }
 
+    /**
+     * binds the cached results and collects the bindings which need to be invoked
+     *
+     * @param cache    result cache of the service, may be null
+     * @param bindings the bindings to process
+     * @return the bindings without a cached result
+     */
+    protected Collection<MutableBindingSet> lookupCache(ResultCache cache, Collection<MutableBindingSet> bindings) {
+        if (cache == null) {
+            return bindings;
+        }
+        List<MutableBindingSet> misses = new ArrayList<>();
+        for (MutableBindingSet binding : bindings) {
+            Map<IRI, Value> cached = cache.get(cache.getKey(inputs, binding), outputs.values());
+            if (cached == null) {
+                misses.add(binding);
+            } else {
+                for (Map.Entry<Var, IRI> output : outputs.entrySet()) {
+                    addBinding(binding, output.getKey().getName(), cached.get(output.getValue()));
+                }
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * caches the results of invoked bindings (unless the invocation failed)
+     *
+     * @param cache    result cache of the service, may be null
+     * @param bindings the invoked bindings
+     */
+    protected void storeCache(ResultCache cache, Collection<MutableBindingSet> bindings) {
+        if (cache == null) {
+            return;
+        }
+        for (MutableBindingSet binding : bindings) {
+            Map<IRI, Value> values = new HashMap<>();
+            for (Map.Entry<Var, IRI> output : outputs.entrySet()) {
+                Value value = getValue(binding, output.getKey().getName());
+                if (value == null) {
+                    values = null;
+                    break;
+                }
+                values.put(output.getValue(), value);
+            }
+            if (values != null) {
+                cache.put(cache.getKey(inputs, binding), values);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Result cache of service %s is %s", service, cache));
+        }
+    }
+
     /**
      * produces a set of batches to call
      *
-     * @param host binding host
+     * @param bindings the bindings to process
      * @return an iterator over the batches as collections of bindingsets
      */
-    protected Iterator<Collection<MutableBindingSet>> produceBatches(BindingHost host) {
+    protected Iterator<Collection<MutableBindingSet>> produceBatches(Collection<MutableBindingSet> bindings) {
         var batchGroup = service.getArguments().entrySet().stream().filter(argument -> argument.getValue().isFormsBatchGroup())
                 .collect(Collectors.toList());
         final Map<Object, Collection<MutableBindingSet>> batches = new HashMap<>();
         long bindingCount = 0;
-        for (MutableBindingSet binding : host.getBindings()) {
+        for (MutableBindingSet binding : bindings) {
             bindingCount++;
             Object key;
             if (batchGroup.isEmpty()) {
@@ -926,9 +1070,19 @@ public class Invocation {
      * @param render       the target object
      */
     public static void setNode(ObjectMapper objectMapper, ObjectNode finalInput, String pathSpec, JsonNode render) {
-        String[] pathNames = pathSpec.split(",");
-        for (String pathName : pathNames) {
-            String[] argPath = pathName.split("\\.");
+        setNode(objectMapper, finalInput, ArgumentConfig.compilePaths(pathSpec), render);
+    }
+
+    /**
+     * sets a given node under possible recursive paths
+     *
+     * @param objectMapper factory
+     * @param finalInput   target subject
+     * @param paths        the precompiled paths
+     * @param render       the target object
+     */
+    public static void setNode(ObjectMapper objectMapper, ObjectNode finalInput, String[][] paths, JsonNode render) {
+        for (String[] argPath : paths) {
             JsonNode traverse = finalInput;
             int depth = 0;
             if (argPath.length == depth) {
@@ -1029,93 +1183,69 @@ public class Invocation {
         if (logger.isTraceEnabled()) {
             logger.trace(String.format("About to invoke Java call to connection %s at host %s", connection, host));
         }
-        Class targetClass = null;
-        try {
-            targetClass = getClass().getClassLoader().loadClass(service.getMatcher().group("class"));
-        } catch (ClassNotFoundException e) {
-            throw new SailException(e);
-        }
-        if (logger.isTraceEnabled()) {
-            logger.trace(String.format("Found class %s ", targetClass));
-        }
-        Object targetInstance = null;
-        try {
-            targetInstance = targetClass.getConstructor().newInstance();
-        } catch (NoSuchMethodException e) {
-            throw new SailException(e);
-        } catch (IllegalAccessException e) {
-            throw new SailException(e);
-        } catch (InstantiationException e) {
-            throw new SailException(e);
-        } catch (InvocationTargetException e) {
-            throw new SailException(e.getCause());
+        ClassTarget target = connection.remotingSail.getClassTarget(service);
+        Object targetInstance = target.getInstance();
+        String[] arguments = target.getArguments();
+        Var[] args = new Var[arguments.length];
+        for (int count = 0; count < arguments.length; count++) {
+            args[count] = inputs.get(arguments[count]);
         }
-        for (MutableBindingSet binding : host.getBindings()) {
-            Method targetMethod = null;
-            Object[] targetParams = null;
-            try {
-                for (Method meth : targetClass.getMethods()) {
-                    if (meth.getName().equals(service.getMatcher().group("method"))) {
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(String.format("Found method %s ", meth));
-                        }
-                        targetParams = new Object[meth.getParameterTypes().length];
-                        int argIndex = 0;
-                        for (Parameter param : meth.getParameters()) {
-                            if (logger.isTraceEnabled()) {
-                                logger.trace(String.format("Checking parameter %s", param));
-                            }
-                            ArgumentConfig aconfig = null;
-                            for (Map.Entry<String, ArgumentConfig> argument : service.getArguments().entrySet()) {
-                                if (logger.isTraceEnabled()) {
-                                    logger.trace(String.format("Agains argument %s %s", argument.getKey(),
-                                            argument.getValue().getArgumentName()));
-                                }
-                                if (argument.getValue().getArgumentName().contains(param.getName())) {
-                                    aconfig = argument.getValue();
-                                    Var arg = inputs.get(argument.getKey());
-                                    Value value;
-                                    if (!arg.hasValue()) {
-                                        value = binding.getValue(arg.getName());
-                                    } else {
-                                        value = arg.getValue();
-                                    }
-                                    targetParams[argIndex++] = convertToObject(value, param.getType(), aconfig.getStrip());
-                                    break;
-                                }
-                            }
-                            if (logger.isTraceEnabled()) {
-                                logger.trace(String.format("Parameter %s resulted to argument %s ", param, aconfig));
-                            }
-                            if (aconfig == null) {
-                                targetParams = null;
-                                break;
-                            }
-                        }
-                        if (targetParams != null) {
-                            targetMethod = meth;
-                            break;
+        ResultCache cache = connection.remotingSail.getResultCache(service);
+        Collection<MutableBindingSet> misses = lookupCache(cache, host.getBindings());
+        if (target.isBatch()) {
+            Iterator<Collection<MutableBindingSet>> batches = produceBatches(misses);
+            while (batches.hasNext()) {
+                Collection<MutableBindingSet> batch = batches.next();
+                List<Value[]> values = new ArrayList<>(batch.size());
+                for (MutableBindingSet binding : batch) {
+                    values.add(getValues(binding, args));
+                }
+                Object[] targetParams = target.convert(values);
+                try {
+                    ResultExtractor.ResultIndex result = connection.remotingSail.getResultExtractor(service)
+                            .index(target.invoke(targetInstance, targetParams));
+                    int index = 0;
+                    for (MutableBindingSet binding : batch) {
+                        String key = String.valueOf(index++);
+                        for (Map.Entry<Var, IRI> output : outputs.entrySet()) {
+                            addBinding(binding, output.getKey().getName(), convertOutputToValue(result, key, output.getValue()));
                         }
                     }
+                } catch (Throwable e) {
+                    logger.warn(String.format("Batch invocation to %s (method %s) resulted in exception %s", targetInstance, target.getMethod(), e));
+                    recordStatus(500);
                 }
-                if (targetMethod == null) {
-                    throw new SailException(
-                            String.format("Target method %s with suitable arguments could not be found in class %s.",
-                                    service.getMatcher().group("method"), targetClass));
-                }
-            } finally {
-                // in case we need to cleanup something
             }
-            try {
-                Object result = targetMethod.invoke(targetInstance, targetParams);
-                for (Map.Entry<Var, IRI> output : outputs.entrySet()) {
-                    binding.addBinding(output.getKey().getName(), convertOutputToValue(result, null, output.getValue()));
+        } else {
+            for (MutableBindingSet binding : misses) {
+                Object[] targetParams = target.convert(getValues(binding, args));
+                try {
+                    Object result = target.invoke(targetInstance, targetParams);
+                    for (Map.Entry<Var, IRI> output : outputs.entrySet()) {
+                        addBinding(binding, output.getKey().getName(), convertOutputToValue(result, null, output.getValue()));
+                    }
+                } catch (Throwable e) {
+                    logger.warn(String.format("Invocation to %s (method %s) resulted in exception %s", targetInstance, target.getMethod(), e));
+                    recordStatus(500);
                 }
-            } catch (Exception e) {
-                logger.warn(String.format("Invocation to %s (method %s) resulted in exception %s", targetInstance, targetMethod, e));
-                success = Math.max(500, success);
             }
         }
+        storeCache(cache, misses);
+    }
+
+    /**
+     * collects the argument values of a binding
+     *
+     * @param binding the binding set
+     * @param args    argument variables (constant or bound)
+     * @return values per argument
+     */
+    protected static Value[] getValues(MutableBindingSet binding, Var[] args) {
+        Value[] values = new Value[args.length];
+        for (int count = 0; count < args.length; count++) {
+            values[count] = args[count].hasValue() ? args[count].getValue() : getValue(binding, args[count].getName());
+        }
+        return values;
     }
 
-}
\ No newline at end of file
+}
@@ -115,6 +115,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 /**
  * The query processing is done while visiting
@@ -488,12 +489,45 @@ public class QueryExecutor implements QueryModelVisitor<SailException>, BindingH
     public void meet(Projection node) throws SailException {
         logger.debug(String.format("Visiting a projection %s", node.getClass()));
         node.getArg().visit(this);
-        for (Invocation invocation : invocations.values()) {
-            invocation.execute(connection, this);
+        // when streaming, the invocations are executed chunk by chunk while iterating the results
+        if (connection.remotingSail.config.getStreamingChunk() <= 0) {
+            executeInvocations(this);
         }
         node.getProjectionElemList().visit(this);
     }
 
+    /**
+     * executes the invocations in waves, where the invocations of a wave
+     * run in parallel and only depend on the outputs of earlier waves
+     *
+     * @param host the bindings to execute the invocations for
+     */
+    protected void executeInvocations(BindingHost host) throws SailException {
+        List<Invocation> pending = new ArrayList<>(invocations.values());
+        while (!pending.isEmpty()) {
+            Set<String> pendingOutputs = new HashSet<>();
+            for (Invocation invocation : pending) {
+                invocation.outputs.keySet().forEach(output -> pendingOutputs.add(output.getName()));
+            }
+            List<Invocation> wave = new ArrayList<>();
+            for (Invocation invocation : pending) {
+                if (invocation.inputs.values().stream().noneMatch(input -> !input.hasValue() && pendingOutputs.contains(input.getName()))) {
+                    wave.add(invocation);
+                }
+            }
+            if (wave.isEmpty()) {
+                // cyclic dependencies, fall back to one after the other
+                wave.add(pending.get(0));
+            }
+            pending.removeAll(wave);
+            List<Callable<Boolean>> calls = new ArrayList<>();
+            for (Invocation invocation : wave) {
+                calls.add(() -> invocation.execute(connection, host));
+            }
+            connection.remotingSail.executeAll(calls);
+        }
+    }
+
     @Override
     public void meet(ProjectionElem node) throws SailException {
         logger.debug(String.format("Visiting a projection element %s", node.getClass()));
@@ -16,13 +16,41 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.agents.remoting;
 
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.helpers.AbstractSail;
 import org.eclipse.tractusx.agents.remoting.config.RemotingSailConfig;
+import org.eclipse.tractusx.agents.remoting.config.ServiceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Implements a pseudo-storage that is backed by a remote service
  */
@@ -40,6 +68,46 @@ public class RemotingSail extends AbstractSail {
      */
     protected RemotingSailConfig config;
 
+    /**
+     * the pooled http client shared by all rest invocations
+     */
+    protected final CloseableHttpClient httpClient;
+
+    /**
+     * keep alive times per service host
+     */
+    protected final Map<HttpHost, Long> keepAlives = new HashMap<>();
+
+    /**
+     * request configs (timeouts) per service
+     */
+    protected final Map<ServiceConfig, RequestConfig> requestConfigs = new ConcurrentHashMap<>();
+
+    /**
+     * bounded threads for parallel invocations and batches
+     */
+    protected final ExecutorService executor;
+
+    /**
+     * limits of parallel calls per service
+     */
+    protected final Map<ServiceConfig, Semaphore> limits = new ConcurrentHashMap<>();
+
+    /**
+     * resolved java targets per class-based service
+     */
+    protected final Map<ServiceConfig, ClassTarget> classTargets = new ConcurrentHashMap<>();
+
+    /**
+     * streaming result extractors per rest service
+     */
+    protected final Map<ServiceConfig, ResultExtractor> resultExtractors = new ConcurrentHashMap<>();
+
+    /**
+     * result caches per deterministic service
+     */
+    protected final Map<ServiceConfig, ResultCache> resultCaches = new ConcurrentHashMap<>();
+
     /**
      * creates the remoting sail
      *
@@ -50,6 +118,273 @@ public class RemotingSail extends AbstractSail {
         if (logger.isDebugEnabled()) {
             logger.debug(String.format("Starting remoting inference on config %s", this.config));
         }
+        this.httpClient = createHttpClient();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(config.getThreadPoolSize(), config.getThreadPoolSize(), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, String.format("remoting-%d", threadCount.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * creates a connection-pooling http client whose per-host limits
+     * and keep alive times are taken from the service configs
+     *
+     * @return http client
+     */
+    protected CloseableHttpClient createHttpClient() {
+        Map<HttpHost, Integer> maxConnections = new HashMap<>();
+        for (String serviceName : config.listServices()) {
+            ServiceConfig service = config.getService(serviceName);
+            HttpHost host = getHost(service.getTargetUri());
+            if (host != null) {
+                maxConnections.merge(host, service.getMaxConnections(), Math::max);
+                keepAlives.merge(host, service.getKeepAlive(), Math::max);
+            }
+        }
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        int maxTotal = 0;
+        for (Map.Entry<HttpHost, Integer> hostConnections : maxConnections.entrySet()) {
+            HttpHost host = hostConnections.getKey();
+            // the route must be marked secure to match the route which the client uses for https
+            connectionManager.setMaxPerRoute(new HttpRoute(host, null, "https".equalsIgnoreCase(host.getSchemeName())), hostConnections.getValue());
+            maxTotal += hostConnections.getValue();
+        }
+        connectionManager.setMaxTotal(Math.max(maxTotal, connectionManager.getMaxTotal()));
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            HttpHost target = HttpClientContext.adapt(context).getTargetHost();
+            Long configured = target != null ? keepAlives.get(normalize(target)) : null;
+            if (configured == null || configured < 0) {
+                return keepAlive;
+            }
+            return keepAlive > 0 ? Math.min(keepAlive, configured) : configured;
+        };
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .build();
+    }
+
+    /**
+     * determines the (normalized) host of a service url
+     *
+     * @param targetUri url of the service
+     * @return host, null if the service is not a rest service
+     */
+    protected static HttpHost getHost(String targetUri) {
+        if (targetUri == null || !targetUri.startsWith("http")) {
+            return null;
+        }
+        try {
+            URI uri = URI.create(targetUri);
+            if (uri.getHost() == null) {
+                return null;
+            }
+            return normalize(new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * fills in the default port of a host
+     *
+     * @param host host
+     * @return host with explicit port
+     */
+    protected static HttpHost normalize(HttpHost host) {
+        if (host.getPort() > 0) {
+            return host;
+        }
+        return new HttpHost(host.getHostName(), "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80, host.getSchemeName());
+    }
+
+    /**
+     * access
+     *
+     * @return the pooled http client
+     */
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * access
+     *
+     * @param service config of the invoked service
+     * @return request config with the timeouts of the service
+     */
+    public RequestConfig getRequestConfig(ServiceConfig service) {
+        return requestConfigs.computeIfAbsent(service, key -> RequestConfig.custom()
+                .setConnectTimeout(key.getConnectTimeout())
+                .setConnectionRequestTimeout(key.getConnectTimeout())
+                .setSocketTimeout(key.getReadTimeout())
+                .build());
+    }
+
+    /**
+     * access
+     *
+     * @param service config of a class-based service
+     * @return the resolved java target of the service
+     * @throws SailException if the target cannot be resolved
+     */
+    public ClassTarget getClassTarget(ServiceConfig service) throws SailException {
+        ClassTarget target = classTargets.get(service);
+        if (target == null) {
+            target = ClassTarget.resolve(service);
+            ClassTarget previous = classTargets.putIfAbsent(service, target);
+            if (previous != null) {
+                target = previous;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * access
+     *
+     * @param service config of a rest service
+     * @return the streaming extractor for responses of the service
+     */
+    public ResultExtractor getResultExtractor(ServiceConfig service) {
+        return resultExtractors.computeIfAbsent(service, ResultExtractor::new);
+    }
+
+    /**
+     * access
+     *
+     * @param service config of a service
+     * @return the result cache of the service, null if its results are not cached
+     */
+    public ResultCache getResultCache(ServiceConfig service) {
+        if (service.getCacheSize() <= 0) {
+            return null;
+        }
+        return resultCaches.computeIfAbsent(service, ResultCache::new);
+    }
+
+    /**
+     * performs independent calls of a service in parallel, but never more than the
+     * concurrency limit of the service at once. A call is only handed to the
+     * executor when a permit is free, otherwise the current thread helps with
+     * (or waits for) its own earliest call.
+     *
+     * @param service config of the invoked service
+     * @param calls   the calls to perform
+     * @throws SailException the first failure of a call
+     */
+    public void executeAllLimited(ServiceConfig service, List<? extends Callable<?>> calls) throws SailException {
+        Semaphore limit = limits.computeIfAbsent(service, key -> new Semaphore(key.getConcurrency()));
+        List<FutureTask<?>> tasks = new ArrayList<>();
+        SailException failure = null;
+        int finished = 0;
+        try {
+            for (Callable<?> call : calls) {
+                while (failure == null && !limit.tryAcquire()) {
+                    if (finished < tasks.size()) {
+                        failure = await(tasks.get(finished++), failure);
+                    } else {
+                        // all permits are held by other invocations
+                        limit.acquire();
+                        break;
+                    }
+                }
+                if (failure != null) {
+                    break;
+                }
+                FutureTask<Object> task = new FutureTask<Object>(call::call) {
+                    @Override
+                    protected void done() {
+                        // also releases the permit of calls which have been cancelled before they started
+                        limit.release();
+                    }
+                };
+                tasks.add(task);
+                executor.execute(task);
+            }
+            while (finished < tasks.size()) {
+                failure = await(tasks.get(finished++), failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SailException(e);
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * performs independent calls in parallel (the first one on the current thread)
+     * and waits for all of them
+     *
+     * @param calls the calls to perform
+     * @throws SailException the first failure of a call
+     */
+    public void executeAll(List<? extends Callable<?>> calls) throws SailException {
+        List<FutureTask<?>> tasks = new ArrayList<>();
+        for (int count = 1; count < calls.size(); count++) {
+            FutureTask<?> task = new FutureTask<>(calls.get(count));
+            tasks.add(task);
+            executor.execute(task);
+        }
+        SailException failure = null;
+        try {
+            if (!calls.isEmpty()) {
+                try {
+                    calls.get(0).call();
+                } catch (SailException e) {
+                    failure = e;
+                } catch (Exception e) {
+                    failure = new SailException(e);
+                }
+            }
+            for (FutureTask<?> task : tasks) {
+                failure = await(task, failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SailException(e);
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * waits for a call, runs it on the current thread if it has not been started yet
+     * (so that nested calls cannot exhaust the bounded executor)
+     *
+     * @param task    the call
+     * @param failure the first failure so far, may be null
+     * @return the first failure including the one of this call, null if there is none
+     * @throws InterruptedException if the current thread has been interrupted
+     */
+    protected static SailException await(FutureTask<?> task, SailException failure) throws InterruptedException {
+        // a no-op if the call has already been started
+        task.run();
+        try {
+            task.get();
+        } catch (ExecutionException e) {
+            if (failure == null) {
+                return e.getCause() instanceof SailException ? (SailException) e.getCause() : new SailException(e.getCause());
+            }
+        } catch (CancellationException e) {
+            if (failure == null) {
+                return new SailException(e);
+            }
+        }
+        return failure;
     }
 
     /**
@@ -86,6 +421,12 @@ public class RemotingSail extends AbstractSail {
         if (logger.isTraceEnabled()) {
             logger.trace(String.format("shutting down remoting to %s", this.config));
         }
+        executor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn(String.format("Could not close http client of remoting to %s because of %s.", this.config, e));
+        }
     }
 
     /**
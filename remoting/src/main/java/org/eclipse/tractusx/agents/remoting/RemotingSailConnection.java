@@ -28,21 +28,14 @@ import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.TupleExpr;
-import org.eclipse.rdf4j.query.impl.ListBindingSet;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.helpers.AbstractSailConnection;
-import org.eclipse.tractusx.agents.remoting.util.BatchKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Implements a connection to a remote service
@@ -177,31 +170,7 @@ public class RemotingSailConnection extends AbstractSailConnection {
         }
         QueryExecutor visitor = new QueryExecutor(this);
         tupleExpr.visit(visitor);
-        final Set<BatchKey<Value>> distincts = new HashSet<>();
-        visitor.bindings.forEach(binding -> {
-            BatchKey<Value> key = new BatchKey<>(visitor.outputVariables.values().stream().map(binding::getValue).toArray(Value[]::new));
-            distincts.add(key);
-        });
-        List<String> keys = new ArrayList<String>(visitor.outputVariables.keySet());
-        final Iterator<ListBindingSet> allBindings = distincts.stream().map(key -> new ListBindingSet(keys, key.getComponents())).iterator();
-
-        return new AbstractCloseableIteration<BindingSet, QueryEvaluationException>() {
-
-            @Override
-            public void remove() {
-                allBindings.remove();
-            }
-
-            @Override
-            public BindingSet next() {
-                return allBindings.next();
-            }
-
-            @Override
-            public boolean hasNext() {
-                return allBindings.hasNext();
-            }
-        };
+        return new ResultIteration(visitor, remotingSail.config.getStreamingChunk(), remotingSail.config.isUniqueResults());
     }
 
     /**
@@ -0,0 +1,217 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.MutableBindingSet;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.tractusx.agents.remoting.config.ServiceConfig;
+import org.eclipse.tractusx.agents.remoting.util.BatchKey;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * caches the outputs of a deterministic service by the tuple of its resolved arguments.
+ * The cache is bounded in size (least recently used results are evicted first)
+ * and results expire after a configurable time. Hits, misses, evictions and expirations are counted.
+ */
+public class ResultCache {
+
+    /**
+     * a cached result
+     */
+    protected static class Entry {
+
+        /**
+         * clock in milliseconds when the result expires, Long.MAX_VALUE if it does not expire
+         */
+        protected final long expires;
+
+        /**
+         * the output values by output
+         */
+        protected final Map<IRI, Value> values;
+
+        /**
+         * creates an entry
+         *
+         * @param expires clock when the result expires
+         * @param values  output values
+         */
+        protected Entry(long expires, Map<IRI, Value> values) {
+            this.expires = expires;
+            this.values = values;
+        }
+    }
+
+    /**
+     * the argument keys in the order of the key components
+     */
+    protected final String[] arguments;
+
+    /**
+     * time to live in milliseconds, 0 if results do not expire
+     */
+    protected final long ttl;
+
+    /**
+     * the entries in access order
+     */
+    protected final Map<BatchKey<Value>, Entry> entries;
+
+    /**
+     * metrics
+     */
+    protected final AtomicLong hits = new AtomicLong();
+    protected final AtomicLong misses = new AtomicLong();
+    protected final AtomicLong evictions = new AtomicLong();
+    protected final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * creates a cache for the given service
+     *
+     * @param service config of a deterministic service
+     */
+    public ResultCache(ServiceConfig service) {
+        this.arguments = service.getSortedArguments().stream().map(Map.Entry::getKey).toArray(String[]::new);
+        this.ttl = service.getCacheTtl();
+        int size = (int) service.getCacheSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BatchKey<Value>, Entry> eldest) {
+                if (size() > size) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * computes the key of a binding
+     *
+     * @param inputs  the argument variables (constant or bound) by argument key
+     * @param binding the binding set
+     * @return the tuple of resolved argument values
+     */
+    public BatchKey<Value> getKey(Map<String, Var> inputs, MutableBindingSet binding) {
+        Value[] values = new Value[arguments.length];
+        for (int count = 0; count < arguments.length; count++) {
+            Var input = inputs.get(arguments[count]);
+            if (input != null) {
+                values[count] = input.hasValue() ? input.getValue() : Invocation.getValue(binding, input.getName());
+            }
+        }
+        return new BatchKey<>(values);
+    }
+
+    /**
+     * looks up a result
+     *
+     * @param key     tuple of resolved argument values
+     * @param outputs the outputs which are needed
+     * @return the output values, null if there is no valid result containing all outputs
+     */
+    public synchronized Map<IRI, Value> get(BatchKey<Value> key, Collection<IRI> outputs) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expires < System.currentTimeMillis()) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+            entry = null;
+        }
+        if (entry == null || !entry.values.keySet().containsAll(outputs)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.values;
+    }
+
+    /**
+     * stores a result
+     *
+     * @param key    tuple of resolved argument values
+     * @param values output values
+     */
+    public synchronized void put(BatchKey<Value> key, Map<IRI, Value> values) {
+        long now = System.currentTimeMillis();
+        Entry previous = entries.get(key);
+        Map<IRI, Value> merged = values;
+        if (previous != null && previous.expires >= now) {
+            merged = new HashMap<>(previous.values);
+            merged.putAll(values);
+        }
+        entries.put(key, new Entry(ttl > 0 ? now + ttl : Long.MAX_VALUE, merged));
+    }
+
+    /**
+     * access
+     *
+     * @return number of cached results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * access
+     *
+     * @return number of lookups which found a result
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * access
+     *
+     * @return number of lookups which did not find a result
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * access
+     *
+     * @return number of results removed because of the size bound
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * access
+     *
+     * @return number of results removed because they expired
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s/cache(size=%d, hits=%d, misses=%d, evictions=%d, expirations=%d)",
+                super.toString(), size(), getHits(), getMisses(), getEvictions(), getExpirations());
+    }
+}
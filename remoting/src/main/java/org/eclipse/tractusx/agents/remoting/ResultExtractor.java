@@ -0,0 +1,397 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.tractusx.agents.remoting.config.ServiceConfig;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * extracts the results of a batch response in a single streaming pass.
+ * The output property is navigated on the token stream and only the individual
+ * result elements below it are materialized, indexed by their result id
+ * (or their position if there is no result id property).
+ * Responses which are already parsed (such as callbacks) are indexed in the same way.
+ */
+public class ResultExtractor {
+
+    /**
+     * the results of a response indexed by correlation key
+     */
+    public static class ResultIndex {
+
+        /**
+         * the results by key
+         */
+        protected final Map<String, Object> results;
+
+        /**
+         * the complete result if it is not a collection, null otherwise
+         */
+        protected final Object whole;
+
+        /**
+         * creates an index
+         *
+         * @param results the results by key
+         * @param whole   the complete result if it is not a collection
+         */
+        public ResultIndex(Map<String, Object> results, Object whole) {
+            this.results = results;
+            this.whole = whole;
+        }
+
+        /**
+         * access
+         *
+         * @param key correlation key
+         * @return the result for the key
+         * @throws SailException if there is no such result
+         */
+        public Object get(String key) throws SailException {
+            if (whole != null || key == null) {
+                return whole;
+            }
+            Object result = results.get(key);
+            if (result == null) {
+                throw new SailException(String.format("Could not find result with key %s.", key));
+            }
+            return result;
+        }
+
+        /**
+         * access
+         *
+         * @return number of indexed results
+         */
+        public int size() {
+            return results.size();
+        }
+    }
+
+    /**
+     * the config of the service
+     */
+    protected final ServiceConfig service;
+
+    /**
+     * compiled path to the results
+     */
+    protected final String[] outputPath;
+
+    /**
+     * compiled path to the result id, null if correlating by position
+     */
+    protected final String[] idPath;
+
+    /**
+     * factory for xml readers
+     */
+    protected final XMLInputFactory xmlFactory;
+
+    /**
+     * creates an extractor for the given service
+     *
+     * @param service config of the service
+     */
+    public ResultExtractor(ServiceConfig service) {
+        this.service = service;
+        this.outputPath = service.getResult().getOutputPath();
+        this.idPath = service.getResult().getResultIdPath();
+        this.xmlFactory = XMLInputFactory.newInstance();
+        xmlFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * access
+     *
+     * @return whether the results of the service are correlated with the bindings by key
+     */
+    public boolean isBatched() {
+        return service.getResult().getCorrelationInput() != null || service.getBatch() > 1;
+    }
+
+    /**
+     * indexes an already parsed response once such that all bindings and outputs
+     * of a batch can access their result directly
+     *
+     * @param response json tree, dom element or java object
+     * @return index of the results
+     * @throws SailException if the response does not have the expected structure
+     */
+    public ResultIndex index(Object response) throws SailException {
+        Object target = Invocation.traversePath(response, outputPath);
+        Map<String, Object> results = new HashMap<>();
+        if (target instanceof List) {
+            target = ((List<?>) target).toArray();
+        }
+        if (target != null && target.getClass().isArray()) {
+            int length = Array.getLength(target);
+            for (int position = 0; position < length; position++) {
+                addResult(results, Array.get(target, position), position);
+            }
+        } else if (target instanceof ArrayNode) {
+            ArrayNode array = (ArrayNode) target;
+            for (int position = 0; position < array.size(); position++) {
+                addResult(results, array.get(position), position);
+            }
+        } else if (target instanceof Element) {
+            NodeList nodes = ((Element) target).getChildNodes();
+            for (int position = 0; position < nodes.getLength(); position++) {
+                Node node = nodes.item(position);
+                // only elements carry result ids
+                if (idPath == null || node instanceof Element) {
+                    addResult(results, node, position);
+                }
+            }
+        } else {
+            return new ResultIndex(results, target);
+        }
+        return new ResultIndex(results, null);
+    }
+
+    /**
+     * adds a single result to an index
+     *
+     * @param results  the index
+     * @param result   the result
+     * @param position position of the result in its collection
+     */
+    protected void addResult(Map<String, Object> results, Object result, int position) throws SailException {
+        String key = idPath != null ? Invocation.convertObjectToString(Invocation.traversePath(result, idPath)) : String.valueOf(position);
+        if (result != null) {
+            results.putIfAbsent(key, result);
+        }
+    }
+
+    /**
+     * checks whether a response can be streamed
+     *
+     * @param isJson whether the response is json
+     * @param isXml  whether the response is xml
+     * @return whether the response of a batched call can be extracted by streaming
+     */
+    public boolean canStream(boolean isJson, boolean isXml) {
+        if (!isBatched()) {
+            return false;
+        }
+        // xml results are only correlated by id, positions would count whitespace nodes
+        return isJson || (isXml && idPath != null);
+    }
+
+    /**
+     * extracts the results of a response
+     *
+     * @param in     response content
+     * @param isJson whether the response is json (or xml)
+     * @return index of the results
+     * @throws SailException if the response does not have the expected structure
+     * @throws IOException   if the response cannot be read
+     */
+    public ResultIndex extract(InputStream in, boolean isJson) throws SailException, IOException {
+        if (isJson) {
+            try (JsonParser parser = Invocation.objectMapper.createParser(in)) {
+                return extractJson(parser);
+            }
+        }
+        try {
+            XMLStreamReader reader = xmlFactory.createXMLStreamReader(in);
+            try {
+                return extractXml(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | ParserConfigurationException e) {
+            throw new SailException(e);
+        }
+    }
+
+    /**
+     * extracts the results of a json response
+     *
+     * @param parser positioned before the document
+     * @return index of the results
+     */
+    protected ResultIndex extractJson(JsonParser parser) throws SailException, IOException {
+        JsonToken token = parser.nextToken();
+        for (String elem : outputPath) {
+            if (elem != null && elem.length() > 0) {
+                token = navigateJson(parser, token, elem);
+            }
+        }
+        Map<String, Object> results = new HashMap<>();
+        if (token != JsonToken.START_ARRAY) {
+            JsonNode whole = parser.readValueAsTree();
+            return new ResultIndex(results, whole);
+        }
+        int position = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            addResult(results, parser.readValueAsTree(), position++);
+        }
+        return new ResultIndex(results, null);
+    }
+
+    /**
+     * moves the parser to the value of a field or array index
+     *
+     * @param parser parser positioned at the start of the current value
+     * @param token  current token
+     * @param elem   field name or index
+     * @return the first token of the value
+     */
+    protected static JsonToken navigateJson(JsonParser parser, JsonToken token, String elem) throws SailException, IOException {
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals(elem)) {
+                    return value;
+                }
+                parser.skipChildren();
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index;
+            try {
+                index = Integer.parseInt(elem);
+            } catch (NumberFormatException e) {
+                throw new SailException(String.format("Cannot access path %s under an array", elem));
+            }
+            int position = 0;
+            for (JsonToken value = parser.nextToken(); value != JsonToken.END_ARRAY; value = parser.nextToken()) {
+                if (position++ == index) {
+                    return value;
+                }
+                parser.skipChildren();
+            }
+        }
+        throw new SailException(String.format("No such path %s in response", elem));
+    }
+
+    /**
+     * extracts the results of an xml response
+     *
+     * @param reader positioned before the document
+     * @return index of the results
+     */
+    protected ResultIndex extractXml(XMLStreamReader reader) throws SailException, XMLStreamException, ParserConfigurationException {
+        while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+            if (!reader.hasNext()) {
+                throw new SailException("Response does not contain an xml element");
+            }
+        }
+        for (String elem : outputPath) {
+            if (elem != null && elem.length() > 0) {
+                navigateXml(reader, elem);
+            }
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document document = factory.newDocumentBuilder().newDocument();
+        Map<String, Object> results = new HashMap<>();
+        for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                addResult(results, buildElement(reader, document), 0);
+            }
+        }
+        return new ResultIndex(results, null);
+    }
+
+    /**
+     * moves the reader to the first descendant element with the given name
+     * (like a dom lookup by tag name)
+     *
+     * @param reader reader positioned at the current element
+     * @param elem   name of the element
+     */
+    protected static void navigateXml(XMLStreamReader reader, String elem) throws SailException, XMLStreamException {
+        int depth = 0;
+        while (depth >= 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (elem.equals(getName(reader))) {
+                    return;
+                }
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        throw new SailException(String.format("No such path %s in response", elem));
+    }
+
+    /**
+     * materializes the element at the current position of the reader
+     *
+     * @param reader   reader positioned at the start of the element
+     * @param document owner of the new nodes
+     * @return the element, the reader is positioned at its end
+     */
+    protected static Element buildElement(XMLStreamReader reader, Document document) throws XMLStreamException {
+        Element element = document.createElement(getName(reader));
+        for (int count = 0; count < reader.getAttributeCount(); count++) {
+            String prefix = reader.getAttributePrefix(count);
+            String name = prefix != null && prefix.length() > 0 ? prefix + ":" + reader.getAttributeLocalName(count) : reader.getAttributeLocalName(count);
+            element.setAttribute(name, reader.getAttributeValue(count));
+        }
+        for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    element.appendChild(buildElement(reader, document));
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    element.appendChild(document.createTextNode(reader.getText()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return element;
+    }
+
+    /**
+     * access
+     *
+     * @param reader reader positioned at an element
+     * @return qualified name of the element
+     */
+    protected static String getName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix != null && prefix.length() > 0 ? prefix + ":" + reader.getLocalName() : reader.getLocalName();
+    }
+}
@@ -0,0 +1,165 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting;
+
+import org.eclipse.rdf4j.common.iteration.AbstractCloseableIteration;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.MutableBindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.impl.ListBindingSet;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.tractusx.agents.remoting.util.DistinctFilter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * lazily produces the projected result rows of a query.
+ * In streaming mode, the invocations are executed chunk by chunk of bindings
+ * when the consumer asks for more rows, otherwise they have already been executed.
+ * Rows are de-duplicated on the fly unless they are known to be unique.
+ */
+public class ResultIteration extends AbstractCloseableIteration<BindingSet, QueryEvaluationException> {
+
+    /**
+     * the executor holding the bindings and invocations
+     */
+    protected final QueryExecutor executor;
+
+    /**
+     * number of bindings per chunk, 0 if all invocations have been executed
+     */
+    protected final int chunk;
+
+    /**
+     * the names of the result variables
+     */
+    protected final List<String> names;
+
+    /**
+     * the binding variables per result variable
+     */
+    protected final String[] variables;
+
+    /**
+     * the filter for duplicate rows, null if rows are unique
+     */
+    protected final DistinctFilter distincts;
+
+    /**
+     * position of the next binding to check
+     */
+    protected int position;
+
+    /**
+     * end of the bindings whose invocations have been executed
+     */
+    protected int executed;
+
+    /**
+     * the next row, null if not yet determined
+     */
+    protected BindingSet next;
+
+    /**
+     * creates a new iteration
+     *
+     * @param executor the visitor which analysed the query
+     * @param chunk    number of bindings per chunk, 0 if all invocations have been executed
+     * @param unique   whether the rows are known to be unique
+     */
+    public ResultIteration(QueryExecutor executor, long chunk, boolean unique) {
+        this.executor = executor;
+        this.chunk = (int) Math.min(chunk, Integer.MAX_VALUE);
+        String[] names = new String[executor.outputVariables.size()];
+        this.variables = new String[names.length];
+        int count = 0;
+        for (Map.Entry<String, String> output : executor.outputVariables.entrySet()) {
+            names[count] = output.getKey();
+            variables[count++] = output.getValue();
+        }
+        this.names = Arrays.asList(names);
+        this.distincts = unique ? null : new DistinctFilter(executor.bindings, variables);
+        this.executed = chunk > 0 ? 0 : executor.bindings.size();
+    }
+
+    @Override
+    public boolean hasNext() throws QueryEvaluationException {
+        while (next == null) {
+            if (position == executed) {
+                if (isClosed() || executed == executor.bindings.size()) {
+                    return false;
+                }
+                executeChunk();
+            }
+            int current = position++;
+            if (distincts == null || distincts.add(current)) {
+                MutableBindingSet binding = executor.bindings.get(current);
+                Value[] values = new Value[variables.length];
+                for (int count = 0; count < variables.length; count++) {
+                    values[count] = binding.getValue(variables[count]);
+                }
+                next = new ListBindingSet(names, values);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * executes the invocations for the next chunk of bindings
+     */
+    protected void executeChunk() throws QueryEvaluationException {
+        int end = (int) Math.min((long) executed + chunk, executor.bindings.size());
+        List<MutableBindingSet> bindings = executor.bindings.subList(executed, end);
+        try {
+            executor.executeInvocations(new BindingHost() {
+                @Override
+                public Set<String> getVariables() {
+                    return executor.getVariables();
+                }
+
+                @Override
+                public Collection<MutableBindingSet> getBindings() {
+                    return bindings;
+                }
+            });
+        } catch (SailException e) {
+            throw new QueryEvaluationException(e);
+        }
+        executed = end;
+    }
+
+    @Override
+    public BindingSet next() throws QueryEvaluationException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BindingSet result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Results cannot be removed");
+    }
+}
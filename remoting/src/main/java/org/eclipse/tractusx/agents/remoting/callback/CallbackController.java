@@ -26,9 +26,13 @@ import org.springframework.web.servlet.ModelAndView;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -43,51 +47,97 @@ public class CallbackController implements org.springframework.web.servlet.mvc.C
 
     public static ObjectMapper objectMapper = new ObjectMapper();
 
-    public static final Map<CallbackToken, AtomicReference<Object>> PENDING = new HashMap<>();
+    /**
+     * the pending calls indexed by response path and call id
+     */
+    public static final Map<String, Map<String, CompletableFuture<Object>>> PENDING = new ConcurrentHashMap<>();
+
+    /**
+     * the response paths split into their segments
+     */
+    protected static final Map<String, String[]> PATHS = new ConcurrentHashMap<>();
 
     /**
      * registers a new asynchronous call
      *
      * @param responsePath the path where to look for call ids in the response
      * @param callId       id of the call/response
-     * @return an atomic reference for the result
+     * @return a token for the result
      */
     public static CallbackToken register(String responsePath, String callId) {
         CallbackToken token = new CallbackToken(responsePath, callId);
-        synchronized (PENDING) {
-            AtomicReference<Object> result = PENDING.get(token);
-            if (result == null) {
-                result = new AtomicReference<>();
-                PENDING.put(token, result);
+        PATHS.computeIfAbsent(responsePath, path -> path.split("\\."));
+        PENDING.computeIfAbsent(responsePath, path -> new ConcurrentHashMap<>()).computeIfAbsent(callId, id -> new CompletableFuture<>());
+        return token;
+    }
+
+    /**
+     * drops a call which will not be answered (anymore)
+     *
+     * @param token of the call
+     */
+    public static void unregister(CallbackToken token) {
+        Map<String, CompletableFuture<Object>> calls = PENDING.get(token.getResponsePath());
+        if (calls != null) {
+            CompletableFuture<Object> result = calls.remove(token.getCallId());
+            if (result != null) {
+                result.cancel(false);
             }
         }
-        return token;
     }
 
     /**
-     * synchronizes on the given asynchronous call
+     * access the asynchronous result without blocking. The call is dropped
+     * once the result has arrived or the timeout has passed.
+     *
+     * @param token   of the call
+     * @param timeout time in milliseconds after which the call is dropped
+     * @return future of the asynchronous result, completed with null if the call is unknown or timed out
+     */
+    public static CompletableFuture<Object> await(CallbackToken token, long timeout) {
+        Map<String, CompletableFuture<Object>> calls = PENDING.get(token.getResponsePath());
+        CompletableFuture<Object> result = calls != null ? calls.get(token.getCallId()) : null;
+        if (result == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return result.orTimeout(timeout, TimeUnit.MILLISECONDS).handle((callback, failure) -> {
+            unregister(token);
+            return failure != null ? null : callback;
+        });
+    }
+
+    /**
+     * synchronizes on the given asynchronous call with the default timeout
      *
      * @param token of the call
-     * @return asynchronous result
+     * @return asynchronous result, null if the call timed out
      */
     public static Object synchronize(CallbackToken token) {
-        AtomicReference<Object> result;
-        synchronized (PENDING) {
-            result = PENDING.get(token);
-        }
+        return synchronize(token, 60000);
+    }
+
+    /**
+     * synchronizes on the given asynchronous call
+     *
+     * @param token   of the call
+     * @param timeout time in milliseconds to wait for the result
+     * @return asynchronous result, null if the call timed out
+     */
+    public static Object synchronize(CallbackToken token, long timeout) {
+        Map<String, CompletableFuture<Object>> calls = PENDING.get(token.getResponsePath());
+        CompletableFuture<Object> result = calls != null ? calls.get(token.getCallId()) : null;
         if (result == null) {
             return null;
         }
-        int maxrounds = 2;
-        synchronized (result) {
-            while (result.get() == null && 0 < maxrounds--) {
-                try {
-                    result.wait(30000);
-                } catch (InterruptedException ignored) {
-                    // we totally expect this timout to appear
-                }
-            }
-            return result.get();
+        try {
+            return result.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            return null;
+        } finally {
+            unregister(token);
         }
     }
 
@@ -113,15 +163,13 @@ public class CallbackController implements org.springframework.web.servlet.mvc.C
             } else {
                 callback = IOUtils.toString(request.getInputStream());
             }
-            synchronized (PENDING) {
-                for (Map.Entry<CallbackToken, AtomicReference<Object>> callbacks : PENDING.entrySet()) {
-                    String[] paths = callbacks.getKey().getResponsePath().split("\\.");
-                    String callId = Invocation.convertObjectToString(Invocation.traversePath(callback, paths));
-                    if (callbacks.getKey().getCallId().equals(callId)) {
-                        callbacks.getValue().set(callback);
-                        synchronized (callbacks.getValue()) {
-                            callbacks.getValue().notify();
-                        }
+            // one lookup per distinct response path (usually a single one), the waiter removes the call
+            for (Map.Entry<String, Map<String, CompletableFuture<Object>>> calls : PENDING.entrySet()) {
+                if (!calls.getValue().isEmpty()) {
+                    String callId = Invocation.convertObjectToString(Invocation.traversePath(callback, PATHS.get(calls.getKey())));
+                    CompletableFuture<Object> result = callId != null ? calls.getValue().get(callId) : null;
+                    if (result != null) {
+                        result.complete(callback);
                     }
                 }
             }
@@ -17,6 +17,11 @@
 package org.eclipse.tractusx.agents.remoting.config;
 
 import org.eclipse.rdf4j.sail.config.SailConfigException;
+import org.eclipse.tractusx.agents.remoting.Invocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
 
 /**
  * represents the config of an argument
@@ -51,6 +56,21 @@ public class ArgumentConfig {
      */
     protected int priority = 100;
 
+    /**
+     * the literal parts of the argument name around references to other arguments
+     */
+    protected String[] nameParts;
+
+    /**
+     * the other arguments referenced by the argument name
+     */
+    protected String[] nameReferences;
+
+    /**
+     * the precompiled target paths if the argument name has no references
+     */
+    protected String[][] paths;
+
     /**
      * access
      *
@@ -67,6 +87,78 @@ public class ArgumentConfig {
      */
     public void setArgumentName(String argumentName) {
         this.argumentName = argumentName;
+        this.nameParts = null;
+    }
+
+    /**
+     * splits the argument name into literal parts and references
+     * and the target paths (if there are no references)
+     */
+    protected void compile() {
+        List<String> parts = new ArrayList<>();
+        List<String> references = new ArrayList<>();
+        Matcher matcher = Invocation.ARGUMENT_PATTERN.matcher(argumentName);
+        int end = 0;
+        while (matcher.find()) {
+            parts.add(argumentName.substring(end, matcher.start()));
+            references.add(matcher.group("arg"));
+            end = matcher.end();
+        }
+        parts.add(argumentName.substring(end));
+        paths = references.isEmpty() ? compilePaths(argumentName) : null;
+        nameReferences = references.toArray(new String[0]);
+        nameParts = parts.toArray(new String[0]);
+    }
+
+    /**
+     * splits a path specification into paths of segments
+     *
+     * @param pathSpec comma-separated list of dotted paths
+     * @return paths
+     */
+    public static String[][] compilePaths(String pathSpec) {
+        String[] pathNames = pathSpec.split(",");
+        String[][] result = new String[pathNames.length][];
+        for (int count = 0; count < pathNames.length; count++) {
+            result[count] = pathNames[count].split("\\.");
+        }
+        return result;
+    }
+
+    /**
+     * access
+     *
+     * @return literal parts of the argument name around the references
+     */
+    public String[] getNameParts() {
+        if (nameParts == null) {
+            compile();
+        }
+        return nameParts;
+    }
+
+    /**
+     * access
+     *
+     * @return other arguments referenced in the argument name
+     */
+    public String[] getNameReferences() {
+        if (nameParts == null) {
+            compile();
+        }
+        return nameReferences;
+    }
+
+    /**
+     * access
+     *
+     * @return precompiled target paths, null if the argument name references other arguments
+     */
+    public String[][] getPaths() {
+        if (nameParts == null) {
+            compile();
+        }
+        return paths;
     }
 
     /**
@@ -134,6 +226,7 @@ public class ArgumentConfig {
         if (argumentName == null || argumentName.length() == 0) {
             throw new SailConfigException(String.format("Only support named arguments %s.", context));
         }
+        compile();
     }
 
     @Override
@@ -0,0 +1,119 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting.config;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.tractusx.agents.remoting.Invocation;
+
+/**
+ * a precompiled converter from a result object into a literal of a given data type
+ */
+@FunctionalInterface
+public interface OutputConverter {
+
+    String OBJECT_TYPE = "https://json-schema.org/draft/2020-12/schema#Object";
+    String DATE_TIME_TYPE = "http://www.w3.org/2001/XMLSchema#dateTime";
+    String INT_TYPE = "http://www.w3.org/2001/XMLSchema#int";
+    String LONG_TYPE = "http://www.w3.org/2001/XMLSchema#long";
+    String DOUBLE_TYPE = "http://www.w3.org/2001/XMLSchema#double";
+    String FLOAT_TYPE = "http://www.w3.org/2001/XMLSchema#float";
+    String STRING_TYPE = "http://www.w3.org/2001/XMLSchema#string";
+    String ELEMENT_TYPE = "http://www.w3.org/2001/XMLSchema#Element";
+
+    /**
+     * converts to a json object literal (used for collective results)
+     */
+    OutputConverter OBJECT = typed(OBJECT_TYPE);
+
+    /**
+     * converts a result object
+     *
+     * @param source result object
+     * @param vf     factory for creating literals
+     * @return a literal
+     * @throws SailException in case the conversion cannot be done
+     */
+    Value convert(Object source, ValueFactory vf) throws SailException;
+
+    /**
+     * compiles the converter for a data type
+     *
+     * @param dataType name of the target literal type
+     * @return converter
+     * @throws SailException if the data type is not supported
+     */
+    static OutputConverter forDataType(String dataType) throws SailException {
+        switch (dataType) {
+            case OBJECT_TYPE:
+                return OBJECT;
+            case DATE_TIME_TYPE:
+            case ELEMENT_TYPE:
+                return typed(dataType);
+            case INT_TYPE:
+                return (source, vf) -> {
+                    try {
+                        return vf.createLiteral(Integer.parseInt(Invocation.convertObjectToString(source)));
+                    } catch (NumberFormatException nfwe) {
+                        throw new SailException(String.format("Could not convert %s to integer.", String.valueOf(source)));
+                    }
+                };
+            case LONG_TYPE:
+                return (source, vf) -> {
+                    try {
+                        return vf.createLiteral(Long.parseLong(Invocation.convertObjectToString(source)));
+                    } catch (NumberFormatException nfwe) {
+                        throw new SailException(String.format("Could not convert %s to integer.", String.valueOf(source)));
+                    }
+                };
+            case DOUBLE_TYPE:
+                return (source, vf) -> {
+                    try {
+                        return vf.createLiteral(Double.parseDouble(Invocation.convertObjectToString(source)));
+                    } catch (NumberFormatException nfwe) {
+                        throw new SailException(String.format("Could not convert %s to integer.", String.valueOf(source)));
+                    }
+                };
+            case FLOAT_TYPE:
+                return (source, vf) -> {
+                    try {
+                        return vf.createLiteral(Float.parseFloat(Invocation.convertObjectToString(source)));
+                    } catch (NumberFormatException nfwe) {
+                        throw new SailException(String.format("Could not convert %s to float.", String.valueOf(source)));
+                    }
+                };
+            case STRING_TYPE:
+                return (source, vf) -> vf.createLiteral(Invocation.convertObjectToString(source));
+            default:
+                throw new SailException(String.format("Data Type %s is not supported.", dataType));
+        }
+    }
+
+    /**
+     * creates a converter which renders the result as a string of the given type
+     *
+     * @param dataType name of the target literal type
+     * @return converter
+     */
+    static OutputConverter typed(String dataType) {
+        IRI type = SimpleValueFactory.getInstance().createIRI(dataType);
+        return (source, vf) -> vf.createLiteral(Invocation.convertObjectToString(source), type);
+    }
+}
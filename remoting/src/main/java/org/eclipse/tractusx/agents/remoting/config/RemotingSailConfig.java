@@ -49,6 +49,9 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
     public static final String CONFIG_NAMESPACE = "https://w3id.org/catenax/ontology/function#";
     public static final String COMMON_NAMESPACE = "https://w3id.org/catenax/ontology/common#";
     public static final String CALLBACK_NAME = "callbackAddress";
+    public static final String STREAMING_CHUNK_NAME = "streamingChunk";
+    public static final String UNIQUE_RESULTS_NAME = "uniqueResults";
+    public static final String THREAD_POOL_SIZE_NAME = "threadPoolSize";
     public static final String FUNCTION_NAME = "Function";
     public static final String AUTHENTICATION_CODE = "authenticationCode";
     public static final String AUTHENTICATION_KEY = "authenticationKey";
@@ -75,6 +78,15 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
     public static final String INVOCATION_PROPERTY = "supportsInvocation";
     public static final String URL_ATTRIBUTE = "targetUri";
     public static final String METHOD_ATTRIBUTE = "invocationMethod";
+    public static final String CONNECT_TIMEOUT_ATTRIBUTE = "connectTimeout";
+    public static final String READ_TIMEOUT_ATTRIBUTE = "readTimeout";
+    public static final String MAX_CONNECTIONS_ATTRIBUTE = "maxConnections";
+    public static final String KEEP_ALIVE_ATTRIBUTE = "keepAlive";
+    public static final String CONCURRENCY_ATTRIBUTE = "concurrency";
+    public static final String CALLBACK_TIMEOUT_ATTRIBUTE = "callbackTimeout";
+    public static final String SINGLETON_ATTRIBUTE = "singleton";
+    public static final String CACHE_SIZE_ATTRIBUTE = "cacheSize";
+    public static final String CACHE_TTL_ATTRIBUTE = "cacheTtl";
 
     /**
      * when interacting with parser/exporter
@@ -86,6 +98,9 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
      */
     protected IRI supportsInvocationPredicate = vf.createIRI(CONFIG_NAMESPACE, INVOCATION_PROPERTY);
     protected IRI callbackAddressPredicate = vf.createIRI(CONFIG_NAMESPACE, CALLBACK_NAME);
+    protected IRI streamingChunkPredicate = vf.createIRI(CONFIG_NAMESPACE, STREAMING_CHUNK_NAME);
+    protected IRI uniqueResultsPredicate = vf.createIRI(CONFIG_NAMESPACE, UNIQUE_RESULTS_NAME);
+    protected IRI threadPoolSizePredicate = vf.createIRI(CONFIG_NAMESPACE, THREAD_POOL_SIZE_NAME);
     protected IRI targetUriPredicate = vf.createIRI(CONFIG_NAMESPACE, URL_ATTRIBUTE);
     protected IRI invocationMethodPredicate = vf.createIRI(CONFIG_NAMESPACE, METHOD_ATTRIBUTE);
     protected IRI inputPredicate = vf.createIRI(CONFIG_NAMESPACE, INPUT_ATTRIBUTE);
@@ -100,6 +115,15 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
     protected IRI priorityPredicate = vf.createIRI(CONFIG_NAMESPACE, PRIORITY_ATTRIBUTE);
     protected IRI returnPathPredicate = vf.createIRI(CONFIG_NAMESPACE, PATH_ATTRIBUTE);
     protected IRI batchPredicate = vf.createIRI(CONFIG_NAMESPACE, BATCH_ATTRIBUTE);
+    protected IRI connectTimeoutPredicate = vf.createIRI(CONFIG_NAMESPACE, CONNECT_TIMEOUT_ATTRIBUTE);
+    protected IRI readTimeoutPredicate = vf.createIRI(CONFIG_NAMESPACE, READ_TIMEOUT_ATTRIBUTE);
+    protected IRI maxConnectionsPredicate = vf.createIRI(CONFIG_NAMESPACE, MAX_CONNECTIONS_ATTRIBUTE);
+    protected IRI keepAlivePredicate = vf.createIRI(CONFIG_NAMESPACE, KEEP_ALIVE_ATTRIBUTE);
+    protected IRI concurrencyPredicate = vf.createIRI(CONFIG_NAMESPACE, CONCURRENCY_ATTRIBUTE);
+    protected IRI callbackTimeoutPredicate = vf.createIRI(CONFIG_NAMESPACE, CALLBACK_TIMEOUT_ATTRIBUTE);
+    protected IRI singletonPredicate = vf.createIRI(CONFIG_NAMESPACE, SINGLETON_ATTRIBUTE);
+    protected IRI cacheSizePredicate = vf.createIRI(CONFIG_NAMESPACE, CACHE_SIZE_ATTRIBUTE);
+    protected IRI cacheTtlPredicate = vf.createIRI(CONFIG_NAMESPACE, CACHE_TTL_ATTRIBUTE);
     protected IRI callbackPredicate = vf.createIRI(CONFIG_NAMESPACE, CALLBACK_ATTRIBUTE);
     protected IRI invocationIdPredicate = vf.createIRI(CONFIG_NAMESPACE, INVOCATION_ID_ATTRIBUTE);
     protected IRI resultIdPredicate = vf.createIRI(CONFIG_NAMESPACE, RESULT_ID_ATTRIBUTE);
@@ -122,6 +146,21 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
 
     String callbackAddress;
 
+    /**
+     * number of bindings per streamed chunk, 0 if all bindings are evaluated before the first result
+     */
+    long streamingChunk = 0;
+
+    /**
+     * whether the projected results are known to be unique (and need not be de-duplicated)
+     */
+    boolean uniqueResults = false;
+
+    /**
+     * maximal number of threads for parallel invocations and batches
+     */
+    int threadPoolSize = 16;
+
     public ValueFactory getValueFactory() {
         return vf;
     }
@@ -130,6 +169,60 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
         return callbackAddress;
     }
 
+    /**
+     * access
+     *
+     * @return number of bindings per streamed chunk, 0 if not streaming
+     */
+    public long getStreamingChunk() {
+        return streamingChunk;
+    }
+
+    /**
+     * set the streaming chunk
+     *
+     * @param streamingChunk number of bindings per streamed chunk, 0 if not streaming
+     */
+    public void setStreamingChunk(long streamingChunk) {
+        this.streamingChunk = streamingChunk;
+    }
+
+    /**
+     * access
+     *
+     * @return whether the projected results are known to be unique
+     */
+    public boolean isUniqueResults() {
+        return uniqueResults;
+    }
+
+    /**
+     * set the uniqueness of results
+     *
+     * @param uniqueResults whether the projected results are known to be unique
+     */
+    public void setUniqueResults(boolean uniqueResults) {
+        this.uniqueResults = uniqueResults;
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of threads for parallel invocations and batches
+     */
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    /**
+     * set the thread pool size
+     *
+     * @param threadPoolSize maximal number of threads for parallel invocations and batches
+     */
+    public void setThreadPoolSize(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+    }
+
     /**
      * create a new config
      */
@@ -192,6 +285,12 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
             logger.debug("About to validate.");
         }
         super.validate();
+        if (streamingChunk < 0) {
+            throw new SailConfigException(String.format("The streamingChunk %d must not be negative.", streamingChunk));
+        }
+        if (threadPoolSize < 1) {
+            throw new SailConfigException(String.format("The threadPoolSize %d must be at least one.", threadPoolSize));
+        }
         for (Map.Entry<String, ServiceConfig> configs : services.entrySet()) {
             if (configs.getValue().callbackProperty != null) {
                 if (callbackAddress == null) {
@@ -214,6 +313,9 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
         if (callbackAddress != null) {
             model.add(repoNode, callbackAddressPredicate, vf.createIRI(callbackAddress));
         }
+        model.add(repoNode, streamingChunkPredicate, vf.createLiteral(streamingChunk));
+        model.add(repoNode, uniqueResultsPredicate, vf.createLiteral(uniqueResults));
+        model.add(repoNode, threadPoolSizePredicate, vf.createLiteral(threadPoolSize));
         for (Map.Entry<String, ServiceConfig> func : services.entrySet()) {
             IRI functionNode = vf.createIRI(func.getKey());
             model.add(repoNode, supportsInvocationPredicate, functionNode);
@@ -221,6 +323,15 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
             model.add(functionNode, targetUriPredicate, vf.createLiteral(func.getValue().targetUri));
             model.add(functionNode, invocationMethodPredicate, vf.createLiteral(func.getValue().method));
             model.add(functionNode, batchPredicate, vf.createLiteral(func.getValue().batch));
+            model.add(functionNode, connectTimeoutPredicate, vf.createLiteral(func.getValue().connectTimeout));
+            model.add(functionNode, readTimeoutPredicate, vf.createLiteral(func.getValue().readTimeout));
+            model.add(functionNode, maxConnectionsPredicate, vf.createLiteral(func.getValue().maxConnections));
+            model.add(functionNode, keepAlivePredicate, vf.createLiteral(func.getValue().keepAlive));
+            model.add(functionNode, concurrencyPredicate, vf.createLiteral(func.getValue().concurrency));
+            model.add(functionNode, callbackTimeoutPredicate, vf.createLiteral(func.getValue().callbackTimeout));
+            model.add(functionNode, singletonPredicate, vf.createLiteral(func.getValue().singleton));
+            model.add(functionNode, cacheSizePredicate, vf.createLiteral(func.getValue().cacheSize));
+            model.add(functionNode, cacheTtlPredicate, vf.createLiteral(func.getValue().cacheTtl));
             if (func.getValue().callbackProperty != null) {
                 model.add(functionNode, callbackPredicate, vf.createLiteral(func.getValue().callbackProperty));
             }
@@ -284,6 +395,12 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
         }
         super.parse(model, implNode);
         model.getStatements(implNode, callbackAddressPredicate, null).forEach(statement -> callbackAddress = statement.getObject().stringValue());
+        Models.objectLiteral(model.filter(implNode, streamingChunkPredicate, null))
+                .ifPresent(chunk -> streamingChunk = chunk.longValue());
+        Models.objectLiteral(model.filter(implNode, uniqueResultsPredicate, null))
+                .ifPresent(unique -> uniqueResults = unique.booleanValue());
+        Models.objectLiteral(model.filter(implNode, threadPoolSizePredicate, null))
+                .ifPresent(size -> threadPoolSize = size.intValue());
         model.getStatements(implNode, supportsInvocationPredicate, null).forEach(statement -> {
             if (logger.isDebugEnabled()) {
                 logger.debug(String.format("About to process function from statement %s.", statement));
@@ -300,6 +417,24 @@ public class RemotingSailConfig extends AbstractSailImplConfig {
                     .ifPresent(invocationMethod -> ic.method = invocationMethod.stringValue());
             Models.objectLiteral(model.filter(functionNode, batchPredicate, null))
                     .ifPresent(batch -> ic.batch = batch.longValue());
+            Models.objectLiteral(model.filter(functionNode, connectTimeoutPredicate, null))
+                    .ifPresent(timeout -> ic.connectTimeout = timeout.intValue());
+            Models.objectLiteral(model.filter(functionNode, readTimeoutPredicate, null))
+                    .ifPresent(timeout -> ic.readTimeout = timeout.intValue());
+            Models.objectLiteral(model.filter(functionNode, maxConnectionsPredicate, null))
+                    .ifPresent(connections -> ic.maxConnections = connections.intValue());
+            Models.objectLiteral(model.filter(functionNode, keepAlivePredicate, null))
+                    .ifPresent(keepAlive -> ic.keepAlive = keepAlive.longValue());
+            Models.objectLiteral(model.filter(functionNode, concurrencyPredicate, null))
+                    .ifPresent(concurrency -> ic.concurrency = concurrency.intValue());
+            Models.objectLiteral(model.filter(functionNode, callbackTimeoutPredicate, null))
+                    .ifPresent(timeout -> ic.callbackTimeout = timeout.longValue());
+            Models.objectLiteral(model.filter(functionNode, singletonPredicate, null))
+                    .ifPresent(singleton -> ic.singleton = singleton.booleanValue());
+            Models.objectLiteral(model.filter(functionNode, cacheSizePredicate, null))
+                    .ifPresent(size -> ic.cacheSize = size.longValue());
+            Models.objectLiteral(model.filter(functionNode, cacheTtlPredicate, null))
+                    .ifPresent(ttl -> ic.cacheTtl = ttl.longValue());
             Models.objectLiteral(model.filter(functionNode, callbackPredicate, null))
                     .ifPresent(async -> ic.callbackProperty = async.stringValue());
             Models.objectLiteral(model.filter(functionNode, inputPropertyPredicate, null))
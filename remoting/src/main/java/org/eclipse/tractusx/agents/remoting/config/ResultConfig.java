@@ -40,6 +40,16 @@ public class ResultConfig {
      */
     String resultIdProperty = null;
 
+    /**
+     * the precompiled output property
+     */
+    protected String[] outputPath;
+
+    /**
+     * the precompiled result id property
+     */
+    protected String[] resultIdPath;
+
     public Map<String, ReturnValueConfig> getOutputs() {
         return outputs;
     }
@@ -52,6 +62,50 @@ public class ResultConfig {
         return resultIdProperty;
     }
 
+    /**
+     * sets
+     *
+     * @param outputProperty prefix for all the output paths
+     */
+    public void setOutputProperty(String outputProperty) {
+        this.outputProperty = outputProperty;
+        this.outputPath = null;
+    }
+
+    /**
+     * sets
+     *
+     * @param resultIdProperty where the id of the result can be found
+     */
+    public void setResultIdProperty(String resultIdProperty) {
+        this.resultIdProperty = resultIdProperty;
+        this.resultIdPath = null;
+    }
+
+    /**
+     * access
+     *
+     * @return output property as segments, empty if there is none
+     */
+    public String[] getOutputPath() {
+        if (outputPath == null) {
+            outputPath = outputProperty != null ? outputProperty.split("\\.") : new String[0];
+        }
+        return outputPath;
+    }
+
+    /**
+     * access
+     *
+     * @return result id property as segments, null if there is none
+     */
+    public String[] getResultIdPath() {
+        if (resultIdPath == null && resultIdProperty != null) {
+            resultIdPath = resultIdProperty.split("\\.");
+        }
+        return resultIdPath;
+    }
+
     public String getCorrelationInput() {
         return correlationInput;
     }
@@ -81,5 +135,9 @@ public class ResultConfig {
         for (Map.Entry<String, ReturnValueConfig> arg : outputs.entrySet()) {
             arg.getValue().validate(arg.getKey());
         }
+        outputPath = null;
+        resultIdPath = null;
+        getOutputPath();
+        getResultIdPath();
     }
 }
@@ -16,6 +16,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.agents.remoting.config;
 
+import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.config.SailConfigException;
 
 /**
@@ -31,6 +32,16 @@ public class ReturnValueConfig {
      */
     protected String dataType = "http://www.w3.org/2001/XMLSchema#string";
 
+    /**
+     * the precompiled path
+     */
+    protected String[] compiledPath;
+
+    /**
+     * the precompiled converter
+     */
+    protected OutputConverter converter;
+
 
     @Override
     public String toString() {
@@ -56,6 +67,41 @@ public class ReturnValueConfig {
             default:
                 throw new SailConfigException(String.format("Data type %s is not supported in return value %s.", dataType, context));
         }
+        compile();
+    }
+
+    /**
+     * precompiles path and converter
+     *
+     * @throws SailException if the data type is not supported
+     */
+    protected void compile() throws SailException {
+        compiledPath = path != null ? path.split("\\.") : new String[0];
+        converter = OutputConverter.forDataType(dataType);
+    }
+
+    /**
+     * access
+     *
+     * @return path of the return value as segments
+     */
+    public String[] getCompiledPath() {
+        if (compiledPath == null) {
+            compile();
+        }
+        return compiledPath;
+    }
+
+    /**
+     * access
+     *
+     * @return converter into the data type
+     */
+    public OutputConverter getConverter() {
+        if (converter == null) {
+            compile();
+        }
+        return converter;
     }
 
     public String getPath() {
@@ -64,6 +110,7 @@ public class ReturnValueConfig {
 
     public void setPath(String path) {
         this.path = path;
+        this.compiledPath = null;
     }
 
     public String getDataType() {
@@ -72,5 +119,6 @@ public class ReturnValueConfig {
 
     public void setDataType(String dataType) {
         this.dataType = dataType;
+        this.converter = null;
     }
 }
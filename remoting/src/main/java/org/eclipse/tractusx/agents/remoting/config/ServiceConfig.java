@@ -18,9 +18,11 @@ package org.eclipse.tractusx.agents.remoting.config;
 
 import org.eclipse.rdf4j.sail.config.SailConfigException;
 
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * class to represent a single invocation description
@@ -53,6 +55,51 @@ public class ServiceConfig {
      */
     protected long batch = 1;
 
+    /**
+     * timeout in milliseconds for establishing a connection, -1 for the system default
+     */
+    protected int connectTimeout = -1;
+
+    /**
+     * timeout in milliseconds for waiting on response data, -1 for the system default
+     */
+    protected int readTimeout = -1;
+
+    /**
+     * the maximal number of pooled connections to the host of the service
+     */
+    protected int maxConnections = 10;
+
+    /**
+     * time in milliseconds to keep idle connections alive, -1 to follow the service
+     */
+    protected long keepAlive = 60000;
+
+    /**
+     * the maximal number of parallel calls (batches) to the service
+     */
+    protected int concurrency = 4;
+
+    /**
+     * time in milliseconds to wait for an asynchronous callback
+     */
+    protected long callbackTimeout = 60000;
+
+    /**
+     * whether class-based invocations share a single (thread-safe) instance of the target class
+     */
+    protected boolean singleton = false;
+
+    /**
+     * maximal number of cached results of a deterministic service, 0 if results are not cached
+     */
+    protected long cacheSize = 0;
+
+    /**
+     * time in milliseconds after which a cached result expires, 0 if it does not expire
+     */
+    protected long cacheTtl = 3600000;
+
     /**
      * whether it is an asynchronous call
      */
@@ -78,6 +125,16 @@ public class ServiceConfig {
      */
     protected Map<String, ArgumentConfig> arguments = new java.util.HashMap<String, ArgumentConfig>();
 
+    /**
+     * the arguments in processing order
+     */
+    protected List<Map.Entry<String, ArgumentConfig>> sortedArguments;
+
+    /**
+     * the precompiled input property
+     */
+    protected String[] inputPath;
+
     /**
      * the result
      */
@@ -93,6 +150,15 @@ public class ServiceConfig {
         this.targetUri = targetUri;
     }
 
+    /**
+     * sets
+     *
+     * @param batch maximal batch size
+     */
+    public void setBatch(long batch) {
+        this.batch = batch;
+    }
+
     /**
      * sets
      *
@@ -111,6 +177,15 @@ public class ServiceConfig {
         this.result = result;
     }
 
+    /**
+     * access
+     *
+     * @return url of the target service
+     */
+    public String getTargetUri() {
+        return targetUri;
+    }
+
     /**
      * access
      *
@@ -138,6 +213,105 @@ public class ServiceConfig {
         return batch;
     }
 
+    /**
+     * access
+     *
+     * @return connect timeout in milliseconds
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * access
+     *
+     * @return read timeout in milliseconds
+     */
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of connections to the host of the service
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * access
+     *
+     * @return keep alive time of idle connections in milliseconds
+     */
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of parallel calls to the service
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * access
+     *
+     * @return time to wait for an asynchronous callback in milliseconds
+     */
+    public long getCallbackTimeout() {
+        return callbackTimeout;
+    }
+
+    /**
+     * access
+     *
+     * @return whether a single instance of the target class is shared
+     */
+    public boolean isSingleton() {
+        return singleton;
+    }
+
+    /**
+     * access
+     *
+     * @return maximal number of cached results, 0 if results are not cached
+     */
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * sets
+     *
+     * @param cacheSize maximal number of cached results, 0 if results are not cached
+     */
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * access
+     *
+     * @return time in milliseconds after which a cached result expires, 0 if it does not expire
+     */
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * sets
+     *
+     * @param cacheTtl time in milliseconds after which a cached result expires, 0 if it does not expire
+     */
+    public void setCacheTtl(long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
     /**
      * access
      *
@@ -183,6 +357,30 @@ public class ServiceConfig {
         return arguments;
     }
 
+    /**
+     * access
+     *
+     * @return arguments sorted by priority
+     */
+    public List<Map.Entry<String, ArgumentConfig>> getSortedArguments() {
+        if (sortedArguments == null) {
+            sortedArguments = arguments.entrySet().stream().sorted(new ArgumentComparator()).collect(Collectors.toList());
+        }
+        return sortedArguments;
+    }
+
+    /**
+     * access
+     *
+     * @return input property as segments, null if there is none
+     */
+    public String[] getInputPath() {
+        if (inputPath == null && inputProperty != null) {
+            inputPath = inputProperty.split("\\.");
+        }
+        return inputPath;
+    }
+
     /**
      * access
      *
@@ -247,7 +445,22 @@ public class ServiceConfig {
                     break;
             }
         }
+        if (maxConnections < 1) {
+            throw new SailConfigException(String.format("Service %s needs at least one connection but was configured with %d.", targetUri, maxConnections));
+        }
+        if (concurrency < 1) {
+            throw new SailConfigException(String.format("Service %s needs a concurrency of at least one but was configured with %d.", targetUri, concurrency));
+        }
+        if (cacheSize < 0 || cacheSize > Integer.MAX_VALUE) {
+            throw new SailConfigException(String.format("Service %s has an invalid cache size %d.", targetUri, cacheSize));
+        }
+        if (cacheTtl < 0) {
+            throw new SailConfigException(String.format("Service %s has a negative cache ttl %d.", targetUri, cacheTtl));
+        }
         if (callbackProperty != null) {
+            if (callbackTimeout < 0) {
+                throw new SailConfigException(String.format("Service %s has a negative callback timeout %d.", targetUri, callbackTimeout));
+            }
             if (result.callbackProperty == null) {
                 throw new SailConfigException("There should be a result callbackProperty configured when the invocation callbackProperty is set.");
             }
@@ -265,5 +478,9 @@ public class ServiceConfig {
         if (authentication != null) {
             authentication.validate(context);
         }
+        sortedArguments = null;
+        inputPath = null;
+        getSortedArguments();
+        getInputPath();
     }
 }
@@ -33,4 +33,15 @@ public class TestFunction {
     public int test(int operator1, int operator2) {
         return operator1 + operator2;
     }
+
+    /**
+     * batch variant of the test method
+     */
+    public int[] test(int[] operator1, int[] operator2) {
+        int[] result = new int[operator1.length];
+        for (int count = 0; count < operator1.length; count++) {
+            result[count] = operator1[count] + operator2[count];
+        }
+        return result;
+    }
 }
@@ -0,0 +1,132 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * thread-safe conversion of xsd date literals into the json date representation.
+ * Literals which are already in the target representation are passed through
+ * after a character check, everything else is parsed and formatted by immutable formatters.
+ */
+public class DateConverter {
+
+    /**
+     * the json representation of date times (always in UTC)
+     */
+    public static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSX").withZone(ZoneOffset.UTC);
+
+    /**
+     * the json representation of dates
+     */
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    /**
+     * converts a date time literal
+     *
+     * @param literal xsd date time, with or without offset (UTC is assumed if missing)
+     * @return date time in json representation
+     * @throws DateTimeParseException if the literal is not a date time
+     */
+    public static String convertDateTime(String literal) throws DateTimeParseException {
+        if (literal.length() == 24 && literal.charAt(10) == 'T' && literal.charAt(13) == ':' && literal.charAt(16) == ':' &&
+                literal.charAt(19) == '.' && literal.charAt(23) == 'Z' && isDate(literal) &&
+                isNumber(literal, 11, 13, 23) && isNumber(literal, 14, 16, 59) && isNumber(literal, 17, 19, 59) && isNumber(literal, 20, 23, 999)) {
+            return literal;
+        }
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(literal, ZonedDateTime::from, LocalDateTime::from);
+        if (parsed instanceof ZonedDateTime) {
+            return DATE_TIME_FORMAT.format(((ZonedDateTime) parsed).toInstant());
+        }
+        return DATE_TIME_FORMAT.format(((LocalDateTime) parsed).toInstant(ZoneOffset.UTC));
+    }
+
+    /**
+     * converts a date literal
+     *
+     * @param literal xsd date, with or without offset
+     * @return date in json representation
+     * @throws DateTimeParseException if the literal is not a date
+     */
+    public static String convertDate(String literal) throws DateTimeParseException {
+        if (literal.length() == 10 && isDate(literal)) {
+            return literal;
+        }
+        return DATE_FORMAT.format(LocalDate.from(DateTimeFormatter.ISO_DATE.parse(literal)));
+    }
+
+    /**
+     * checks for a valid date prefix yyyy-MM-dd
+     *
+     * @param literal the literal
+     * @return whether the literal starts with a date
+     */
+    protected static boolean isDate(String literal) {
+        if (literal.charAt(4) != '-' || literal.charAt(7) != '-' || !isNumber(literal, 0, 4, 9999) ||
+                !isNumber(literal, 5, 7, 12) || !isNumber(literal, 8, 10, 31)) {
+            return false;
+        }
+        int month = getNumber(literal, 5, 7);
+        int day = getNumber(literal, 8, 10);
+        return month >= 1 && day >= 1 && (day <= 28 || day <= Month.of(month).length(Year.isLeap(getNumber(literal, 0, 4))));
+    }
+
+    /**
+     * access
+     *
+     * @param literal the literal
+     * @param from    start index
+     * @param to      end index (exclusive)
+     * @return the number formed by the (digit) characters
+     */
+    protected static int getNumber(String literal, int from, int to) {
+        int value = 0;
+        for (int index = from; index < to; index++) {
+            value = value * 10 + literal.charAt(index) - '0';
+        }
+        return value;
+    }
+
+    /**
+     * checks for a bounded number
+     *
+     * @param literal the literal
+     * @param from    start index
+     * @param to      end index (exclusive)
+     * @param max     maximal value
+     * @return whether the characters form a number which is not larger than max
+     */
+    protected static boolean isNumber(String literal, int from, int to, int max) {
+        int value = 0;
+        for (int index = from; index < to; index++) {
+            char digit = literal.charAt(index);
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+            value = value * 10 + digit - '0';
+        }
+        return value <= max;
+    }
+}
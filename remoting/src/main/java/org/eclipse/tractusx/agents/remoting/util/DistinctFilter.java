@@ -0,0 +1,168 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting.util;
+
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * de-duplicates the rows of a list of binding sets with respect to some variables.
+ * Instead of copying the projected values into keys, only a 64-bit hash of the values
+ * and the position of the first row are remembered in an open-addressing table.
+ * Rows with equal hashes are compared value by value, so hash collisions do not lose results.
+ */
+public class DistinctFilter {
+
+    /**
+     * the rows (which must not change while filtering)
+     */
+    protected final List<? extends BindingSet> rows;
+
+    /**
+     * the variables which make up the identity of a row
+     */
+    protected final String[] variables;
+
+    /**
+     * hashes per slot
+     */
+    protected long[] hashes;
+
+    /**
+     * row position + 1 per slot, 0 for empty slots
+     */
+    protected int[] positions;
+
+    /**
+     * number of occupied slots
+     */
+    protected int size;
+
+    /**
+     * creates a new filter
+     *
+     * @param rows      the rows to filter
+     * @param variables the projected variables
+     */
+    public DistinctFilter(List<? extends BindingSet> rows, String[] variables) {
+        this.rows = rows;
+        this.variables = variables;
+        this.hashes = new long[64];
+        this.positions = new int[64];
+    }
+
+    /**
+     * adds a row
+     *
+     * @param position of the row
+     * @return true if no equal row has been added before
+     */
+    public boolean add(int position) {
+        if ((size + 1) * 2 > positions.length) {
+            resize();
+        }
+        long hash = hash(rows.get(position));
+        int mask = positions.length - 1;
+        for (int slot = slot(hash, mask); ; slot = (slot + 1) & mask) {
+            if (positions[slot] == 0) {
+                hashes[slot] = hash;
+                positions[slot] = position + 1;
+                size++;
+                return true;
+            }
+            if (hashes[slot] == hash && isEqual(rows.get(positions[slot] - 1), rows.get(position))) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * access
+     *
+     * @return number of distinct rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * doubles the table
+     */
+    protected void resize() {
+        long[] oldHashes = hashes;
+        int[] oldPositions = positions;
+        hashes = new long[oldHashes.length * 2];
+        positions = new int[oldPositions.length * 2];
+        int mask = positions.length - 1;
+        for (int count = 0; count < oldPositions.length; count++) {
+            if (oldPositions[count] != 0) {
+                int slot = slot(oldHashes[count], mask);
+                while (positions[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[count];
+                positions[slot] = oldPositions[count];
+            }
+        }
+    }
+
+    /**
+     * computes the hash of a row
+     *
+     * @param row binding set
+     * @return 64-bit hash of the projected values
+     */
+    protected long hash(BindingSet row) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (String variable : variables) {
+            hash = (hash ^ Objects.hashCode(row.getValue(variable))) * 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+        }
+        return hash;
+    }
+
+    /**
+     * access
+     *
+     * @param hash 64-bit hash
+     * @param mask table mask
+     * @return the first slot to probe
+     */
+    protected static int slot(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * compares two rows
+     *
+     * @param first  binding set
+     * @param second binding set
+     * @return whether all projected values are equal
+     */
+    protected boolean isEqual(BindingSet first, BindingSet second) {
+        for (String variable : variables) {
+            Value value = first.getValue(variable);
+            if (!Objects.equals(value, second.getValue(variable))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
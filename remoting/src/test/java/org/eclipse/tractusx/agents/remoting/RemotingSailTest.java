@@ -126,6 +126,160 @@ public class RemotingSailTest {
         }
     }
 
+    /**
+     * tests the batch calling convention of class-based invocations
+     */
+    @Test
+    public void testBatchInvocation() {
+
+        RemotingSailConfig rsc = new RemotingSailConfig(RemotingSailFactory.SAIL_TYPE);
+        ServiceConfig ic = new ServiceConfig();
+        rsc.putService("https://w3id.org/catenax/ontology/prognosis#Prognosis", ic);
+        ic.setTargetUri("class:org.eclipse.tractusx.agents.remoting.test.TestFunction#test");
+        ic.setBatch(3);
+        ArgumentConfig ac = new ArgumentConfig();
+        ac.setArgumentName("arg0");
+        ic.getArguments().put("https://w3id.org/catenax/ontology/prognosis#input-1", ac);
+        ac = new ArgumentConfig();
+        ac.setArgumentName("arg1");
+        ic.getArguments().put("https://w3id.org/catenax/ontology/prognosis#input-2", ac);
+        ResultConfig rc = new ResultConfig();
+        ic.setResult(rc);
+        ic.setResultName("https://w3id.org/catenax/ontology/prognosis#Result");
+        rc.getOutputs().put("https://w3id.org/catenax/ontology/prognosis#output", new ReturnValueConfig());
+        rsc.validate();
+
+        RemotingSail sail = new RemotingSail(rsc);
+        assertTrue(sail.getClassTarget(ic).isBatch(), "Batch method resolved");
+        Repository rep = new SailRepository(sail);
+
+        try (RepositoryConnection conn = rep.getConnection()) {
+            TupleQuery query = (TupleQuery) conn.prepareQuery(QueryLanguage.SPARQL,
+                    "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#> " +
+                            "PREFIX prognosis: <https://w3id.org/catenax/ontology/prognosis#> " +
+                            "SELECT ?input ?output " +
+                            "WHERE { " +
+                            " VALUES(?input) { (\"1\"^^xsd:string) (\"2\"^^xsd:string)}" +
+                            " ?invocation a prognosis:Prognosis; " +
+                            "             prognosis:input-1 ?input; " +
+                            "             prognosis:input-2 \"40\"^^xsd:string; " +
+                            "             prognosis:output ?output. " +
+                            "}");
+            java.util.List<BindingSet> bindings = Iterations.asList(query.evaluate());
+            assertEquals(2, bindings.size(), "Correct number of bindings");
+            for (BindingSet bindingSet : bindings) {
+                int input = ((Literal) bindingSet.getValue("input")).intValue();
+                assertEquals(String.valueOf(input + 40), bindingSet.getValue("output").stringValue(), "Correct batch result");
+            }
+        }
+    }
+
+    /**
+     * tests streaming evaluation in chunks with de-duplication
+     */
+    @Test
+    public void testStreamingInvocation() {
+
+        RemotingSailConfig rsc = new RemotingSailConfig(RemotingSailFactory.SAIL_TYPE);
+        rsc.setStreamingChunk(2);
+        ServiceConfig ic = new ServiceConfig();
+        rsc.putService("https://w3id.org/catenax/ontology/prognosis#Prognosis", ic);
+        ic.setTargetUri("class:org.eclipse.tractusx.agents.remoting.test.TestFunction#test");
+        ic.setBatch(3);
+        ArgumentConfig ac = new ArgumentConfig();
+        ac.setArgumentName("arg0");
+        ic.getArguments().put("https://w3id.org/catenax/ontology/prognosis#input-1", ac);
+        ac = new ArgumentConfig();
+        ac.setArgumentName("arg1");
+        ic.getArguments().put("https://w3id.org/catenax/ontology/prognosis#input-2", ac);
+        ResultConfig rc = new ResultConfig();
+        ic.setResult(rc);
+        ic.setResultName("https://w3id.org/catenax/ontology/prognosis#Result");
+        rc.getOutputs().put("https://w3id.org/catenax/ontology/prognosis#output", new ReturnValueConfig());
+        rsc.validate();
+
+        String queryString = "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#> " +
+                "PREFIX prognosis: <https://w3id.org/catenax/ontology/prognosis#> " +
+                "SELECT ?input ?output " +
+                "WHERE { " +
+                " VALUES(?input) { (\"3\"^^xsd:string) (\"1\"^^xsd:string) (\"3\"^^xsd:string) (\"2\"^^xsd:string) (\"5\"^^xsd:string)}" +
+                " ?invocation a prognosis:Prognosis; " +
+                "             prognosis:input-1 ?input; " +
+                "             prognosis:input-2 \"40\"^^xsd:string; " +
+                "             prognosis:output ?output. " +
+                "}";
+
+        Repository rep = new SailRepository(new RemotingSail(rsc));
+        try (RepositoryConnection conn = rep.getConnection()) {
+            java.util.List<BindingSet> bindings = Iterations.asList(((TupleQuery) conn.prepareQuery(QueryLanguage.SPARQL, queryString)).evaluate());
+            assertEquals(4, bindings.size(), "Duplicate rows are removed");
+            int[] inputs = { 3, 1, 2, 5 };
+            for (int count = 0; count < inputs.length; count++) {
+                assertEquals(inputs[count], ((Literal) bindings.get(count).getValue("input")).intValue(), "Rows are streamed in binding order");
+                assertEquals(String.valueOf(inputs[count] + 40), bindings.get(count).getValue("output").stringValue(), "Correct streamed result");
+            }
+        }
+
+        rsc.setUniqueResults(true);
+        rep = new SailRepository(new RemotingSail(rsc));
+        try (RepositoryConnection conn = rep.getConnection()) {
+            java.util.List<BindingSet> bindings = Iterations.asList(((TupleQuery) conn.prepareQuery(QueryLanguage.SPARQL, queryString)).evaluate());
+            assertEquals(5, bindings.size(), "Unique results are not de-duplicated");
+        }
+    }
+
+    /**
+     * tests caching the results of a deterministic function
+     */
+    @Test
+    public void testCachedInvocation() {
+
+        RemotingSailConfig rsc = new RemotingSailConfig(RemotingSailFactory.SAIL_TYPE);
+        ServiceConfig ic = new ServiceConfig();
+        rsc.putService("https://w3id.org/catenax/ontology/prognosis#Prognosis", ic);
+        ic.setTargetUri("class:org.eclipse.tractusx.agents.remoting.test.TestFunction#test");
+        ic.setBatch(3);
+        ic.setCacheSize(2);
+        ArgumentConfig ac = new ArgumentConfig();
+        ac.setArgumentName("arg0");
+        ic.getArguments().put("https://w3id.org/catenax/ontology/prognosis#input-1", ac);
+        ac = new ArgumentConfig();
+        ac.setArgumentName("arg1");
+        ic.getArguments().put("https://w3id.org/catenax/ontology/prognosis#input-2", ac);
+        ResultConfig rc = new ResultConfig();
+        ic.setResult(rc);
+        ic.setResultName("https://w3id.org/catenax/ontology/prognosis#Result");
+        rc.getOutputs().put("https://w3id.org/catenax/ontology/prognosis#output", new ReturnValueConfig());
+        rsc.validate();
+
+        RemotingSail sail = new RemotingSail(rsc);
+        Repository rep = new SailRepository(sail);
+        try (RepositoryConnection conn = rep.getConnection()) {
+            for (String values : new String[] { "(\"1\"^^xsd:string) (\"2\"^^xsd:string)", "(\"2\"^^xsd:string) (\"1\"^^xsd:string) (\"3\"^^xsd:string)" }) {
+                TupleQuery query = (TupleQuery) conn.prepareQuery(QueryLanguage.SPARQL,
+                        "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#> " +
+                                "PREFIX prognosis: <https://w3id.org/catenax/ontology/prognosis#> " +
+                                "SELECT ?input ?output " +
+                                "WHERE { " +
+                                " VALUES(?input) { " + values + "}" +
+                                " ?invocation a prognosis:Prognosis; " +
+                                "             prognosis:input-1 ?input; " +
+                                "             prognosis:input-2 \"40\"^^xsd:string; " +
+                                "             prognosis:output ?output. " +
+                                "}");
+                for (BindingSet bindingSet : Iterations.asList(query.evaluate())) {
+                    int input = ((Literal) bindingSet.getValue("input")).intValue();
+                    assertEquals(String.valueOf(input + 40), bindingSet.getValue("output").stringValue(), "Correct (cached) result");
+                }
+            }
+        }
+        ResultCache cache = sail.getResultCache(ic);
+        assertEquals(2, cache.getHits(), "Second query hits the results of the first query");
+        assertEquals(3, cache.getMisses(), "Only unknown arguments are invoked");
+        assertEquals(2, cache.size(), "Cache is bounded");
+        assertEquals(1, cache.getEvictions(), "Least recently used result is evicted");
+    }
+
     /**
      * tests basic invocation features
      */
@@ -0,0 +1,104 @@
+// Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.tractusx.agents.remoting.config.ResultConfig;
+import org.eclipse.tractusx.agents.remoting.config.ServiceConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * a micro benchmark of the batch correlation. It is not part of the
+ * regular test suite (surefire only picks up *Test classes) and is
+ * run on demand, e.g., with -Dtest=ResultExtractorBenchmark
+ */
+public class ResultExtractorBenchmark {
+
+    /**
+     * creates a batched service config
+     */
+    protected ServiceConfig createService(String outputProperty, String resultIdProperty) {
+        ServiceConfig service = new ServiceConfig();
+        service.setBatch(10);
+        ResultConfig result = new ResultConfig();
+        result.setOutputProperty(outputProperty);
+        result.setResultIdProperty(resultIdProperty);
+        service.setResult(result);
+        return service;
+    }
+
+    /**
+     * compares the indexed correlation of a 1000-binding batch with three outputs
+     * to the linear scan per binding and output
+     */
+    @Test
+    public void benchmarkBatchCorrelation(TestReporter reporter) throws Exception {
+        int batchSize = 1000;
+        String[] outputs = { "prediction", "confidence", "remaining" };
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode response = objectMapper.createObjectNode();
+        ArrayNode results = response.putArray("results");
+        for (int count = batchSize - 1; count >= 0; count--) {
+            ObjectNode result = results.addObject();
+            result.put("id", "binding-" + count);
+            for (String output : outputs) {
+                result.put(output, count * output.length());
+            }
+        }
+        ResultExtractor extractor = new ResultExtractor(createService("results", "id"));
+        String[] idPath = { "id" };
+
+        long scanStart = System.nanoTime();
+        long scanSum = 0;
+        for (int binding = 0; binding < batchSize; binding++) {
+            String key = "binding-" + binding;
+            for (String output : outputs) {
+                ArrayNode array = (ArrayNode) Invocation.traversePath(response, "results");
+                for (int count = 0; count < array.size(); count++) {
+                    if (key.equals(Invocation.convertObjectToString(Invocation.traversePath(array.get(count), idPath)))) {
+                        scanSum += ((JsonNode) Invocation.traversePath(array.get(count), output)).asLong();
+                        break;
+                    }
+                }
+            }
+        }
+        long scanTime = System.nanoTime() - scanStart;
+
+        long indexStart = System.nanoTime();
+        long indexSum = 0;
+        ResultExtractor.ResultIndex index = extractor.index(response);
+        for (int binding = 0; binding < batchSize; binding++) {
+            String key = "binding-" + binding;
+            for (String output : outputs) {
+                indexSum += ((JsonNode) Invocation.traversePath(index.get(key), output)).asLong();
+            }
+        }
+        long indexTime = System.nanoTime() - indexStart;
+
+        reporter.publishEntry("scanMillis", String.valueOf(scanTime / 1000000));
+        reporter.publishEntry("indexMillis", String.valueOf(indexTime / 1000000));
+        assertEquals(scanSum, indexSum, "Index correlates the same results");
+    }
+
+}
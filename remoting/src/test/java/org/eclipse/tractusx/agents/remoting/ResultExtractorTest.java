@@ -0,0 +1,128 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.tractusx.agents.remoting.config.ResultConfig;
+import org.eclipse.tractusx.agents.remoting.config.ServiceConfig;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * tests the streaming extraction of batch responses
+ */
+public class ResultExtractorTest {
+
+    /**
+     * creates a batched service config
+     */
+    protected ServiceConfig createService(String outputProperty, String resultIdProperty) {
+        ServiceConfig service = new ServiceConfig();
+        service.setBatch(10);
+        ResultConfig result = new ResultConfig();
+        result.setOutputProperty(outputProperty);
+        result.setResultIdProperty(resultIdProperty);
+        service.setResult(result);
+        return service;
+    }
+
+    /**
+     * creates a response stream
+     */
+    protected ByteArrayInputStream createResponse(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * tests json results correlated by id
+     */
+    @Test
+    public void testJsonById() throws Exception {
+        ResultExtractor extractor = new ResultExtractor(createService("content.results", "header.id"));
+        assertTrue(extractor.canStream(true, false), "Batched json can be streamed");
+        ResultExtractor.ResultIndex index = extractor.extract(createResponse(
+                "{ \"status\": { \"skipped\": [1, 2, { \"results\": [] }] }, \"content\": { \"count\": 2, \"results\": [ " +
+                        "{ \"header\": { \"id\": \"b\" }, \"value\": 2 }, " +
+                        "{ \"header\": { \"id\": \"a\" }, \"value\": 1 } ] } }"), true);
+        assertEquals(2, index.size(), "Correct number of results");
+        assertEquals("1", Invocation.convertObjectToString(Invocation.traversePath(index.get("a"), "value")));
+        assertEquals("2", Invocation.convertObjectToString(Invocation.traversePath(index.get("b"), "value")));
+        assertThrows(SailException.class, () -> index.get("c"), "Unknown keys are reported");
+    }
+
+    /**
+     * tests json results correlated by position
+     */
+    @Test
+    public void testJsonByPosition() throws Exception {
+        ResultExtractor extractor = new ResultExtractor(createService("1", null));
+        ResultExtractor.ResultIndex index = extractor.extract(createResponse("[ { \"value\": 0 }, [ 10, 11, 12 ] ]"), true);
+        assertEquals(3, index.size(), "Correct number of results");
+        assertEquals("12", Invocation.convertObjectToString(index.get("2")));
+    }
+
+    /**
+     * tests json results which are not a collection
+     */
+    @Test
+    public void testJsonWhole() throws Exception {
+        ResultExtractor extractor = new ResultExtractor(createService(null, null));
+        ResultExtractor.ResultIndex index = extractor.extract(createResponse("{ \"value\": 42 }"), true);
+        assertSame(index.get("0"), index.get("1"), "All keys share the complete result");
+        assertEquals("42", Invocation.convertObjectToString(Invocation.traversePath(index.get("0"), "value")));
+    }
+
+    /**
+     * tests xml results correlated by id
+     */
+    @Test
+    public void testXmlById() throws Exception {
+        ResultExtractor extractor = new ResultExtractor(createService("results", "id"));
+        assertTrue(extractor.canStream(false, true), "Batched xml with result ids can be streamed");
+        assertFalse(new ResultExtractor(createService("results", null)).canStream(false, true), "Xml without result ids is not streamed");
+        ResultExtractor.ResultIndex index = extractor.extract(createResponse(
+                "<?xml version=\"1.0\"?>\n<response>\n  <status>ok</status>\n  <results>\n" +
+                        "    <result id=\"a\"><value>1</value></result>\n" +
+                        "    <result id=\"b\">\n      <value>2</value>\n    </result>\n" +
+                        "  </results>\n</response>"), false);
+        assertEquals(2, index.size(), "Correct number of results");
+        assertEquals("1", ((Node) Invocation.traversePath(index.get("a"), "value")).getTextContent());
+        assertEquals("2", ((Node) Invocation.traversePath(index.get("b"), "value")).getTextContent());
+    }
+
+    /**
+     * tests indexing an already parsed dom response
+     */
+    @Test
+    public void testDomIndex() throws Exception {
+        ResultExtractor extractor = new ResultExtractor(createService("results", "id"));
+        Element response = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(createResponse(
+                "<response>\n  <results>\n    <result id=\"a\">1</result>\n    <result id=\"b\">2</result>\n  </results>\n</response>"))
+                .getDocumentElement();
+        ResultExtractor.ResultIndex index = extractor.index(response);
+        assertEquals(2, index.size(), "Whitespace is not indexed");
+        assertEquals("2", ((Node) index.get("b")).getTextContent());
+    }
+
+}
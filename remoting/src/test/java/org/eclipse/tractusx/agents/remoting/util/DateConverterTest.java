@@ -0,0 +1,55 @@
+// Copyright (c) 2022,2023 Contributors to the Eclipse Foundation
+//
+// See the NOTICE file(s) distributed with this work for additional
+// information regarding copyright ownership.
+//
+// This program and the accompanying materials are made available under the
+// terms of the Apache License, Version 2.0 which is available at
+// https://www.apache.org/licenses/LICENSE-2.0.
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+// WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+// License for the specific language governing permissions and limitations
+// under the License.
+//
+// SPDX-License-Identifier: Apache-2.0
+package org.eclipse.tractusx.agents.remoting.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * tests the conversion of date literals
+ */
+public class DateConverterTest {
+
+    /**
+     * tests date time literals
+     */
+    @Test
+    public void testDateTime() {
+        String canonical = "2023-02-28T13:45:07.123Z";
+        assertSame(canonical, DateConverter.convertDateTime(canonical), "Canonical literals are passed through");
+        assertEquals("2023-02-28T12:45:07.123Z", DateConverter.convertDateTime("2023-02-28T13:45:07.123+01:00"), "Offsets are normalized");
+        assertEquals("2023-02-28T13:45:07.000Z", DateConverter.convertDateTime("2023-02-28T13:45:07"), "Missing offsets mean UTC");
+        assertEquals("2024-02-29T00:00:00.500Z", DateConverter.convertDateTime("2024-02-29T00:00:00.5Z"), "Fractions are padded");
+        assertThrows(DateTimeParseException.class, () -> DateConverter.convertDateTime("2023-02-29T13:45:07.123Z"), "Invalid days are detected");
+        assertThrows(DateTimeParseException.class, () -> DateConverter.convertDateTime("yesterday"), "Invalid literals are detected");
+    }
+
+    /**
+     * tests date literals
+     */
+    @Test
+    public void testDate() {
+        String canonical = "2024-02-29";
+        assertSame(canonical, DateConverter.convertDate(canonical), "Canonical literals are passed through");
+        assertEquals("2023-02-28", DateConverter.convertDate("2023-02-28+01:00"), "Offsets are dropped");
+        assertThrows(DateTimeParseException.class, () -> DateConverter.convertDate("2023-02-29"), "Invalid days are detected");
+        assertThrows(DateTimeParseException.class, () -> DateConverter.convertDate("2023-00-10"), "Invalid months are detected");
+    }
+}